@@ -0,0 +1,49 @@
+package droneApi.Analytics;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Metrics of one drone derived from its whole dynamics history, as shown in the dashboard table.
+ */
+public class DroneMetrics {
+
+    private final int droneId;
+    private final long samples;						// Number of dynamics records
+    private final double averageSpeed;				// Mean of all speeds, km/h
+    private final double totalDistanceKm;			// Speed times time between consecutive timestamps
+    private final double batteryConsumptionPerKm;	// Battery status consumed per km traveled
+    private final Double payloadUtilization;		// Carriage weight over max carriage in percent, null if unknown
+
+    /**
+     * Constructor to initialize all fields.
+     * @param droneId					The drone ID.
+     * @param samples					Number of dynamics records.
+     * @param averageSpeed				Mean speed in km/h.
+     * @param totalDistanceKm			Distance traveled in km.
+     * @param batteryConsumptionPerKm	Battery status consumed per km.
+     * @param payloadUtilization		Payload utilization in percent, or null.
+     */
+    @JsonCreator
+    public DroneMetrics(@JsonProperty("droneId") int droneId,
+                        @JsonProperty("samples") long samples,
+                        @JsonProperty("averageSpeed") double averageSpeed,
+                        @JsonProperty("totalDistanceKm") double totalDistanceKm,
+                        @JsonProperty("batteryConsumptionPerKm") double batteryConsumptionPerKm,
+                        @JsonProperty("payloadUtilization") Double payloadUtilization) {
+        this.droneId = droneId;
+        this.samples = samples;
+        this.averageSpeed = averageSpeed;
+        this.totalDistanceKm = totalDistanceKm;
+        this.batteryConsumptionPerKm = batteryConsumptionPerKm;
+        this.payloadUtilization = payloadUtilization;
+    }
+
+    // Getters
+    public int getDroneId() { return droneId; }
+    public long getSamples() { return samples; }
+    public double getAverageSpeed() { return averageSpeed; }
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public double getBatteryConsumptionPerKm() { return batteryConsumptionPerKm; }
+    public Double getPayloadUtilization() { return payloadUtilization; }
+}
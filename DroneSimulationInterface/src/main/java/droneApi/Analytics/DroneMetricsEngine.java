@@ -0,0 +1,235 @@
+package droneApi.Analytics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import droneApi.Cache.CountKeyedValue;
+import droneApi.Config.ConfigProvider;
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+import droneApi.Service.DroneApiService;
+import droneApi.Service.ResourceUrls;
+import droneApi.Store.FleetResource;
+import droneApi.Store.FleetStore;
+
+/**
+ * Computes the {@link DroneMetrics} of every drone over its full dynamics history.
+ * From the replica, drones are split into fork-join tasks that each scan their drones' columns;
+ * from the upstream, the dynamics are streamed once, grouped per drone and folded in timestamp order.
+ * Results are cached until new dynamics (or a new drone or drone type sync) arrive; the upstream is asked
+ * for new dynamics at most once per replica dynamics interval.
+ */
+@Component
+public class DroneMetricsEngine {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(DroneMetricsEngine.class);
+
+    // Drones computed by one fork-join leaf task
+    private static final int DRONES_PER_TASK = 4;
+
+    private final FleetStore fleetStore;
+    private final DroneApiService droneApiService;
+
+    private final CountKeyedValue<List<DroneMetrics>> upstreamMetrics;
+
+    private Cached replicaCache;		// Guarded by this
+
+    /**
+     * Constructor that initializes the engine using dependency injection.
+     * @param fleetStore		The replica to read the dynamics from.
+     * @param droneApiService	The upstream, used while the replica cannot serve.
+     */
+    @Autowired
+    public DroneMetricsEngine(FleetStore fleetStore, DroneApiService droneApiService) {
+        this.fleetStore = fleetStore;
+        this.droneApiService = droneApiService;
+        this.upstreamMetrics = new CountKeyedValue<>(droneApiService::countDroneDynamics,
+                () -> TimeUnit.SECONDS.toMillis(ConfigProvider.getInstance().current().getReplica().getDynamicsIntervalSeconds()),
+                this::computeFromUpstream);
+    }
+
+    /**
+     * Returns the metrics of all replicated drones, recomputed only if the replica changed.
+     * @return the metrics, ordered by drone ID.
+     */
+    public synchronized List<DroneMetrics> fromReplica() {
+        String key = fleetStore.getDynamicsCount() + ":" + fleetStore.getStatus(FleetResource.DRONES).getVersion()
+                + ":" + fleetStore.getStatus(FleetResource.DRONE_TYPES).getVersion();
+        if (replicaCache == null || !replicaCache.key.equals(key)) {
+            long start = System.nanoTime();
+            int[] droneIds = replicaDroneIds();
+            DroneMetrics[] results = new DroneMetrics[droneIds.length];
+            ForkJoinPool.commonPool().invoke(new ReplicaTask(droneIds, results, 0, droneIds.length));
+            replicaCache = new Cached(key, List.of(results));
+            logger.debug("Computed metrics of {} drones from the replica in {} ms.", droneIds.length, (System.nanoTime() - start) / 1_000_000);
+        }
+        return replicaCache.metrics;
+    }
+
+    /**
+     * Returns the metrics of all drones from the upstream, recomputed only if the upstream has new dynamics;
+     * the upstream is asked at most once per replica dynamics interval.
+     * @return the metrics, ordered by drone ID.
+     */
+    public List<DroneMetrics> fromUpstream() {
+        return upstreamMetrics.get();
+    }
+
+    /**
+     * Streams the upstream dynamics once, then folds each drone's records in timestamp order.
+     */
+    private List<DroneMetrics> computeFromUpstream() {
+        long start = System.nanoTime();
+        Map<Integer, UpstreamSeries> series = new HashMap<>();
+        try (Stream<DroneDynamics> dynamics = droneApiService.streamDroneDynamics(0)) {
+            dynamics.forEach(record -> series.computeIfAbsent(ResourceUrls.idOf(record.getDrone()), id -> new UpstreamSeries())
+                    .add(record.getTimestampMicros(), record.getSpeed(), record.getBatteryStatus()));
+        }
+
+        Map<Integer, Double> payloads = new HashMap<>();
+        droneApiService.warmDroneTypeCache();
+        try (Stream<Drone> drones = droneApiService.streamDrones()) {
+            drones.forEach(drone -> {
+                series.computeIfAbsent(drone.getId(), id -> new UpstreamSeries());
+                payloads.put(drone.getId(), payloadUtilization(drone, droneApiService.fetchDroneType(drone.getDronetypeRaw())));
+            });
+        }
+
+        DroneMetrics[] results = series.entrySet().stream()
+                .map(entry -> entry.getValue().fold().toMetrics(entry.getKey(), payloads.get(entry.getKey())))
+                .sorted((a, b) -> Integer.compare(a.getDroneId(), b.getDroneId()))
+                .toArray(DroneMetrics[]::new);
+        logger.debug("Computed metrics of {} drones from the upstream in {} ms.", results.length, (System.nanoTime() - start) / 1_000_000);
+        return List.of(results);
+    }
+
+    /**
+     * Returns the drones and the drones with dynamics, sorted by ID.
+     */
+    private int[] replicaDroneIds() {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Drone drone : fleetStore.getAllDrones()) {
+            ids.add(drone.getId());
+        }
+        for (int id : fleetStore.getDynamicsDroneIds()) {
+            ids.add(id);
+        }
+        int[] sorted = ids.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private DroneMetrics computeFromReplica(int droneId) {
+        MetricsAccumulator accumulator = new MetricsAccumulator();
+        fleetStore.scanDynamicsOfDrone(droneId, row -> accumulator.add(row.getTimestampMicros(), row.getSpeed(), row.getBatteryStatus()));
+
+        Drone drone = fleetStore.getDrone(droneId);
+        DroneType droneType = drone == null ? null : fleetStore.getDroneType(ResourceUrls.idOf(drone.getDronetypeRaw()));
+        return accumulator.toMetrics(droneId, payloadUtilization(drone, droneType));
+    }
+
+    /**
+     * Carriage weight over the maximum carriage of the drone type, in percent; null if either is unknown.
+     */
+    private static Double payloadUtilization(Drone drone, DroneType droneType) {
+        if (drone == null || droneType == null || droneType.getMaxCarriage() == null || droneType.getMaxCarriage() <= 0) {
+            return null;
+        }
+        return drone.getCarriageWeight() * 100.0 / droneType.getMaxCarriage();
+    }
+
+    /**
+     * Computes the metrics of a range of drones, splitting it until a range is small enough.
+     */
+    private final class ReplicaTask extends RecursiveAction {
+
+        private final int[] droneIds;
+        private final DroneMetrics[] results;
+        private final int from;
+        private final int to;
+
+        ReplicaTask(int[] droneIds, DroneMetrics[] results, int from, int to) {
+            this.droneIds = droneIds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= DRONES_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    results[i] = computeFromReplica(droneIds[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ReplicaTask(droneIds, results, from, mid), new ReplicaTask(droneIds, results, mid, to));
+        }
+    }
+
+    /**
+     * One drone's records in upstream order, which is not necessarily timestamp order. Not thread-safe.
+     */
+    private static final class UpstreamSeries {
+
+        private long[] micros = new long[16];
+        private int[] speeds = new int[16];
+        private int[] batteries = new int[16];
+        private int size;
+
+        void add(long epochMicros, int speed, int battery) {
+            if (size == micros.length) {
+                micros = Arrays.copyOf(micros, size * 2);
+                speeds = Arrays.copyOf(speeds, size * 2);
+                batteries = Arrays.copyOf(batteries, size * 2);
+            }
+            micros[size] = epochMicros;
+            speeds[size] = speed;
+            batteries[size] = battery;
+            size++;
+        }
+
+        /**
+         * Folds the records in timestamp order; the sort is stable, so records of the same time keep upstream order.
+         */
+        MetricsAccumulator fold() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> micros[i]));
+            MetricsAccumulator accumulator = new MetricsAccumulator();
+            for (int i : order) {
+                accumulator.add(micros[i], speeds[i], batteries[i]);
+            }
+            return accumulator;
+        }
+    }
+
+    private static final class Cached {
+        final String key;
+        final List<DroneMetrics> metrics;
+
+        Cached(String key, List<DroneMetrics> metrics) {
+            this.key = key;
+            this.metrics = metrics;
+        }
+    }
+}
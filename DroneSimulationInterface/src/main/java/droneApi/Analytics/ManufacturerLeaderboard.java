@@ -0,0 +1,80 @@
+package droneApi.Analytics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneType;
+import droneApi.Service.ResourceUrls;
+import droneApi.Store.FleetStoreListener;
+
+/**
+ * Manufacturer ranking by number of drones, maintained from the ingest hooks of the fleet replica.
+ * A drone sync recounts the drones per type, a drone type sync remaps types to manufacturers;
+ * both re-sort only the manufacturers, so reads just copy the first K entries.
+ */
+@Component
+public class ManufacturerLeaderboard implements FleetStoreListener {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(ManufacturerLeaderboard.class);
+
+    // Written only on the synchronizer thread, under this object's lock
+    private Map<Integer, String> manufacturerByType = Map.of();
+    private Map<Integer, long[]> dronesByType = Map.of();
+    private boolean typesSeen;
+    private boolean dronesSeen;
+
+    private volatile ManufacturerRanking ranking = ManufacturerRanking.empty();
+    private volatile boolean warm;
+
+    @Override
+    public synchronized void onDroneTypesReplaced(List<DroneType> droneTypes) {
+        Map<Integer, String> manufacturers = new HashMap<>();
+        for (DroneType droneType : droneTypes) {
+            manufacturers.put(droneType.getId(), ManufacturerTally.manufacturerOf(droneType));
+        }
+        manufacturerByType = manufacturers;
+        typesSeen = true;
+        rerank();
+    }
+
+    @Override
+    public synchronized void onDronesReplaced(List<Drone> drones) {
+        Map<Integer, long[]> counts = new HashMap<>();
+        for (Drone drone : drones) {
+            counts.computeIfAbsent(ResourceUrls.idOf(drone.getDronetypeRaw()), type -> new long[1])[0]++;
+        }
+        dronesByType = counts;
+        dronesSeen = true;
+        rerank();
+    }
+
+    /**
+     * Returns the manufacturers with the most drones.
+     * @param k		Number of manufacturers to return.
+     * @return manufacturer to drone count, in ranking order.
+     */
+    public Map<String, Long> top(int k) {
+        return ranking.top(k);
+    }
+
+    /**
+     * Tells whether both drone types and drones have been ingested at least once.
+     * @return true if the ranking reflects the replica.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    private void rerank() {
+        ranking = ManufacturerRanking.of(ManufacturerTally.droneCountsByManufacturer(manufacturerByType, dronesByType));
+        warm = typesSeen && dronesSeen;
+        logger.debug("Manufacturer ranking rebuilt with {} manufacturers.", ranking.size());
+    }
+}
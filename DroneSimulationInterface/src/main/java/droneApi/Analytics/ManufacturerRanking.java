@@ -0,0 +1,71 @@
+package droneApi.Analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manufacturers ordered by their number of drones, descending (ties by name).
+ * Immutable; sorted once when built, so reading the top K costs O(K).
+ */
+public final class ManufacturerRanking {
+
+    private static final ManufacturerRanking EMPTY = new ManufacturerRanking(new String[0], new long[0]);
+
+    private final String[] manufacturers;	// Sorted by count, descending
+    private final long[] droneCounts;		// Parallel to manufacturers
+
+    private ManufacturerRanking(String[] manufacturers, long[] droneCounts) {
+        this.manufacturers = manufacturers;
+        this.droneCounts = droneCounts;
+    }
+
+    /**
+     * An empty ranking.
+     * @return the empty ranking.
+     */
+    public static ManufacturerRanking empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Sorts the given counts into a ranking.
+     * @param droneCounts	Number of drones per manufacturer.
+     * @return the ranking.
+     */
+    public static ManufacturerRanking of(Map<String, Long> droneCounts) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(droneCounts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        String[] manufacturers = new String[entries.size()];
+        long[] counts = new long[entries.size()];
+        for (int i = 0; i < manufacturers.length; i++) {
+            manufacturers[i] = entries.get(i).getKey();
+            counts[i] = entries.get(i).getValue();
+        }
+        return new ManufacturerRanking(manufacturers, counts);
+    }
+
+    /**
+     * Returns the manufacturers with the most drones.
+     * @param k		Number of manufacturers to return.
+     * @return manufacturer to drone count, in ranking order.
+     */
+    public Map<String, Long> top(int k) {
+        int size = Math.min(Math.max(k, 0), manufacturers.length);
+        if (size == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            top.put(manufacturers[i], droneCounts[i]);
+        }
+        return top;
+    }
+
+    public int size() { return manufacturers.length; }
+}
@@ -0,0 +1,64 @@
+package droneApi.Analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneType;
+import droneApi.Service.ResourceUrls;
+
+/**
+ * Counts drones per manufacturer from a stream of drone types and drones, in any order.
+ * Only the type-to-manufacturer mapping and one counter per type are kept. Not thread-safe.
+ */
+public final class ManufacturerTally {
+
+    private final Map<Integer, String> manufacturerByType = new HashMap<>();
+    private final Map<Integer, long[]> dronesByType = new HashMap<>();
+
+    /**
+     * Registers a drone type; only drones of registered types are ranked.
+     * @param droneType		The drone type.
+     */
+    public void addDroneType(DroneType droneType) {
+        manufacturerByType.put(droneType.getId(), manufacturerOf(droneType));
+    }
+
+    /**
+     * Counts a drone for its type.
+     * @param drone		The drone.
+     */
+    public void addDrone(Drone drone) {
+        dronesByType.computeIfAbsent(ResourceUrls.idOf(drone.getDronetypeRaw()), type -> new long[1])[0]++;
+    }
+
+    /**
+     * Ranks the manufacturers of all registered drone types, including those without drones.
+     * @return the ranking.
+     */
+    public ManufacturerRanking toRanking() {
+        return ManufacturerRanking.of(droneCountsByManufacturer(manufacturerByType, dronesByType));
+    }
+
+    /**
+     * Sums the drone counts of all types per manufacturer.
+     * @param manufacturerByType	Manufacturer per drone type ID.
+     * @param dronesByType			Drone count per drone type ID (single-element arrays).
+     * @return the drone count per manufacturer.
+     */
+    static Map<String, Long> droneCountsByManufacturer(Map<Integer, String> manufacturerByType, Map<Integer, long[]> dronesByType) {
+        Map<String, Long> counts = new HashMap<>();
+        manufacturerByType.forEach((type, manufacturer) -> {
+            long[] drones = dronesByType.get(type);
+            counts.merge(manufacturer, drones != null ? drones[0] : 0L, Long::sum);
+        });
+        return counts;
+    }
+
+    /**
+     * Returns the manufacturer of a drone type, or "Unknown" if the upstream has none.
+     */
+    static String manufacturerOf(DroneType droneType) {
+        return droneType.getManufacturer() != null ? droneType.getManufacturer() : "Unknown";
+    }
+}
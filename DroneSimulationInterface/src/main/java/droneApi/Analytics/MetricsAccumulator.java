@@ -0,0 +1,61 @@
+package droneApi.Analytics;
+
+import droneApi.Time.Timestamps;
+
+/**
+ * Folds one drone's dynamics records, in timestamp order, into its derived metrics.
+ * Distance is the speed of a record times the time until the next record;
+ * battery consumption counts only decreases of the battery status. Not thread-safe.
+ */
+public final class MetricsAccumulator {
+
+    /** Timestamp of records without a usable timestamp; they count for the average speed only. */
+    public static final long NO_TIME = Timestamps.NO_TIME;
+
+    private static final double MICROS_PER_HOUR = 3_600_000_000.0;
+
+    private long samples;
+    private long speedSum;
+    private double distanceKm;
+    private long batteryUsed;
+
+    private long previousMicros = NO_TIME;
+    private int previousSpeed;
+    private int previousBattery;
+
+    /**
+     * Adds the next record of the drone.
+     * @param epochMicros	The record time in epoch microseconds, or NO_TIME.
+     * @param speed			The speed in km/h.
+     * @param battery		The battery status.
+     */
+    public void add(long epochMicros, int speed, int battery) {
+        samples++;
+        speedSum += speed;
+        if (epochMicros == NO_TIME) {
+            return;
+        }
+
+        if (previousMicros != NO_TIME && epochMicros > previousMicros) {
+            distanceKm += previousSpeed * ((epochMicros - previousMicros) / MICROS_PER_HOUR);
+            if (battery < previousBattery) {
+                batteryUsed += previousBattery - battery;
+            }
+        }
+        previousMicros = epochMicros;
+        previousSpeed = speed;
+        previousBattery = battery;
+    }
+
+    /**
+     * Returns the metrics of the records added so far.
+     * @param droneId				The drone ID.
+     * @param payloadUtilization	Payload utilization in percent, or null if unknown.
+     * @return the metrics.
+     */
+    public DroneMetrics toMetrics(int droneId, Double payloadUtilization) {
+        double averageSpeed = samples == 0 ? 0 : (double) speedSum / samples;
+        double perKm = distanceKm > 0 ? batteryUsed / distanceKm : 0;
+        return new DroneMetrics(droneId, samples, averageSpeed, distanceKm, perKm, payloadUtilization);
+    }
+}
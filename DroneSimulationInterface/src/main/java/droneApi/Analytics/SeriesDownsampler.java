@@ -0,0 +1,112 @@
+package droneApi.Analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import droneApi.Time.Timestamps;
+
+/**
+ * Reduces one drone's samples, added in timestamp order, to a point budget with
+ * Largest-Triangle-Three-Buckets: the first and last sample are kept, and from every bucket in between
+ * the sample spanning the largest triangle with the previously kept sample and the average of the next bucket.
+ * Peaks and dips survive, unlike with plain averaging. Samples are held in two primitive arrays; not thread-safe.
+ */
+public final class SeriesDownsampler {
+
+    private long[] micros = new long[256];
+    private int[] values = new int[256];
+    private int size;
+
+    /**
+     * Adds the next sample; samples without a usable timestamp are skipped.
+     * @param epochMicros	The record time in epoch microseconds, or Timestamps.NO_TIME.
+     * @param value			The value of the metric.
+     */
+    public void add(long epochMicros, int value) {
+        if (epochMicros == Timestamps.NO_TIME) {
+            return;
+        }
+        if (size == micros.length) {
+            micros = Arrays.copyOf(micros, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        micros[size] = epochMicros;
+        values[size] = value;
+        size++;
+    }
+
+    /**
+     * @return the number of samples added.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds the series of the added samples.
+     * @param droneId		The drone ID.
+     * @param metric		The metric of the samples.
+     * @param maxPoints		The point budget, at least 3.
+     * @return the series with at most maxPoints points.
+     */
+    public TelemetrySeries toSeries(int droneId, TelemetryMetric metric, int maxPoints) {
+        int[] kept = select(maxPoints);
+        List<SeriesPoint> points = new ArrayList<>(kept.length);
+        for (int i : kept) {
+            points.add(new SeriesPoint(Timestamps.formatIso(micros[i], 0, "Z"), values[i]));
+        }
+        return new TelemetrySeries(droneId, metric.getKey(), size, points);
+    }
+
+    /**
+     * Returns the indexes of the samples to keep, in ascending order.
+     */
+    int[] select(int maxPoints) {
+        if (size <= maxPoints) {
+            int[] all = new int[size];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+
+        int[] kept = new int[maxPoints];
+        double bucketWidth = (double) (size - 2) / (maxPoints - 2);	// The first and last sample have their own bucket
+        long origin = micros[0];	// Times relative to the first sample keep the doubles exact enough
+        int previous = 0;
+
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            // Average of the next bucket; the last sample for the last bucket
+            int nextStart = (int) ((bucket + 1) * bucketWidth) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketWidth) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += micros[i] - origin;
+                averageY += values[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            // Sample of this bucket with the largest triangle
+            int start = (int) (bucket * bucketWidth) + 1;
+            int end = nextStart;
+            double previousX = micros[previous] - origin;
+            double previousY = values[previous];
+            double largestArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((previousX - averageX) * (values[i] - previousY)
+                        - (previousX - (micros[i] - origin)) * (averageY - previousY));
+                if (area > largestArea) {
+                    largestArea = area;
+                    chosen = i;
+                }
+            }
+            kept[bucket + 1] = chosen;
+            previous = chosen;
+        }
+        kept[maxPoints - 1] = size - 1;
+        return kept;
+    }
+}
@@ -0,0 +1,29 @@
+package droneApi.Analytics;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import droneApi.Time.Timestamps;
+
+/**
+ * One sample of a {@link TelemetrySeries}, an original record kept by the downsampling.
+ */
+public class SeriesPoint {
+
+    private final String timestamp;		// Record time in UTC, e.g. "2024-12-10T15:13:53.640843Z"
+    private final int value;
+
+    /**
+     * Constructor to initialize all fields.
+     * @param timestamp		Record time.
+     * @param value			Value of the metric.
+     */
+    public SeriesPoint(String timestamp, int value) {
+        this.timestamp = timestamp;
+        this.value = value;
+    }
+
+    // Getters
+    @JsonSerialize(using = Timestamps.Serializer.class)
+    public String getTimestamp() { return timestamp; }
+    public int getValue() { return value; }
+}
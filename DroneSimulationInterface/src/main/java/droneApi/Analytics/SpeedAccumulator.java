@@ -0,0 +1,42 @@
+package droneApi.Analytics;
+
+/**
+ * Running sum, count and extremes of speed samples on primitives; one instance per group.
+ * Not thread-safe.
+ */
+public final class SpeedAccumulator {
+
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    /**
+     * Adds one sample.
+     * @param speed		The speed in km/h.
+     */
+    public void add(int speed) {
+        count++;
+        sum += speed;
+        if (speed < min) {
+            min = speed;
+        }
+        if (speed > max) {
+            max = speed;
+        }
+    }
+
+    public long getCount() { return count; }
+
+    public double getAverage() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the current values.
+     * @return the summary.
+     */
+    public SpeedSummary toSummary() {
+        return count == 0 ? new SpeedSummary(0, 0, 0, 0) : new SpeedSummary(count, getAverage(), min, max);
+    }
+}
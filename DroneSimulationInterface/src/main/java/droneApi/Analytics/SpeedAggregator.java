@@ -0,0 +1,118 @@
+package droneApi.Analytics;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import droneApi.Entities.DroneDynamics;
+import droneApi.Service.ResourceUrls;
+import droneApi.Store.DynamicsRow;
+import droneApi.Time.Timestamps;
+
+/**
+ * Folds a stream of dynamics records into speed statistics, one record at a time.
+ * Only the accumulators are kept, so memory depends on the number of groups, not on the number of records.
+ */
+public final class SpeedAggregator {
+
+    /** Sample time of samples without a usable timestamp; they are left out of the time windows. */
+    public static final long NO_TIME = Timestamps.NO_TIME;
+
+    private final long windowSeconds;
+    private final SpeedAccumulator overall = new SpeedAccumulator();
+    private final Map<Integer, SpeedAccumulator> byDrone = new HashMap<>();
+    private final Map<String, SpeedAccumulator> byStatus = new HashMap<>();
+    private final TreeMap<Long, SpeedAccumulator> byWindow = new TreeMap<>();	// Keyed by window start, epoch seconds
+
+    /**
+     * Constructor to initialize the aggregator.
+     * @param windowSeconds		Width of the time windows in seconds.
+     */
+    public SpeedAggregator(long windowSeconds) {
+        this.windowSeconds = Math.max(1, windowSeconds);
+    }
+
+    /**
+     * Summarizes the speeds of a stream without grouping.
+     * @param dynamics		The records; the stream is consumed but not closed.
+     * @return the summary.
+     */
+    public static SpeedSummary summarize(Stream<DroneDynamics> dynamics) {
+        SpeedAccumulator accumulator = new SpeedAccumulator();
+        dynamics.forEach(record -> accumulator.add(record.getSpeed()));
+        return accumulator.toSummary();
+    }
+
+    /**
+     * Computes the full breakdown of a stream.
+     * @param dynamics		The records; the stream is consumed but not closed.
+     * @param windowSeconds	Width of the time windows in seconds.
+     * @return the breakdown.
+     */
+    public static SpeedBreakdown breakdown(Stream<DroneDynamics> dynamics, long windowSeconds) {
+        SpeedAggregator aggregator = new SpeedAggregator(windowSeconds);
+        dynamics.forEach(aggregator::add);
+        return aggregator.toBreakdown();
+    }
+
+    /**
+     * Adds one record to all groups it belongs to.
+     * @param record	The dynamics record.
+     */
+    public void add(DroneDynamics record) {
+        add(ResourceUrls.idOf(record.getDrone()), record.getStatus(), epochSecondOf(record.getTimestampMicros()), record.getSpeed());
+    }
+
+    /**
+     * Adds one replicated row, read from its columns.
+     * @param row	The row cursor.
+     */
+    public void add(DynamicsRow row) {
+        add(row.getDroneId(), row.getStatus(), epochSecondOf(row.getTimestampMicros()), row.getSpeed());
+    }
+
+    /**
+     * Adds one sample to all groups it belongs to.
+     * @param droneId		The drone ID.
+     * @param status		The drone status.
+     * @param epochSecond	The sample time, or NO_TIME if unknown.
+     * @param speed			The speed.
+     */
+    public void add(int droneId, String status, long epochSecond, int speed) {
+        overall.add(speed);
+        byDrone.computeIfAbsent(droneId, id -> new SpeedAccumulator()).add(speed);
+        byStatus.computeIfAbsent(String.valueOf(status), key -> new SpeedAccumulator()).add(speed);
+
+        if (epochSecond != NO_TIME) {
+            long windowStart = Math.floorDiv(epochSecond, windowSeconds) * windowSeconds;
+            byWindow.computeIfAbsent(windowStart, start -> new SpeedAccumulator()).add(speed);
+        }
+    }
+
+    /**
+     * Returns the statistics collected so far.
+     * @return the breakdown.
+     */
+    public SpeedBreakdown toBreakdown() {
+        Map<Integer, SpeedSummary> drones = new TreeMap<>();
+        byDrone.forEach((id, accumulator) -> drones.put(id, accumulator.toSummary()));
+
+        Map<String, SpeedSummary> statuses = new TreeMap<>();
+        byStatus.forEach((status, accumulator) -> statuses.put(status, accumulator.toSummary()));
+
+        Map<String, SpeedSummary> windows = new LinkedHashMap<>();
+        byWindow.forEach((start, accumulator) -> windows.put(Instant.ofEpochSecond(start).toString(), accumulator.toSummary()));
+
+        return new SpeedBreakdown(overall.toSummary(), windowSeconds, drones, statuses, windows);
+    }
+
+    /**
+     * Returns the epoch second of epoch microseconds, keeping NO_TIME.
+     */
+    private static long epochSecondOf(long micros) {
+        return micros == Timestamps.NO_TIME ? NO_TIME : Math.floorDiv(micros, 1_000_000L);
+    }
+}
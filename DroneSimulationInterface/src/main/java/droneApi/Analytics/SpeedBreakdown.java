@@ -0,0 +1,39 @@
+package droneApi.Analytics;
+
+import java.util.Map;
+
+/**
+ * Speed statistics of a dynamics dataset, overall and grouped by drone, status and time window.
+ */
+public class SpeedBreakdown {
+
+    private final SpeedSummary overall;
+    private final long windowSeconds;					// Width of the time windows
+    private final Map<Integer, SpeedSummary> byDrone;	// Keyed by drone ID
+    private final Map<String, SpeedSummary> byStatus;	// Keyed by status, e.g. "ON"
+    private final Map<String, SpeedSummary> byWindow;	// Keyed by window start (ISO 8601, UTC), ascending
+
+    /**
+     * Constructor to initialize all fields.
+     * @param overall		Statistics of all samples.
+     * @param windowSeconds	Width of the time windows in seconds.
+     * @param byDrone		Statistics per drone ID.
+     * @param byStatus		Statistics per status.
+     * @param byWindow		Statistics per time window.
+     */
+    public SpeedBreakdown(SpeedSummary overall, long windowSeconds, Map<Integer, SpeedSummary> byDrone,
+                          Map<String, SpeedSummary> byStatus, Map<String, SpeedSummary> byWindow) {
+        this.overall = overall;
+        this.windowSeconds = windowSeconds;
+        this.byDrone = byDrone;
+        this.byStatus = byStatus;
+        this.byWindow = byWindow;
+    }
+
+    // Getters
+    public SpeedSummary getOverall() { return overall; }
+    public long getWindowSeconds() { return windowSeconds; }
+    public Map<Integer, SpeedSummary> getByDrone() { return byDrone; }
+    public Map<String, SpeedSummary> getByStatus() { return byStatus; }
+    public Map<String, SpeedSummary> getByWindow() { return byWindow; }
+}
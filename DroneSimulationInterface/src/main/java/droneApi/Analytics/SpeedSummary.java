@@ -0,0 +1,32 @@
+package droneApi.Analytics;
+
+/**
+ * Average, extremes and sample count of a set of speed samples, serialized as-is by the speed endpoints.
+ */
+public class SpeedSummary {
+
+    private final long count;		// Number of samples
+    private final double average;	// Mean speed, 0 without samples
+    private final int min;			// Lowest speed, 0 without samples
+    private final int max;			// Highest speed, 0 without samples
+
+    /**
+     * Constructor to initialize all fields.
+     * @param count		Number of samples.
+     * @param average	Mean speed.
+     * @param min		Lowest speed.
+     * @param max		Highest speed.
+     */
+    public SpeedSummary(long count, double average, int min, int max) {
+        this.count = count;
+        this.average = average;
+        this.min = min;
+        this.max = max;
+    }
+
+    // Getters
+    public long getCount() { return count; }
+    public double getAverage() { return average; }
+    public int getMin() { return min; }
+    public int getMax() { return max; }
+}
@@ -0,0 +1,52 @@
+package droneApi.Analytics;
+
+import droneApi.Entities.DroneDynamics;
+import droneApi.Store.DynamicsRow;
+
+/**
+ * The numeric dynamics fields that can be charted as a series.
+ */
+public enum TelemetryMetric {
+    SPEED("speed"),
+    BATTERY("battery");
+
+    private final String key;	// Name used in requests and responses
+
+    TelemetryMetric(String key) {
+        this.key = key;
+    }
+
+    public String getKey() { return key; }
+
+    /**
+     * Looks up a metric by its key.
+     * @param key		The key, e.g. "speed".
+     * @return the metric, or null if the key is unknown.
+     */
+    public static TelemetryMetric byKey(String key) {
+        for (TelemetryMetric metric : values()) {
+            if (metric.key.equalsIgnoreCase(key)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the metric from a replica row.
+     * @param row		The row.
+     * @return the value.
+     */
+    public int of(DynamicsRow row) {
+        return this == SPEED ? row.getSpeed() : row.getBatteryStatus();
+    }
+
+    /**
+     * Reads the metric from a dynamics record.
+     * @param record	The record.
+     * @return the value.
+     */
+    public int of(DroneDynamics record) {
+        return this == SPEED ? record.getSpeed() : record.getBatteryStatus();
+    }
+}
@@ -0,0 +1,34 @@
+package droneApi.Analytics;
+
+import java.util.List;
+
+/**
+ * A drone's metric over a time window, downsampled to a point budget, serialized as-is by the series endpoint.
+ */
+public class TelemetrySeries {
+
+    private final int droneId;
+    private final String metric;			// Key of the TelemetryMetric
+    private final long samples;				// Records in the window before downsampling
+    private final List<SeriesPoint> points;	// Kept records, oldest first
+
+    /**
+     * Constructor to initialize all fields.
+     * @param droneId		The drone ID.
+     * @param metric		Key of the metric.
+     * @param samples		Records in the window.
+     * @param points		Kept records, oldest first.
+     */
+    public TelemetrySeries(int droneId, String metric, long samples, List<SeriesPoint> points) {
+        this.droneId = droneId;
+        this.metric = metric;
+        this.samples = samples;
+        this.points = points;
+    }
+
+    // Getters
+    public int getDroneId() { return droneId; }
+    public String getMetric() { return metric; }
+    public long getSamples() { return samples; }
+    public List<SeriesPoint> getPoints() { return points; }
+}
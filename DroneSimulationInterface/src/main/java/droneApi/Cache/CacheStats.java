@@ -0,0 +1,45 @@
+package droneApi.Cache;
+
+/**
+ * Point-in-time counters of a cache, serialized as-is by the stats endpoint.
+ */
+public class CacheStats {
+
+    private final long hits;		// Lookups answered from the cache
+    private final long misses;		// Lookups that had to go upstream
+    private final long evictions;	// Entries dropped because of size or age
+    private final long loads;		// Upstream loads actually executed (misses minus coalesced ones)
+    private final long notModified;	// Loads the upstream answered with 304 Not Modified
+    private final int size;			// Current number of entries
+
+    /**
+     * Constructor to initialize all counters.
+     * @param hits		Number of cache hits.
+     * @param misses	Number of cache misses.
+     * @param evictions	Number of evicted entries.
+     * @param loads		Number of executed upstream loads.
+     * @param notModified	Number of loads answered with 304 Not Modified.
+     * @param size		Current number of entries.
+     */
+    public CacheStats(long hits, long misses, long evictions, long loads, long notModified, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.loads = loads;
+        this.notModified = notModified;
+        this.size = size;
+    }
+
+    // Getters
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getLoads() { return loads; }
+    public long getNotModified() { return notModified; }
+    public int getSize() { return size; }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,33 @@
+package droneApi.Cache;
+
+/**
+ * Point-in-time counters of a {@link SingleFlight}, serialized as-is by the stats endpoint.
+ */
+public class CoalescingStats {
+
+    private final long executions;	// Calls that went upstream
+    private final long suppressed;	// Calls that joined an identical call already in flight
+    private final int inFlight;		// Upstream calls currently running
+
+    /**
+     * Constructor to initialize all counters.
+     * @param executions	Number of calls that went upstream.
+     * @param suppressed	Number of calls that joined an in-flight call.
+     * @param inFlight		Number of upstream calls currently running.
+     */
+    public CoalescingStats(long executions, long suppressed, int inFlight) {
+        this.executions = executions;
+        this.suppressed = suppressed;
+        this.inFlight = inFlight;
+    }
+
+    // Getters
+    public long getExecutions() { return executions; }
+    public long getSuppressed() { return suppressed; }
+    public int getInFlight() { return inFlight; }
+
+    public double getSuppressionRate() {
+        long total = executions + suppressed;
+        return total == 0 ? 0 : (double) suppressed / total;
+    }
+}
@@ -0,0 +1,49 @@
+package droneApi.Cache;
+
+/**
+ * Result of a conditional upstream GET: either "not modified" or a freshly parsed value with its validators.
+ * @param <V> the value type
+ */
+public final class ConditionalResponse<V> {
+
+    // Shared instance; a 304 allocates nothing on the cache side
+    private static final ConditionalResponse<?> NOT_MODIFIED = new ConditionalResponse<>(true, null, null, null);
+
+    private final boolean notModified;
+    private final V value;
+    private final String etag;			// ETag response header, null if the upstream sent none
+    private final String lastModified;	// Last-Modified response header, null if the upstream sent none
+
+    private ConditionalResponse(boolean notModified, V value, String etag, String lastModified) {
+        this.notModified = notModified;
+        this.value = value;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * The upstream answered 304 Not Modified.
+     * @return the shared "not modified" response.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> ConditionalResponse<V> notModified() {
+        return (ConditionalResponse<V>) NOT_MODIFIED;
+    }
+
+    /**
+     * The upstream answered with a full representation.
+     * @param value			The parsed value, null if the upstream had none.
+     * @param etag			The ETag header, may be null.
+     * @param lastModified	The Last-Modified header, may be null.
+     * @return the response.
+     */
+    public static <V> ConditionalResponse<V> of(V value, String etag, String lastModified) {
+        return new ConditionalResponse<>(false, value, etag, lastModified);
+    }
+
+    // Getters
+    public boolean isNotModified() { return notModified; }
+    public V getValue() { return value; }
+    public String getEtag() { return etag; }
+    public String getLastModified() { return lastModified; }
+}
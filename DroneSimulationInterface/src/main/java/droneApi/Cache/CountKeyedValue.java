@@ -0,0 +1,72 @@
+package droneApi.Cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A value built from a whole upstream list, kept until the upstream reports another record count.
+ * The count is the only change signal the upstream offers cheaply, but a live upstream changes it all the time,
+ * so it is asked at most once per check interval and the value is rebuilt at most that often.
+ * While one caller checks and rebuilds, the others keep reading the previous value.
+ * @param <V> the value type
+ */
+public class CountKeyedValue<V> {
+
+    private final LongSupplier count;
+    private final LongSupplier checkIntervalMillis;
+    private final Supplier<V> builder;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile V value;
+    private volatile long checkedAt;		// System.nanoTime() of the last count check
+    private long builtAtCount = -1;			// Guarded by lock
+
+    /**
+     * Constructor to initialize the value.
+     * @param count					Reads the current record count of the upstream list, or -1 if it reports none.
+     * @param checkIntervalMillis	Reads the minimum time between two count checks.
+     * @param builder				Builds the value from the upstream list.
+     */
+    public CountKeyedValue(LongSupplier count, LongSupplier checkIntervalMillis, Supplier<V> builder) {
+        this.count = count;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.builder = builder;
+    }
+
+    /**
+     * Returns the value, rebuilt if the check interval passed and the upstream count changed since it was built
+     * (or the upstream reports none).
+     * @return the value.
+     */
+    public V get() {
+        V current = value;
+        if (current != null && !checkDue()) {
+            return current;
+        }
+        if (current == null) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            return current;
+        }
+        try {
+            if (value != null && !checkDue()) {
+                return value;
+            }
+            long currentCount = count.getAsLong();
+            if (value == null || currentCount < 0 || currentCount != builtAtCount) {
+                value = builder.get();
+                builtAtCount = currentCount;
+            }
+            checkedAt = System.nanoTime();
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean checkDue() {
+        return System.nanoTime() - checkedAt >= TimeUnit.MILLISECONDS.toNanos(checkIntervalMillis.getAsLong());
+    }
+}
@@ -0,0 +1,50 @@
+package droneApi.Cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Entity tags for responses whose data has no version, e.g. pages passed through from the upstream.
+ * The tag is a hash of the JSON form, written straight into the digest, so no copy of the body is buffered.
+ */
+public final class EntityTags {
+
+    // Same annotations as the response converter; only needs to be deterministic, not byte-identical
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    // Hash bytes kept in the tag; 128 bits make a collision between two versions of one URL negligible
+    private static final int TAG_BYTES = 16;
+
+    private EntityTags() {
+    }
+
+    /**
+     * Hashes the JSON form of a value.
+     * @param value		The response body.
+     * @return the tag, without quotes.
+     */
+    public static String ofContent(Object value) {
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            mapper.writeValue(out, value);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, TAG_BYTES);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
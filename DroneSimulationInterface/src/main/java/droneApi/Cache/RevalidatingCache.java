@@ -0,0 +1,164 @@
+package droneApi.Cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache that revalidates entries with the upstream instead of dropping them.
+ * Entries with an ETag or Last-Modified validator are revalidated with a conditional GET once they are older than
+ * the revalidation interval; a 304 renews the entry without a new value. Entries without validators simply expire
+ * after the TTL and are fetched again in full.
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class RevalidatingCache<K, V> {
+
+    /**
+     * Performs the (conditional) upstream GET for a key.
+     * @param <V> the value type
+     */
+    @FunctionalInterface
+    public interface ConditionalLoader<V> {
+        /**
+         * @param etag			The cached ETag to send as If-None-Match, or null.
+         * @param lastModified	The cached Last-Modified to send as If-Modified-Since, or null.
+         * @return the upstream response.
+         */
+        ConditionalResponse<V> load(String etag, String lastModified);
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long revalidateNanos;
+
+    // Access-ordered map, guarded by "this"
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final SingleFlight<K, V> loads = new SingleFlight<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    /**
+     * Constructor to initialize the cache.
+     * @param maxEntries		Maximum number of entries; the least recently used entry is evicted beyond it.
+     * @param ttlSeconds		Lifetime of entries the upstream sent no validator for.
+     * @param revalidateSeconds	Age after which entries with a validator are revalidated.
+     */
+    public RevalidatingCache(int maxEntries, long ttlSeconds, long revalidateSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.revalidateNanos = revalidateSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > RevalidatingCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, revalidating or loading it when needed.
+     * Concurrent loads for the same key share one upstream call.
+     * @param key		The cache key.
+     * @param loader	Performs the conditional upstream GET.
+     * @return the value, or null if the upstream had none.
+     */
+    public V get(K key, ConditionalLoader<V> loader) {
+        Entry<V> entry = lookup(key);
+        if (entry != null && System.nanoTime() < entry.freshUntilNanos) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+
+        return loads.execute(key, () -> {
+            // Another flight may have refreshed the entry in the meantime
+            Entry<V> current = lookup(key);
+            if (current != null && System.nanoTime() < current.freshUntilNanos) {
+                return current.value;
+            }
+
+            boolean canRevalidate = current != null && current.hasValidator();
+            ConditionalResponse<V> response = canRevalidate
+                    ? loader.load(current.etag, current.lastModified)
+                    : loader.load(null, null);
+
+            if (response.isNotModified() && current != null) {
+                notModified.increment();
+                current.freshUntilNanos = System.nanoTime() + revalidateNanos;
+                return current.value;
+            }
+
+            V value = response.getValue();
+            if (value == null) {
+                remove(key);
+                return null;
+            }
+            store(key, new Entry<>(value, response.getEtag(), response.getLastModified()));
+            return value;
+        });
+    }
+
+    private synchronized Entry<V> lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.hasValidator() && System.nanoTime() - entry.freshUntilNanos > 0) {
+            // Nothing to revalidate with, the entry is simply gone
+            entries.remove(key);
+            evictions.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void store(K key, Entry<V> entry) {
+        entry.freshUntilNanos = System.nanoTime() + (entry.hasValidator() ? revalidateNanos : ttlNanos);
+        entries.put(key, entry);
+    }
+
+    /**
+     * Removes an entry.
+     * @param key		The cache key.
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the current counters.
+     * @return a stats snapshot.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), loads.getExecutions(), notModified.sum(), size());
+    }
+
+    /**
+     * Cached value with its validators.
+     */
+    private static final class Entry<V> {
+        final V value;
+        final String etag;
+        final String lastModified;
+        volatile long freshUntilNanos;	// Served without asking the upstream until then
+
+        Entry(V value, String etag, String lastModified) {
+            this.value = value;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        boolean hasValidator() {
+            return etag != null || lastModified != null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package droneApi.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution.
+ * The first caller runs the loader on its own thread; callers arriving while it runs wait for and share its result.
+ * Nothing is remembered once the call completes, so a later call for the same key runs the loader again.
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // Number of calls that ran the loader, and number of calls that joined an in-flight load
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    /**
+     * Runs the loader for the key, or joins the load already in flight for it.
+     * @param key		The key identifying identical calls.
+     * @param loader	Produces the value; runs on the calling thread of the first caller.
+     * @return the loaded value (shared by all callers of the same flight).
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            // Someone else is already loading this key
+            suppressed.increment();
+            return join(existing);
+        }
+
+        executions.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Waits for a shared flight and rethrows its failure unwrapped.
+     */
+    private V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    // Getters for the counters
+    public long getExecutions() { return executions.sum(); }
+    public long getSuppressed() { return suppressed.sum(); }
+    public int getInFlight() { return inFlight.size(); }
+
+    /**
+     * Returns the current counters.
+     * @return a stats snapshot.
+     */
+    public CoalescingStats stats() {
+        return new CoalescingStats(getExecutions(), getSuppressed(), getInFlight());
+    }
+}
@@ -0,0 +1,145 @@
+package droneApi.Cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-expiring LRU cache.
+ * Concurrent misses for the same key share one load (see {@link SingleFlight}); null results are not cached.
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class TtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // Access-ordered map, guarded by "this"
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final SingleFlight<K, V> loads = new SingleFlight<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor to initialize the cache.
+     * @param maxEntries	Maximum number of entries; the least recently used entry is evicted beyond it.
+     * @param ttlSeconds	Time after which an entry expires.
+     */
+    public TtlCache(int maxEntries, long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > TtlCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or loads it on a miss.
+     * @param key		The cache key.
+     * @param loader	Loads the value from upstream; may return null, which is not cached.
+     * @return the cached or loaded value, may be null.
+     */
+    public V get(K key, Supplier<V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        return loads.execute(key, () -> {
+            // A flight that finished just before this one started may already have filled the entry
+            V value = peek(key);
+            if (value == null) {
+                value = loader.get();
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Returns the cached value if present and not expired; counts a hit or a miss.
+     * @param key		The cache key.
+     * @return the cached value or null.
+     */
+    public V getIfPresent(K key) {
+        V value = peek(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Looks up a live entry without touching the counters.
+     */
+    private synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos > 0) {
+            entries.remove(key);
+            evictions.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, e.g. when warming the cache from a list response.
+     * @param key		The cache key.
+     * @param value		The value to cache; null values are ignored.
+     */
+    public synchronized void put(K key, V value) {
+        if (value != null) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the current counters.
+     * @return a stats snapshot.
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), loads.getExecutions(), 0, size());
+    }
+
+    /**
+     * Cached value with its expiry time.
+     */
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAtNanos;
+
+        Entry(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
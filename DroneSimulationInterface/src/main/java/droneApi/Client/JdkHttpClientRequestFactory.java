@@ -0,0 +1,200 @@
+package droneApi.Client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * ClientHttpRequestFactory backed by the JDK HttpClient.
+ * The client keeps connections alive between requests and negotiates HTTP/2 (ALPN) when the server supports it,
+ * so concurrent requests to the same host share one multiplexed connection.
+ * Concurrency per route (scheme, host and port) is capped with a semaphore.
+ */
+public class JdkHttpClientRequestFactory implements ClientHttpRequestFactory {
+
+    // Headers the JDK HttpClient manages itself and refuses to have set
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(List.of("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+    }
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final int maxConnectionsPerRoute;
+
+    // One permit pool per route, first come first served like the Apache pool, so waiting callers are not overtaken
+    private final Map<String, Semaphore> routePermits = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor to initialize the factory.
+     * @param httpClient				The shared JDK HttpClient.
+     * @param readTimeout				Time to wait for the response headers.
+     * @param maxConnectionsPerRoute	Maximum number of concurrent requests per route.
+     */
+    public JdkHttpClientRequestFactory(HttpClient httpClient, Duration readTimeout, int maxConnectionsPerRoute) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new JdkClientHttpRequest(uri, httpMethod);
+    }
+
+    private Semaphore permitsFor(URI uri) {
+        String route = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+        return routePermits.computeIfAbsent(route, key -> new Semaphore(maxConnectionsPerRoute, true));
+    }
+
+    /**
+     * Buffers the request body and sends the request through the shared HttpClient.
+     */
+    private class JdkClientHttpRequest extends AbstractClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(0);
+
+        JdkClientHttpRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(readTimeout);
+            headers.forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name)) {
+                    values.forEach(value -> builder.header(name, value));
+                }
+            });
+
+            HttpRequest.BodyPublisher publisher = body.size() == 0
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body.toByteArray());
+            builder.method(method.name(), publisher);
+
+            Semaphore permits = permitsFor(uri);
+            try {
+                permits.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a connection to " + uri.getHost());
+            }
+
+            try {
+                HttpResponse<InputStream> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+                return new JdkClientHttpResponse(response, permits);
+            } catch (InterruptedException ex) {
+                permits.release();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while requesting " + uri);
+            } catch (IOException | RuntimeException ex) {
+                permits.release();
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * Wraps the JDK response; the route permit is returned once the body is closed.
+     */
+    private static class JdkClientHttpResponse implements ClientHttpResponse {
+
+        private final HttpResponse<InputStream> response;
+        private final Semaphore permits;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private HttpHeaders headers;
+
+        JdkClientHttpResponse(HttpResponse<InputStream> response, Semaphore permits) {
+            this.response = response;
+            this.permits = permits;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(response.statusCode());
+        }
+
+        @Override
+        @Deprecated
+        public int getRawStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(response.statusCode());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                HttpHeaders copy = new HttpHeaders();
+                response.headers().map().forEach((name, values) -> copy.addAll(name, values));
+                headers = HttpHeaders.readOnlyHttpHeaders(copy);
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return response.body();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    // Closing the body hands the connection back to the keep-alive pool
+                    response.body().close();
+                } catch (IOException ignored) {
+                    // Nothing useful left to do with a failed close
+                } finally {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package droneApi.Client;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * Builds the ClientHttpRequestFactory used by the RestTemplate for upstream Drone API calls.
+ * The implementation is selected by the "type" in the "http_client" section of config.json.
+ */
+public final class UpstreamClientFactory {
+
+    // Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamClientFactory.class);
+
+    private UpstreamClientFactory() {
+    }
+
+    /**
+     * Creates the request factory for the given settings.
+     * @param settings		The client settings.
+     * @param sslContext	The SSLContext to use for HTTPS connections.
+     * @return a configured ClientHttpRequestFactory.
+     */
+    public static ClientHttpRequestFactory create(UpstreamClientSettings settings, SSLContext sslContext) {
+        logger.info("Creating upstream HTTP client: {}", settings);
+        switch (settings.getType()) {
+            case SIMPLE:
+                return createSimple(settings);
+            case HTTP2:
+                return createHttp2(settings, sslContext);
+            case POOLED:
+            default:
+                return createPooled(settings, sslContext);
+        }
+    }
+
+    /**
+     * HttpURLConnection based factory, kept for comparison with the pooled clients.
+     */
+    private static ClientHttpRequestFactory createSimple(UpstreamClientSettings settings) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(settings.getConnectTimeoutMillis());
+        requestFactory.setReadTimeout(settings.getReadTimeoutMillis());
+        return requestFactory;
+    }
+
+    /**
+     * Apache HttpClient with a keep-alive connection pool, per-route limits and idle eviction.
+     */
+    private static ClientHttpRequestFactory createPooled(UpstreamClientSettings settings, SSLContext sslContext) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setSSLSocketFactory(SSLConnectionSocketFactoryBuilder.create()
+                        .setSslContext(sslContext)
+                        .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)	// Matches the bypassed hostname verification
+                        .build())
+                .setMaxConnTotal(settings.getMaxConnections())
+                .setMaxConnPerRoute(settings.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(settings.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+                        .setSocketTimeout(settings.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(settings.getReadTimeoutMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(settings.getIdleEvictionSeconds()))
+                .build();
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * JDK HttpClient, which prefers HTTP/2 and falls back to HTTP/1.1 keep-alive.
+     * Everything is set on the builder, so other JDK clients in the process keep their defaults. The client
+     * verifies hostnames through the trust manager of the SSLContext, so bypassing that is up to the context.
+     * The JDK pool has no size or idle timeout per client; concurrency is capped per route by the request factory.
+     */
+    private static ClientHttpRequestFactory createHttp2(UpstreamClientSettings settings, SSLContext sslContext) {
+        SSLParameters sslParameters = sslContext.getDefaultSSLParameters();
+        sslParameters.setApplicationProtocols(new String[] {"h2", "http/1.1"});
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .sslContext(sslContext)
+                .sslParameters(sslParameters)
+                .connectTimeout(Duration.ofMillis(settings.getConnectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        return new JdkHttpClientRequestFactory(httpClient, Duration.ofMillis(settings.getReadTimeoutMillis()),
+                settings.getMaxConnectionsPerRoute());
+    }
+}
@@ -0,0 +1,77 @@
+package droneApi.Client;
+
+import org.json.JSONObject;
+
+/**
+ * Immutable settings for the upstream HTTP client, read from the "http_client" section of config.json.
+ */
+public final class UpstreamClientSettings {
+
+    private final UpstreamClientType type;
+    private final int maxConnections;			// Upper bound of pooled connections across all hosts
+    private final int maxConnectionsPerRoute;	// Upper bound of concurrent connections (or streams) per host
+    private final int idleEvictionSeconds;		// Idle connections older than this are closed
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+
+    /**
+     * Constructor to initialize all client settings.
+     * @param type						The client implementation to use.
+     * @param maxConnections			Maximum number of pooled connections.
+     * @param maxConnectionsPerRoute	Maximum number of connections per route (host).
+     * @param idleEvictionSeconds		Idle time after which a pooled connection is evicted.
+     * @param connectTimeoutMillis		Connect timeout in milliseconds.
+     * @param readTimeoutMillis			Read (response) timeout in milliseconds.
+     */
+    public UpstreamClientSettings(UpstreamClientType type, int maxConnections, int maxConnectionsPerRoute,
+                                  int idleEvictionSeconds, int connectTimeoutMillis, int readTimeoutMillis) {
+        this.type = type;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.idleEvictionSeconds = idleEvictionSeconds;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Default settings used when config.json has no "http_client" section.
+     * @return the default settings.
+     */
+    public static UpstreamClientSettings defaults() {
+        return new UpstreamClientSettings(UpstreamClientType.POOLED, 50, 20, 30, 5000, 15000);
+    }
+
+    /**
+     * Reads the settings from the "http_client" JSON section; missing keys fall back to the defaults.
+     * @param json		The "http_client" section, may be null.
+     * @return the parsed settings.
+     */
+    public static UpstreamClientSettings fromJson(JSONObject json) {
+        UpstreamClientSettings defaults = defaults();
+        if (json == null) {
+            return defaults;
+        }
+        return new UpstreamClientSettings(
+                UpstreamClientType.fromConfig(json.optString("type", defaults.type.name())),
+                json.optInt("max_connections", defaults.maxConnections),
+                json.optInt("max_connections_per_route", defaults.maxConnectionsPerRoute),
+                json.optInt("idle_eviction_seconds", defaults.idleEvictionSeconds),
+                json.optInt("connect_timeout_ms", defaults.connectTimeoutMillis),
+                json.optInt("read_timeout_ms", defaults.readTimeoutMillis));
+    }
+
+    // Getters
+    public UpstreamClientType getType() { return type; }
+    public int getMaxConnections() { return maxConnections; }
+    public int getMaxConnectionsPerRoute() { return maxConnectionsPerRoute; }
+    public int getIdleEvictionSeconds() { return idleEvictionSeconds; }
+    public int getConnectTimeoutMillis() { return connectTimeoutMillis; }
+    public int getReadTimeoutMillis() { return readTimeoutMillis; }
+
+    @Override
+    public String toString() {
+        return "UpstreamClientSettings[type=" + type + ", maxConnections=" + maxConnections
+                + ", maxConnectionsPerRoute=" + maxConnectionsPerRoute + ", idleEvictionSeconds=" + idleEvictionSeconds
+                + ", connectTimeoutMillis=" + connectTimeoutMillis + ", readTimeoutMillis=" + readTimeoutMillis + "]";
+    }
+}
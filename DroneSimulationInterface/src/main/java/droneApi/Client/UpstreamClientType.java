@@ -0,0 +1,33 @@
+package droneApi.Client;
+
+/**
+ * Available HTTP client implementations for calls to the upstream Drone API.
+ */
+public enum UpstreamClientType {
+
+    // Plain HttpURLConnection, one connection per request (legacy behaviour)
+    SIMPLE,
+
+    // Apache HttpClient 5 with a keep-alive connection pool (HTTP/1.1)
+    POOLED,
+
+    // JDK HttpClient, negotiates HTTP/2 via ALPN and multiplexes requests
+    HTTP2;
+
+    /**
+     * Resolves a client type from its configuration name.
+     * @param name		The configured name (e.g., "pooled"), case insensitive.
+     * @return The matching client type, or POOLED if the name is missing or unknown.
+     */
+    public static UpstreamClientType fromConfig(String name) {
+        if (name == null || name.isBlank()) {
+            return POOLED;
+        }
+        for (UpstreamClientType type : values()) {
+            if (type.name().equalsIgnoreCase(name.trim())) {
+                return type;
+            }
+        }
+        return POOLED;
+    }
+}
@@ -0,0 +1,79 @@
+package droneApi.Config;
+
+import org.json.JSONObject;
+
+import droneApi.Client.UpstreamClientSettings;
+
+/**
+ * Immutable snapshot of the application configuration (config.json plus an optional override file).
+ * A new snapshot is created on every reload; readers never see a partially updated configuration.
+ */
+public final class ApiConfig {
+
+    private final String apiUrl;		// Base URL of the upstream Drone API
+    private final String apiToken;		// Authorization header value for the upstream Drone API
+    private final UpstreamClientSettings clientSettings;
+    private final CacheSettings droneTypeCache;	// Cache of drone types resolved from "dronetype" URLs
+    private final CacheSettings droneCache;		// Cache of drones resolved by ID or "drone" URL
+    private final int pageSize;			// Items requested per upstream page when paginating
+    private final int pageParallelism;	// Pages fetched ahead of the consumer when paginating
+    private final long asyncDeadlineMillis;	// Deadline of asynchronous upstream calls without an explicit one
+    private final ReplicaSettings replica;	// Local fleet replica served by the controller
+    private final SnapshotSettings snapshot;	// On-disk snapshot of the replica for warm starts
+    private final PushSettings push;	// Server-sent stream of new dynamics
+    private final long loadedAtMillis;	// When this snapshot was parsed
+
+    /**
+     * Parses all settings from the merged configuration JSON.
+     * @param json		The configuration JSON.
+     */
+    private ApiConfig(JSONObject json) {
+        JSONObject cache = section(json, "cache");
+        JSONObject pagination = section(json, "pagination");
+        JSONObject async = section(json, "async");
+
+        this.apiUrl = json.getString("api_url");
+        this.apiToken = json.getString("api_token");
+        this.clientSettings = UpstreamClientSettings.fromJson(json.optJSONObject("http_client"));
+        this.droneTypeCache = CacheSettings.fromJson(cache.optJSONObject("drone_types"), new CacheSettings(256, 600));
+        this.droneCache = CacheSettings.fromJson(cache.optJSONObject("drones"), new CacheSettings(4096, 300, 30));
+        this.pageSize = pagination.optInt("page_size", 100);
+        this.pageParallelism = pagination.optInt("parallelism", 4);
+        this.asyncDeadlineMillis = async.optLong("deadline_ms", 10000);
+        this.replica = ReplicaSettings.fromJson(json.optJSONObject("replica"));
+        this.snapshot = SnapshotSettings.fromJson(json.optJSONObject("snapshot"));
+        this.push = PushSettings.fromJson(json.optJSONObject("push"));
+        this.loadedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Parses a snapshot from the merged configuration JSON.
+     * @param json		The configuration JSON.
+     * @return the parsed snapshot.
+     */
+    public static ApiConfig fromJson(JSONObject json) {
+        return new ApiConfig(json);
+    }
+
+    /**
+     * Returns a section of the configuration, or an empty one if it is missing.
+     */
+    private static JSONObject section(JSONObject json, String name) {
+        JSONObject section = json.optJSONObject(name);
+        return section != null ? section : new JSONObject();
+    }
+
+    // Getters
+    public String getApiUrl() { return apiUrl; }
+    public String getApiToken() { return apiToken; }
+    public UpstreamClientSettings getClientSettings() { return clientSettings; }
+    public CacheSettings getDroneTypeCache() { return droneTypeCache; }
+    public CacheSettings getDroneCache() { return droneCache; }
+    public int getPageSize() { return pageSize; }
+    public int getPageParallelism() { return pageParallelism; }
+    public long getAsyncDeadlineMillis() { return asyncDeadlineMillis; }
+    public ReplicaSettings getReplica() { return replica; }
+    public SnapshotSettings getSnapshot() { return snapshot; }
+    public PushSettings getPush() { return push; }
+    public long getLoadedAtMillis() { return loadedAtMillis; }
+}
@@ -0,0 +1,55 @@
+package droneApi.Config;
+
+import org.json.JSONObject;
+
+/**
+ * Size and lifetime of one cache, read from a subsection of the "cache" section of config.json.
+ */
+public final class CacheSettings {
+
+    private final int maxEntries;	// Upper bound of cached entries
+    private final long ttlSeconds;	// Time an entry stays valid
+    private final long revalidateSeconds;	// Age after which an entry with an ETag/Last-Modified is revalidated
+
+    /**
+     * Constructor to initialize the cache settings.
+     * @param maxEntries	Maximum number of cached entries.
+     * @param ttlSeconds	Entry lifetime in seconds.
+     */
+    public CacheSettings(int maxEntries, long ttlSeconds) {
+        this(maxEntries, ttlSeconds, ttlSeconds);
+    }
+    
+    /**
+     * Constructor for caches that revalidate their entries with the upstream.
+     * @param maxEntries		Maximum number of cached entries.
+     * @param ttlSeconds		Lifetime of entries without a validator, in seconds.
+     * @param revalidateSeconds	Age after which entries with a validator are revalidated, in seconds.
+     */
+    public CacheSettings(int maxEntries, long ttlSeconds, long revalidateSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.revalidateSeconds = revalidateSeconds;
+    }
+
+    /**
+     * Reads the settings of one cache; missing keys fall back to the given defaults.
+     * @param json		The cache subsection, may be null.
+     * @param defaults	The values to use for missing keys.
+     * @return the parsed settings.
+     */
+    public static CacheSettings fromJson(JSONObject json, CacheSettings defaults) {
+        if (json == null) {
+            return defaults;
+        }
+        return new CacheSettings(
+                json.optInt("max_entries", defaults.maxEntries),
+                json.optLong("ttl_seconds", defaults.ttlSeconds),
+                json.optLong("revalidate_seconds", defaults.revalidateSeconds));
+    }
+
+    // Getters
+    public int getMaxEntries() { return maxEntries; }
+    public long getTtlSeconds() { return ttlSeconds; }
+    public long getRevalidateSeconds() { return revalidateSeconds; }
+}
@@ -0,0 +1,192 @@
+package droneApi.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * Holds the current configuration snapshot.
+ * config.json is read from the classpath once. If an override file is configured (system property "drone.config"
+ * or environment variable DRONE_CONFIG), its keys replace the classpath values and the file is watched:
+ * every change is parsed into a new snapshot that replaces the current one atomically.
+ * Reading the configuration on the request path is a single volatile read, no I/O.
+ */
+public final class ConfigProvider {
+
+    // Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(ConfigProvider.class);
+
+    private static final String CLASSPATH_CONFIG = "config.json";
+    private static final String OVERRIDE_PROPERTY = "drone.config";
+    private static final String OVERRIDE_ENV = "DRONE_CONFIG";
+
+    // Shared instance, also used by the Swing windows that create their own services
+    private static volatile ConfigProvider instance;
+
+    private final JSONObject classpathConfig;
+    private final Path overrideFile;
+    private final AtomicReference<ApiConfig> current = new AtomicReference<>();
+
+    private ConfigProvider() {
+        this.classpathConfig = readClasspathConfig();
+        this.overrideFile = resolveOverrideFile();
+        current.set(load());
+        if (overrideFile != null) {
+            startWatcher();
+        }
+    }
+
+    /**
+     * Returns the shared provider, loading the configuration on first use.
+     * @return the configuration provider.
+     */
+    public static ConfigProvider getInstance() {
+        ConfigProvider provider = instance;
+        if (provider == null) {
+            synchronized (ConfigProvider.class) {
+                provider = instance;
+                if (provider == null) {
+                    provider = new ConfigProvider();
+                    instance = provider;
+                }
+            }
+        }
+        return provider;
+    }
+
+    /**
+     * Returns the current configuration snapshot.
+     * @return the current snapshot, never null.
+     */
+    public ApiConfig current() {
+        return current.get();
+    }
+
+    /**
+     * Reads config.json from the classpath.
+     */
+    private static JSONObject readClasspathConfig() {
+        try (InputStream inputStream = new ClassPathResource(CLASSPATH_CONFIG).getInputStream()) {
+            return new JSONObject(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (Exception ex) {
+            logger.error("Failed to load config file from classpath.", ex);
+            throw new RuntimeException("Configuration loading failed", ex);
+        }
+    }
+
+    /**
+     * Resolves the optional override file from the system property or the environment.
+     */
+    private static Path resolveOverrideFile() {
+        String location = System.getProperty(OVERRIDE_PROPERTY, System.getenv(OVERRIDE_ENV));
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        return Paths.get(location).toAbsolutePath();
+    }
+
+    /**
+     * Builds a snapshot from the classpath configuration merged with the override file, if present.
+     */
+    private ApiConfig load() {
+        long start = System.nanoTime();
+        JSONObject merged = new JSONObject(classpathConfig.toString());
+
+        if (overrideFile != null && Files.isRegularFile(overrideFile)) {
+            try {
+                JSONObject override = new JSONObject(Files.readString(overrideFile, StandardCharsets.UTF_8));
+                merge(merged, override);
+            } catch (Exception ex) {
+                throw new RuntimeException("Failed to read config override " + overrideFile, ex);
+            }
+        }
+
+        ApiConfig config = ApiConfig.fromJson(merged);
+        logger.info("Configuration loaded in {} µs (override: {})", (System.nanoTime() - start) / 1000,
+                overrideFile != null ? overrideFile : "none");
+        return config;
+    }
+
+    /**
+     * Copies all keys of the override into the target; nested objects are merged key by key.
+     */
+    private static void merge(JSONObject target, JSONObject override) {
+        for (String key : override.keySet()) {
+            Object value = override.get(key);
+            JSONObject nested = target.optJSONObject(key);
+            if (value instanceof JSONObject && nested != null) {
+                merge(nested, (JSONObject) value);
+            } else {
+                target.put(key, value);
+            }
+        }
+    }
+
+    /**
+     * Reloads the snapshot; a broken override keeps the previous snapshot in place.
+     */
+    private void reload() {
+        try {
+            current.set(load());
+            logger.info("Configuration reloaded from {}", overrideFile);
+        } catch (Exception ex) {
+            logger.error("Ignoring invalid configuration change in {}: {}", overrideFile, ex.getMessage());
+        }
+    }
+
+    /**
+     * Starts a daemon thread that reloads the snapshot whenever the override file changes.
+     */
+    private void startWatcher() {
+        Path directory = overrideFile.getParent();
+        Path fileName = overrideFile.getFileName();
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException ex) {
+            logger.error("Failed to watch config override {}; hot reload disabled.", overrideFile, ex);
+            return;
+        }
+
+        Thread watcher = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    WatchKey key = watchService.take();
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (fileName.equals(event.context())) {
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        reload();
+                    }
+                    if (!key.reset()) {
+                        logger.warn("Config directory {} is no longer accessible; hot reload stopped.", directory);
+                        return;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+}
@@ -0,0 +1,51 @@
+package droneApi.Config;
+
+import org.json.JSONObject;
+
+/**
+ * Settings of the dynamics push stream, read from the "push" section of config.json.
+ * Events come from the dynamics sync of the replica, so the stream is only offered while the replica is enabled.
+ */
+public final class PushSettings {
+
+    private final int bufferSize;			// Events held per subscriber while it reads slower than they arrive
+    private final String overflow;			// What happens to a subscriber whose buffer is full, unless it asks otherwise
+    private final int maxSubscribers;		// Open streams beyond which new subscribers are turned away
+    private final long heartbeatSeconds;	// Idle time after which a comment is sent, keeping proxies open and finding dead clients
+
+    /**
+     * Constructor to initialize the push settings.
+     * @param bufferSize		Events buffered per subscriber.
+     * @param overflow			Default overflow policy, "drop_oldest" or "disconnect".
+     * @param maxSubscribers	Maximum number of open streams.
+     * @param heartbeatSeconds	Heartbeat interval in seconds.
+     */
+    public PushSettings(int bufferSize, String overflow, int maxSubscribers, long heartbeatSeconds) {
+        this.bufferSize = bufferSize;
+        this.overflow = overflow;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeatSeconds = heartbeatSeconds;
+    }
+
+    /**
+     * Reads the push settings; missing keys fall back to defaults.
+     * @param json		The "push" section, may be null.
+     * @return the parsed settings.
+     */
+    public static PushSettings fromJson(JSONObject json) {
+        if (json == null) {
+            json = new JSONObject();
+        }
+        return new PushSettings(
+                json.optInt("buffer_size", 1024),
+                json.optString("overflow", "drop_oldest"),
+                json.optInt("max_subscribers", 10000),
+                json.optLong("heartbeat_seconds", 15));
+    }
+
+    // Getters
+    public int getBufferSize() { return bufferSize; }
+    public String getOverflow() { return overflow; }
+    public int getMaxSubscribers() { return maxSubscribers; }
+    public long getHeartbeatSeconds() { return heartbeatSeconds; }
+}
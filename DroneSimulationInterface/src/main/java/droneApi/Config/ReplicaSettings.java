@@ -0,0 +1,56 @@
+package droneApi.Config;
+
+import org.json.JSONObject;
+
+/**
+ * Settings of the local fleet replica, read from the "replica" section of config.json.
+ */
+public final class ReplicaSettings {
+
+    private final boolean enabled;					// Whether the synchronizer mirrors the upstream and endpoints read from the replica
+    private final long dronesIntervalSeconds;		// Time between two full drone syncs
+    private final long droneTypesIntervalSeconds;	// Time between two full drone type syncs
+    private final long dynamicsIntervalSeconds;		// Time between two incremental dynamics syncs
+    private final long maxStalenessSeconds;			// Age after which a resource is served by pass-through again
+
+    /**
+     * Constructor to initialize the replica settings.
+     * @param enabled					Whether the replica is used.
+     * @param dronesIntervalSeconds		Drone sync interval in seconds.
+     * @param droneTypesIntervalSeconds	Drone type sync interval in seconds.
+     * @param dynamicsIntervalSeconds	Dynamics sync interval in seconds.
+     * @param maxStalenessSeconds		Maximum age of served replica data in seconds.
+     */
+    public ReplicaSettings(boolean enabled, long dronesIntervalSeconds, long droneTypesIntervalSeconds,
+                           long dynamicsIntervalSeconds, long maxStalenessSeconds) {
+        this.enabled = enabled;
+        this.dronesIntervalSeconds = dronesIntervalSeconds;
+        this.droneTypesIntervalSeconds = droneTypesIntervalSeconds;
+        this.dynamicsIntervalSeconds = dynamicsIntervalSeconds;
+        this.maxStalenessSeconds = maxStalenessSeconds;
+    }
+
+    /**
+     * Reads the replica settings; missing keys fall back to a disabled replica with default intervals.
+     * @param json		The "replica" section, may be null.
+     * @return the parsed settings.
+     */
+    public static ReplicaSettings fromJson(JSONObject json) {
+        if (json == null) {
+            json = new JSONObject();
+        }
+        return new ReplicaSettings(
+                json.optBoolean("enabled", false),
+                json.optLong("drones_interval_seconds", 60),
+                json.optLong("drone_types_interval_seconds", 600),
+                json.optLong("dynamics_interval_seconds", 10),
+                json.optLong("max_staleness_seconds", 300));
+    }
+
+    // Getters
+    public boolean isEnabled() { return enabled; }
+    public long getDronesIntervalSeconds() { return dronesIntervalSeconds; }
+    public long getDroneTypesIntervalSeconds() { return droneTypesIntervalSeconds; }
+    public long getDynamicsIntervalSeconds() { return dynamicsIntervalSeconds; }
+    public long getMaxStalenessSeconds() { return maxStalenessSeconds; }
+}
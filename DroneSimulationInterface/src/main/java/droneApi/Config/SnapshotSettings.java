@@ -0,0 +1,51 @@
+package droneApi.Config;
+
+import org.json.JSONObject;
+
+/**
+ * Settings of the on-disk fleet snapshot, read from the "snapshot" section of config.json.
+ * The snapshot is only written and loaded while the replica is enabled.
+ */
+public final class SnapshotSettings {
+
+    private final boolean enabled;			// Whether the replica is persisted and restored on startup
+    private final String path;				// Snapshot file, relative to the working directory unless absolute
+    private final long intervalSeconds;		// Time between two snapshot writes
+    private final long maxAgeSeconds;		// Snapshots older than this are not restored
+
+    /**
+     * Constructor to initialize the snapshot settings.
+     * @param enabled			Whether snapshots are written and restored.
+     * @param path				The snapshot file.
+     * @param intervalSeconds	Write interval in seconds.
+     * @param maxAgeSeconds		Maximum age of a restored snapshot in seconds.
+     */
+    public SnapshotSettings(boolean enabled, String path, long intervalSeconds, long maxAgeSeconds) {
+        this.enabled = enabled;
+        this.path = path;
+        this.intervalSeconds = intervalSeconds;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    /**
+     * Reads the snapshot settings; missing keys fall back to defaults.
+     * @param json		The "snapshot" section, may be null.
+     * @return the parsed settings.
+     */
+    public static SnapshotSettings fromJson(JSONObject json) {
+        if (json == null) {
+            json = new JSONObject();
+        }
+        return new SnapshotSettings(
+                json.optBoolean("enabled", true),
+                json.optString("path", "fleet-snapshot.bin"),
+                json.optLong("interval_seconds", 60),
+                json.optLong("max_age_seconds", 86400));
+    }
+
+    // Getters
+    public boolean isEnabled() { return enabled; }
+    public String getPath() { return path; }
+    public long getIntervalSeconds() { return intervalSeconds; }
+    public long getMaxAgeSeconds() { return maxAgeSeconds; }
+}
@@ -3,20 +3,60 @@ package droneApi.Contollers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import droneApi.Analytics.DroneMetrics;
+import droneApi.Analytics.SpeedBreakdown;
+import droneApi.Analytics.SpeedSummary;
+import droneApi.Analytics.TelemetryMetric;
+import droneApi.Analytics.TelemetrySeries;
+import droneApi.Cache.CacheStats;
+import droneApi.Cache.CoalescingStats;
+import droneApi.Cache.EntityTags;
+import droneApi.Geo.DronePosition;
+import droneApi.Geo.GeoBox;
+import droneApi.Push.DynamicsFilter;
+import droneApi.Push.DynamicsSubscriber;
+import droneApi.Push.OverflowPolicy;
+import droneApi.Push.PushStats;
+import droneApi.Service.CoalescingDroneService;
+import droneApi.Service.CursorPage;
 import droneApi.Service.DroneApiService;
+import droneApi.Service.PageCursor;
+import droneApi.Service.ReplicaDroneService;
+import droneApi.Store.DroneState;
+import droneApi.Store.DynamicsFootprint;
+import droneApi.Store.FleetResource;
+import droneApi.Store.ReplicaStatus;
+import droneApi.Store.SnapshotStatus;
+import droneApi.Time.Timestamps;
 import droneApi.Entities.Drone;
 import droneApi.Entities.DroneDynamics;
 import droneApi.Entities.DroneType;
@@ -31,16 +71,39 @@ public class DroneController {
 	// Logger for logging application events
     private static final Logger logger = LoggerFactory.getLogger(DroneController.class);
     
+    // Writes the records of streamed responses; entities carry their own Jackson annotations
+    private static final ObjectMapper streamMapper = new ObjectMapper();
+    
+    // Polled lists may be stored but must be revalidated with their ETag before reuse
+    private static final CacheControl POLLED_CACHE_CONTROL = CacheControl.noCache();
+    
+    // Response header carrying the cursor of the next page of a list
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    // Upper bound of the point budget of a telemetry series, so a response stays small whatever the window
+    private static final int MAX_SERIES_POINTS = 5000;
+    
     // Service that handles drone-related logic
     private final DroneApiService droneApiService;
+    
+    // Joins identical concurrent list and by-ID reads into one upstream call
+    private final CoalescingDroneService coalescingDroneService;
+    
+    // Answers list and by-ID reads from the local replica, falling back to the coalesced upstream path
+    private final ReplicaDroneService replicaDroneService;
 
     /**
-     * Constructor that initializes the DroneApiService using dependency injection.
+     * Constructor that initializes the services using dependency injection.
      * @param droneApiService the service that interacts with the drone API.
+     * @param coalescingDroneService the service that coalesces identical concurrent reads.
+     * @param replicaDroneService the service that reads from the local replica.
      */
     @Autowired
-    public DroneController(DroneApiService droneApiService) {
+    public DroneController(DroneApiService droneApiService, CoalescingDroneService coalescingDroneService,
+    		ReplicaDroneService replicaDroneService) {
         this.droneApiService = droneApiService;
+        this.coalescingDroneService = coalescingDroneService;
+        this.replicaDroneService = replicaDroneService;
     }
     
     /**
@@ -69,26 +132,31 @@ public class DroneController {
     /**
      * Endpoint to retrieve a list of available drones.
      * Maps to GET requests at "/api/drones/".
+     * If more drones follow, the X-Next-Cursor header holds the cursor of the next page.
+     * @param cursor the X-Next-Cursor of the previous page; replaces the offset
      * @return a ResponseEntity containing a list of Drone objects or an error response.
      */
-    @Operation(summary = "Retrieve list of drones", description = "Fetches a list of available drones.")
+    @Operation(summary = "Retrieve list of drones", description = "Fetches a list of available drones. Pass the X-Next-Cursor header of a page as cursor to get the next page; pages keep the order of offset reads and continue right after the last drone seen, so drones added or removed meanwhile do not shift them.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of drones."),
+        @ApiResponse(responseCode = "304", description = "Not modified since the version in If-None-Match."),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor or cursor of another list."),
         @ApiResponse(responseCode = "500", description = "Error retrieving list of drones.")
     })
-    @GetMapping(value = "/drones/", produces = "application/json")
+    @GetMapping(value = "/drones/", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<List<Drone>> getDrones( @RequestParam(defaultValue = "10") int limit,
-            @RequestParam(defaultValue = "0") int offset) {
-    	logger.trace("Entered getDrones endpoint with limit={} and offset={}", limit, offset);
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(required = false) String cursor, WebRequest request) {
+    	logger.trace("Entered getDrones endpoint with limit={}, offset={} and cursor={}", limit, offset, cursor);
+    	
+    	PageCursor start = startOf(FleetResource.DRONES, cursor, offset);
+    	if (start == null) {
+    		return ResponseEntity.badRequest().build();
+    	}
         try {
         	
-        	// Fetch the list of drones from the service layer
-        	List<Drone> drones = droneApiService.fetchDrones(limit, offset);
-            
-            logger.trace("Successfully retrieved drones.");
-            
-            // Return the list of drones with a 200 OK status
-            return ResponseEntity.ok(drones);
+        	// Fetch the page of drones from the service layer, unless the client already has this version
+        	return conditionalGet(request, replicaDroneService.versionTag(FleetResource.DRONES, limit, start.getPosition()),
+        			() -> replicaDroneService.fetchDrones(limit, start));
         } catch (Exception ex) {
         	
         	// Log an error if drone retrieval fails
@@ -105,28 +173,32 @@ public class DroneController {
      * Maps to GET requests at "/api/dronetypes/".
      * @param limit Number of results to return per page (default: 10).
      * @param offset Index to start fetching results from (default: 0).
+     * @param cursor The X-Next-Cursor of the previous page; replaces the offset.
      * @return a ResponseEntity containing a list of drone types or an error response.
      */
-    @Operation(summary = "Retrieve list of drone types", description = "Fetches a list of available drone types.")
+    @Operation(summary = "Retrieve list of drone types", description = "Fetches a list of available drone types. Pass the X-Next-Cursor header of a page as cursor to get the next page; pages keep the order of offset reads and continue right after the last drone type seen.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of drone types."),
+        @ApiResponse(responseCode = "304", description = "Not modified since the version in If-None-Match."),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor or cursor of another list."),
         @ApiResponse(responseCode = "500", description = "Error retrieving list of drone types.")
     })
-    @GetMapping(value = "/dronetypes/", produces = "application/json")
+    @GetMapping(value = "/dronetypes/", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<List<DroneType>> getDroneTypes(
             @RequestParam(defaultValue = "10") int limit,
-            @RequestParam(defaultValue = "0") int offset) {
-        logger.trace("Entered getDroneTypes endpoint with limit={} and offset={}", limit, offset);
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor, WebRequest request) {
+        logger.trace("Entered getDroneTypes endpoint with limit={}, offset={} and cursor={}", limit, offset, cursor);
 
+        PageCursor start = startOf(FleetResource.DRONE_TYPES, cursor, offset);
+        if (start == null) {
+        	return ResponseEntity.badRequest().build();
+        }
         try {
         	
-        	// Fetch the list of drone types from the service layer
-            List<DroneType> droneTypes = droneApiService.fetchDroneTypes(limit, offset);
-            
-            logger.trace("Successfully retrieved drone types.");
-            
-            // Return the list of drones with a 200 OK status
-            return ResponseEntity.ok(droneTypes);
+        	// Fetch the page of drone types from the service layer, unless the client already has this version
+            return conditionalGet(request, replicaDroneService.versionTag(FleetResource.DRONE_TYPES, limit, start.getPosition()),
+            		() -> replicaDroneService.fetchDroneTypes(limit, start));
         } catch (Exception ex) {
         	
         	// Log an error if drone type retrieval fails
@@ -143,26 +215,29 @@ public class DroneController {
      * Maps to GET requests at "/api/dronedynamics/".
      * @param limit Number of results to return per page (default: 10).
      * @param offset Index to start fetching results from (default: 0).
+     * @param cursor The X-Next-Cursor of the previous page; replaces the offset.
      * @return a ResponseEntity containing dynamic data for drones or an error response.
      */
-    @Operation(summary = "Retrieve drone dynamics", description = "Fetches dynamic data for drones.")
+    @Operation(summary = "Retrieve drone dynamics", description = "Fetches dynamic data for drones. Pass the X-Next-Cursor header of a page as cursor to get the next page; records are only appended, so a scan by cursor neither skips nor repeats records while new ones arrive.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved drone dynamics."),
+        @ApiResponse(responseCode = "304", description = "Not modified since the version in If-None-Match."),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor or cursor of another list."),
         @ApiResponse(responseCode = "500", description = "Error retrieving drone dynamics.")
     })
-    @GetMapping(value = "/dronedynamics/",  produces = "application/json")
+    @GetMapping(value = "/dronedynamics/", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<List<DroneDynamics>> getDroneDynamics(@RequestParam(defaultValue = "10") int limit,
-            @RequestParam(defaultValue = "0") int offset) {
-    	logger.trace("Entered getDroneDynamics endpoint with limit={} and offset={}", limit, offset);
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(required = false) String cursor, WebRequest request) {
+    	logger.trace("Entered getDroneDynamics endpoint with limit={}, offset={} and cursor={}", limit, offset, cursor);
     	
+    	PageCursor start = startOf(FleetResource.DRONE_DYNAMICS, cursor, offset);
+    	if (start == null) {
+    		return ResponseEntity.badRequest().build();
+    	}
     	 try {
-    		 	// Fetch the list of drone dynamics from the service layer
-    	        List<DroneDynamics> droneDynamics = droneApiService.fetchDroneDynamics(limit, offset);
-    	        
-    	        logger.trace("Successfully retrieved drone dynamics.");
-    	        
-    	        // Return the list of drones with a 200 OK status
-    	        return ResponseEntity.ok(droneDynamics);
+    		 	// Fetch the page of drone dynamics from the service layer, unless the client already has this version
+    	        return conditionalGet(request, replicaDroneService.versionTag(FleetResource.DRONE_DYNAMICS, limit, start.getPosition()),
+    	        		() -> replicaDroneService.fetchDroneDynamics(limit, start));
     	    } catch (Exception ex) {
     	    	
     	    	// Log an error if drone dynamics retrieval fails
@@ -174,6 +249,176 @@ public class DroneController {
      }
     
     
+    /**
+     * Endpoint to stream drone dynamics as newline-delimited JSON, chosen with "Accept: application/x-ndjson".
+     * Maps to GET requests at "/api/dronedynamics/".
+     * Each record is written as soon as it is read from the replica or decoded from an upstream page,
+     * so heap use does not grow with the limit and the first records go out before the last page is fetched.
+     * @param limit Number of records to stream (default: 10).
+     * @param offset Index to start streaming from (default: 0).
+     * @return a ResponseEntity whose body writes one JSON record per line.
+     */
+    @Operation(summary = "Stream drone dynamics", description = "Streams dynamic data for drones as newline-delimited JSON (one record per line) when requested with Accept: application/x-ndjson.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Streaming the drone dynamics."),
+        @ApiResponse(responseCode = "400", description = "Negative limit or offset.")
+    })
+    @GetMapping(value = "/dronedynamics/", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDroneDynamics(@RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+    	logger.trace("Entered streamDroneDynamics endpoint with limit={} and offset={}", limit, offset);
+    	
+    	if (limit < 0 || offset < 0) {
+    		return ResponseEntity.badRequest().build();
+    	}
+    	StreamingResponseBody body = out -> {
+    		long start = System.nanoTime();
+    		long[] written = new long[1];
+    		try (JsonGenerator generator = streamMapper.getFactory().createGenerator(out)) {
+    			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    			generator.setRootValueSeparator(null);
+    			replicaDroneService.forEachDroneDynamics(limit, offset, record -> {
+    				try {
+    					streamMapper.writeValue(generator, record);
+    					generator.writeRaw('\n');
+    					written[0]++;
+    				} catch (IOException ex) {
+    					throw new UncheckedIOException(ex);
+    				}
+    			});
+    		} catch (UncheckedIOException ex) {
+    			// Usually the client went away; the response is committed, so there is nothing left to report to it
+    			logger.debug("Stopped streaming drone dynamics after {} records: {}", written[0], ex.getMessage());
+    			throw ex.getCause();
+    		} catch (RuntimeException ex) {
+    			logger.error("Failed to stream drone dynamics after {} records: {}", written[0], ex.getMessage(), ex);
+    			throw ex;
+    		}
+    		logger.trace("Streamed {} drone dynamics in {} ms.", written[0], (System.nanoTime() - start) / 1_000_000);
+    	};
+    	return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Endpoint to receive new drone dynamics as server-sent events, pushed as the replica syncs them.
+     * Maps to GET requests at "/api/dronedynamics/stream".
+     * Each record is a "dynamics" event whose ID is its offset in "/api/dronedynamics/"; a client that fell behind
+     * gets a "dropped" event with the number of records it missed, or an "overflow" event before the stream ends.
+     * @param drone the drone IDs to receive, every drone if absent
+     * @param status the status to receive, every status if absent
+     * @param overflow what to do when the client reads too slowly: "drop_oldest" or "disconnect"
+     * @return a ResponseEntity whose body streams the events
+     */
+    @Operation(summary = "Subscribe to new drone dynamics", description = "Pushes every dynamics record synced from now on as a server-sent event, optionally only for some drones or one status. A client that reads too slowly loses the oldest buffered records (overflow=drop_oldest) or is disconnected (overflow=disconnect); it can read what it missed with offset = last event ID + 1.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Streaming new drone dynamics."),
+        @ApiResponse(responseCode = "400", description = "Unknown overflow policy or drone ID not a number."),
+        @ApiResponse(responseCode = "503", description = "The replica is disabled or too many streams are open.")
+    })
+    @GetMapping(value = "/dronedynamics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> subscribeDroneDynamics(@RequestParam(required = false) List<Integer> drone,
+            @RequestParam(required = false) String status, @RequestParam(required = false) String overflow) {
+    	logger.trace("Entered subscribeDroneDynamics endpoint with drone={}, status={} and overflow={}", drone, status, overflow);
+    	
+    	OverflowPolicy policy = overflow != null ? OverflowPolicy.byKey(overflow) : null;
+    	if (overflow != null && policy == null) {
+    		return ResponseEntity.badRequest().build();
+    	}
+    	
+    	// No timeout; heartbeats find the clients that went away
+    	ResponseBodyEmitter emitter = new ResponseBodyEmitter(0L);
+    	DynamicsSubscriber subscriber = replicaDroneService.subscribeDynamics(DynamicsFilter.of(drone, status), policy, emitter);
+    	if (subscriber == null) {
+    		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    	}
+    	return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).cacheControl(CacheControl.noStore()).body(emitter);
+    }
+    
+    /**
+     * Endpoint to retrieve one drone's dynamics in a time range.
+     * Maps to GET requests at "/api/dronedynamics?drone={id}" (with or without trailing slash).
+     * Answered from the replica only, with a 503 while it cannot serve.
+     * @param drone the drone ID
+     * @param from the earliest timestamp (ISO 8601 with offset), unbounded if absent
+     * @param to the latest timestamp (ISO 8601 with offset), unbounded if absent
+     * @return a ResponseEntity containing the drone's dynamics in timestamp order or an error response
+     */
+    @Operation(summary = "Retrieve the dynamics of one drone", description = "Fetches the dynamic data of one drone whose timestamp lies between from and to (inclusive), in timestamp order. Requires the replica, as the upstream cannot filter by drone.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the drone's dynamics."),
+        @ApiResponse(responseCode = "400", description = "From or to is not an ISO 8601 timestamp."),
+        @ApiResponse(responseCode = "500", description = "Error retrieving the drone's dynamics."),
+        @ApiResponse(responseCode = "503", description = "The replica is disabled or not yet synced.")
+    })
+    @GetMapping(value = {"/dronedynamics", "/dronedynamics/"}, params = "drone", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<DroneDynamics>> getDroneDynamicsOfDrone(@RequestParam int drone,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+    	logger.trace("Entered getDroneDynamicsOfDrone endpoint with drone={}, from={} and to={}", drone, from, to);
+    	
+    	long fromMicros = from == null ? Long.MIN_VALUE : Timestamps.parseMicros(from);
+    	long toMicros = to == null ? Long.MAX_VALUE : Timestamps.parseMicros(to);
+    	if ((from != null && fromMicros == Timestamps.NO_TIME) || (to != null && toMicros == Timestamps.NO_TIME)) {
+    		return ResponseEntity.badRequest().build();
+    	}
+    	try {
+    		List<DroneDynamics> dynamics = replicaDroneService.fetchDroneDynamicsOfDrone(drone, fromMicros, toMicros);
+    		if (dynamics == null) {
+    			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    		}
+    		return ResponseEntity.ok(dynamics);
+    	} catch (Exception ex) {
+    		logger.error("Failed to retrieve dynamics of drone {}: {}", drone, ex.getMessage(), ex);
+    		return ResponseEntity.status(500).build();
+    	}
+    }
+    
+    /**
+     * Endpoint to retrieve one drone's speed or battery series, downsampled for charting.
+     * Maps to GET requests at "/api/dronedynamics/series"
+     * Answered from the replica only, with a 503 while it cannot serve.
+     * @param drone the drone ID
+     * @param metric the metric to chart, "speed" or "battery"
+     * @param from the earliest timestamp (ISO 8601 with offset), unbounded if absent
+     * @param to the latest timestamp (ISO 8601 with offset), unbounded if absent
+     * @param points the maximum number of points to return
+     * @return a ResponseEntity containing the downsampled series or an error response
+     */
+    @Operation(summary = "Retrieve a downsampled telemetry series", description = "Reduces one drone's speed or battery values between from and to (inclusive) to at most the given number of points, keeping the shape of the curve (Largest-Triangle-Three-Buckets). Requires the replica.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully computed the series."),
+        @ApiResponse(responseCode = "400", description = "Unknown metric, invalid timestamps or points outside 3.." + MAX_SERIES_POINTS + "."),
+        @ApiResponse(responseCode = "500", description = "Error computing the series."),
+        @ApiResponse(responseCode = "503", description = "The replica is disabled or not yet synced.")
+    })
+    @GetMapping(value = "/dronedynamics/series", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<TelemetrySeries> getTelemetrySeries(@RequestParam int drone,
+            @RequestParam(defaultValue = "speed") String metric,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "500") int points) {
+    	logger.trace("Entered getTelemetrySeries endpoint with drone={}, metric={}, from={}, to={} and points={}", drone, metric, from, to, points);
+    	
+    	TelemetryMetric telemetryMetric = TelemetryMetric.byKey(metric);
+    	long fromMicros = from == null ? Long.MIN_VALUE : Timestamps.parseMicros(from);
+    	long toMicros = to == null ? Long.MAX_VALUE : Timestamps.parseMicros(to);
+    	if (telemetryMetric == null || points < 3 || points > MAX_SERIES_POINTS
+    			|| (from != null && fromMicros == Timestamps.NO_TIME) || (to != null && toMicros == Timestamps.NO_TIME)) {
+    		return ResponseEntity.badRequest().build();
+    	}
+    	try {
+    		TelemetrySeries series = replicaDroneService.getTelemetrySeries(drone, telemetryMetric, fromMicros, toMicros, points);
+    		if (series == null) {
+    			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    		}
+    		return ResponseEntity.ok(series);
+    	} catch (Exception ex) {
+    		logger.error("Failed to compute the {} series of drone {}: {}", metric, drone, ex.getMessage(), ex);
+    		return ResponseEntity.status(500).build();
+    	}
+    }
+    
+    
     /**
      * Endpoint to retrieve a drone by its ID.
      * Maps to GET requests at "/api/drones/{id}".
@@ -186,14 +431,14 @@ public class DroneController {
         @ApiResponse(responseCode = "404", description = "Drone not found."),
         @ApiResponse(responseCode = "500", description = "Error retrieving drone details.")
     })
-    @GetMapping(value = "/drones/{id}", produces = "application/json")
+    @GetMapping(value = "/drones/{id}", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
     public ResponseEntity<Drone> getDroneById(@PathVariable int id) {
         logger.trace("Entered getDroneById endpoint with id={}", id);
         
         try {
         	
         	// Fetch the list of specific drone from the service layer
-            Drone drone = droneApiService.fetchDroneById(id);
+            Drone drone = replicaDroneService.fetchDroneById(id);
             
             if (drone != null) {
             	
@@ -226,7 +471,7 @@ public class DroneController {
      */
     @Operation(
     	    summary = "Calculate average speed of all drones",
-    	    description = "Fetches the average speed of all drones based on DroneDynamics data."
+    	    description = "Fetches the average speed of all drones based on DroneDynamics data. Use /drones/average-speed/summary for minimum, maximum and sample count over the whole dataset."
     	)
     	@ApiResponses(value = {
     	    @ApiResponse(responseCode = "200", description = "Successfully calculated the average speed."),
@@ -240,12 +485,11 @@ public class DroneController {
     	
     	    try {
     	        // Calling the method in the service
-    	        double averageSpeed = droneApiService.calculateAverageSpeed(limit, offset);
+    	        double averageSpeed = replicaDroneService.calculateAverageSpeed(limit, offset);
     	        
     	        // Log the calculated average speed along with the input parameters
     	        logger.info("Calculated average speed: {} for limit={} and offset={}", averageSpeed, limit, offset);
 
-
     	        // Return of the calculated average speed
     	        return ResponseEntity.ok(averageSpeed);
     	    } catch (Exception ex) {
@@ -254,7 +498,190 @@ public class DroneController {
     	        return ResponseEntity.status(500).build();
     	    }
     	}
-    @Operation(summary = "Get top manufacturers", description = "Fetches the top manufacturers by frequency.")
+    
+    /**
+     * Endpoint to summarize the speeds of all drones.
+     * Maps to GET requests at "/api/drones/average-speed/summary"
+     * @param limit the maximum number of entries to consider, the whole dataset if absent
+     * @param offset the starting point for pagination
+     * @return a ResponseEntity containing average, minimum, maximum and sample count or an error response
+     */
+    @Operation(summary = "Summarize drone speeds", description = "Streams the DroneDynamics data and returns average, minimum and maximum speed with the sample count.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully calculated the speed summary."),
+        @ApiResponse(responseCode = "500", description = "Error calculating the speed summary.")
+    })
+    @GetMapping(value = "/drones/average-speed/summary", produces = "application/json")
+    public ResponseEntity<SpeedSummary> getSpeedSummary(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "0") int offset) {
+        logger.trace("Entered getSpeedSummary endpoint with limit={} and offset={}", limit, offset);
+        
+        try {
+            SpeedSummary summary = replicaDroneService.calculateSpeedSummary(limit, offset);
+            logger.info("Calculated average speed: {} over {} samples for limit={} and offset={}",
+                    summary.getAverage(), summary.getCount(), limit, offset);
+            return ResponseEntity.ok(summary);
+        } catch (Exception ex) {
+            logger.error("Error while calculating the speed summary.", ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    /**
+     * Endpoint to break the speed statistics down per drone, per status and per time window.
+     * Maps to GET requests at "/api/drones/average-speed/breakdown"
+     * @param limit the maximum number of entries to consider, the whole dataset if absent
+     * @param offset the starting point for pagination
+     * @param window the width of the time windows in seconds
+     * @return a ResponseEntity containing the speed breakdown or an error response
+     */
+    @Operation(summary = "Break down drone speeds", description = "Streams the DroneDynamics data and returns speed statistics overall, per drone, per status and per time window.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully calculated the speed breakdown."),
+        @ApiResponse(responseCode = "400", description = "Window is not positive."),
+        @ApiResponse(responseCode = "500", description = "Error calculating the speed breakdown.")
+    })
+    @GetMapping(value = "/drones/average-speed/breakdown", produces = "application/json")
+    public ResponseEntity<SpeedBreakdown> getSpeedBreakdown(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "3600") long window) {
+        logger.trace("Entered getSpeedBreakdown endpoint with limit={}, offset={} and window={}", limit, offset, window);
+        
+        if (window <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(replicaDroneService.calculateSpeedBreakdown(limit, offset, window));
+        } catch (Exception ex) {
+            logger.error("Error while calculating the speed breakdown.", ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    /**
+     * Endpoint to get the derived metrics of every drone.
+     * Maps to GET requests at "/api/drones/metrics"
+     * @return a ResponseEntity containing average speed, distance, battery consumption and payload utilization per drone
+     */
+    @Operation(summary = "Get drone metrics", description = "Computes average speed, total distance, battery consumption per km and payload utilization of every drone over its full dynamics history.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully computed the drone metrics."),
+        @ApiResponse(responseCode = "500", description = "Error computing the drone metrics.")
+    })
+    @GetMapping(value = "/drones/metrics", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<DroneMetrics>> getDroneMetrics() {
+        logger.trace("Entered getDroneMetrics endpoint.");
+        
+        try {
+            return ResponseEntity.ok(replicaDroneService.getDroneMetrics());
+        } catch (Exception ex) {
+            logger.error("Error while computing the drone metrics.", ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    /**
+     * Endpoint to find the drones near a point.
+     * Maps to GET requests at "/api/drones/nearby"
+     * @param lat the latitude of the point in degrees
+     * @param lon the longitude of the point in degrees
+     * @param radius the search radius in km
+     * @param limit the maximum number of drones to return
+     * @return a ResponseEntity containing the latest positions within the radius, nearest first
+     */
+    @Operation(summary = "Find drones near a point", description = "Returns the drones whose latest known position is within the radius (km) of the point, nearest first.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully searched the drone positions."),
+        @ApiResponse(responseCode = "400", description = "Coordinates out of range or radius not positive."),
+        @ApiResponse(responseCode = "500", description = "Error searching the drone positions.")
+    })
+    @GetMapping(value = "/drones/nearby", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<DronePosition>> getNearbyDrones(
+            @RequestParam String lat,
+            @RequestParam String lon,
+            @RequestParam double radius,
+            @RequestParam(defaultValue = "100") int limit) {
+        logger.trace("Entered getNearbyDrones endpoint with lat={}, lon={}, radius={} and limit={}", lat, lon, radius, limit);
+        
+        int latitude, longitude;
+        try {
+            latitude = GeoBox.latitude(lat);
+            longitude = GeoBox.longitude(lon);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!(radius > 0) || limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(replicaDroneService.findNearby(latitude, longitude, radius, limit));
+        } catch (Exception ex) {
+            logger.error("Error while searching drones near {},{}.", lat, lon, ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    /**
+     * Endpoint to find the drones inside a bounding box.
+     * Maps to GET requests at "/api/drones/within"
+     * @param bbox the box as "minLon,minLat,maxLon,maxLat" in degrees
+     * @param limit the maximum number of drones to return
+     * @return a ResponseEntity containing the latest positions inside the box, ordered by drone ID
+     */
+    @Operation(summary = "Find drones in a bounding box", description = "Returns the drones whose latest known position is inside the box \"minLon,minLat,maxLon,maxLat\"; minLon > maxLon crosses the antimeridian.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully searched the drone positions."),
+        @ApiResponse(responseCode = "400", description = "Malformed bounding box."),
+        @ApiResponse(responseCode = "500", description = "Error searching the drone positions.")
+    })
+    @GetMapping(value = "/drones/within", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<DronePosition>> getDronesWithin(
+            @RequestParam String bbox,
+            @RequestParam(defaultValue = "1000") int limit) {
+        logger.trace("Entered getDronesWithin endpoint with bbox={} and limit={}", bbox, limit);
+        
+        GeoBox box;
+        try {
+            box = GeoBox.parse(bbox);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (limit <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(replicaDroneService.findWithin(box, limit));
+        } catch (Exception ex) {
+            logger.error("Error while searching drones within {}.", bbox, ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    /**
+     * Endpoint to retrieve the current state of every drone.
+     * Maps to GET requests at "/api/fleet/latest"
+     * @return a ResponseEntity containing the state of each drone's most recent dynamics record, ordered by drone ID
+     */
+    @Operation(summary = "Get latest fleet state", description = "Returns the speed, battery, position and status of each drone's most recent dynamics record.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the latest fleet state."),
+        @ApiResponse(responseCode = "500", description = "Error retrieving the latest fleet state.")
+    })
+    @GetMapping(value = "/fleet/latest", produces = {"application/json", MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<DroneState>> getLatestFleetState() {
+        logger.trace("Entered getLatestFleetState endpoint.");
+        
+        try {
+            return ResponseEntity.ok(replicaDroneService.getLatestStates());
+        } catch (Exception ex) {
+            logger.error("Error while retrieving the latest fleet state.", ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+    
+    @Operation(summary = "Get top manufacturers", description = "Ranks manufacturers by the number of drones of their drone types.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved top manufacturers."),
         @ApiResponse(responseCode = "500", description = "Error retrieving manufacturers.")
@@ -262,12 +689,12 @@ public class DroneController {
     @GetMapping(value = "/top-manufacturers", produces = "application/json")
     public ResponseEntity<Map<String, Long>> getTopManufacturers(
         @RequestParam(defaultValue = "3") int topN,  // Optional parameter for top N manufacturers (defaults to 3)
-        @RequestParam(defaultValue = "100") int limit,  // Optional parameter for the limit (defaults to 100)
+        @RequestParam(required = false) Integer limit,  // Optional number of drone types to consider (defaults to all)
         @RequestParam(defaultValue = "0") int offset    // Optional parameter for the offset (defaults to 0)
     ) {
         try {
             // Pass topN, limit, and offset to the service method
-            Map<String, Long> topManufacturers = droneApiService.getTopManufacturers(topN, limit, offset);
+            Map<String, Long> topManufacturers = replicaDroneService.getTopManufacturers(topN, limit, offset);
             return ResponseEntity.ok(topManufacturers);  // Return the result with HTTP status 200 (OK)
         } catch (Exception ex) {
             // Error handling if something goes wrong
@@ -275,6 +702,185 @@ public class DroneController {
             return ResponseEntity.status(500).build();  
         }
     }
-   
     
-}
\ No newline at end of file
+    
+    /**
+     * Endpoint to inspect the upstream lookup caches.
+     * Maps to GET requests at "/api/cache/stats".
+     * @return a ResponseEntity containing hit, miss and eviction counters per cache.
+     */
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss, revalidation and eviction counters of the upstream lookup caches.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved cache statistics.")
+    })
+    @GetMapping(value = "/cache/stats", produces = "application/json")
+    public ResponseEntity<Map<String, CacheStats>> getCacheStats() {
+        logger.trace("Entered getCacheStats endpoint.");
+        
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("droneTypes", droneApiService.getDroneTypeCacheStats());
+        stats.put("drones", droneApiService.getDroneCacheStats());
+        return ResponseEntity.ok(stats);
+    }
+    
+    
+    /**
+     * Endpoint to inspect request coalescing.
+     * Maps to GET requests at "/api/coalescing/stats".
+     * @return a ResponseEntity containing upstream and suppressed call counts per resource.
+     */
+    @Operation(summary = "Get coalescing statistics", description = "Returns how many identical concurrent reads joined an in-flight upstream call instead of issuing their own.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved coalescing statistics.")
+    })
+    @GetMapping(value = "/coalescing/stats", produces = "application/json")
+    public ResponseEntity<Map<String, CoalescingStats>> getCoalescingStats() {
+        logger.trace("Entered getCoalescingStats endpoint.");
+        return ResponseEntity.ok(coalescingDroneService.getStats());
+    }
+    
+    
+    /**
+     * Endpoint to inspect the dynamics push streams.
+     * Maps to GET requests at "/api/push/stats".
+     * @return a ResponseEntity containing open streams and delivered, dropped and disconnected counts.
+     */
+    @Operation(summary = "Get push statistics", description = "Returns the number of open dynamics streams, the events delivered and dropped, and the streams ended for reading too slowly.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved push statistics.")
+    })
+    @GetMapping(value = "/push/stats", produces = "application/json")
+    public ResponseEntity<PushStats> getPushStats() {
+        logger.trace("Entered getPushStats endpoint.");
+        return ResponseEntity.ok(replicaDroneService.getPushStats());
+    }
+    
+    
+    /**
+     * Endpoint to inspect the local fleet replica.
+     * Maps to GET requests at "/api/replica/status".
+     * @return a ResponseEntity containing the sync state and staleness per resource.
+     */
+    @Operation(summary = "Get replica status", description = "Returns version, item count, last sync and staleness of every replicated resource.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved replica status.")
+    })
+    @GetMapping(value = "/replica/status", produces = "application/json")
+    public ResponseEntity<Map<String, ReplicaStatus>> getReplicaStatus() {
+        logger.trace("Entered getReplicaStatus endpoint.");
+        return ResponseEntity.ok(replicaDroneService.getStatus());
+    }
+    
+    
+    /**
+     * Endpoint to inspect the on-disk replica snapshot.
+     * Maps to GET requests at "/api/replica/snapshot".
+     * @return a ResponseEntity containing restore and write statistics, including the startup-to-first-served time.
+     */
+    @Operation(summary = "Get replica snapshot status", description = "Returns restore time, write statistics and the time from JVM start to the first request served from the replica.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved snapshot status.")
+    })
+    @GetMapping(value = "/replica/snapshot", produces = "application/json")
+    public ResponseEntity<SnapshotStatus> getReplicaSnapshot() {
+        logger.trace("Entered getReplicaSnapshot endpoint.");
+        return ResponseEntity.ok(replicaDroneService.getSnapshotStatus());
+    }
+    
+    
+    /**
+     * Endpoint to inspect the memory held by the replicated dynamics.
+     * Maps to GET requests at "/api/replica/dynamics/footprint".
+     * @return a ResponseEntity containing rows, series and allocated column bytes.
+     */
+    @Operation(summary = "Get replica dynamics footprint", description = "Returns the number of rows and drones and the bytes allocated by the dynamics columns, per row and per million rows.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the dynamics footprint.")
+    })
+    @GetMapping(value = "/replica/dynamics/footprint", produces = "application/json")
+    public ResponseEntity<DynamicsFootprint> getReplicaDynamicsFootprint() {
+        logger.trace("Entered getReplicaDynamicsFootprint endpoint.");
+        return ResponseEntity.ok(replicaDroneService.getDynamicsFootprint());
+    }
+    
+    /**
+     * Answers a polled list read conditionally. With a replica version tag, a client that sent it in If-None-Match
+     * gets a 304 before anything is read; otherwise the data is read and tagged with the version or a content hash,
+     * and Spring answers a matching If-None-Match with a 304 without serializing the body.
+     * The JSON and CBOR representations get different tags. Tags are weak, as the server compresses only responses
+     * without a strong tag. The cursor of the next page, if any, goes in X-Next-Cursor.
+     * @param request the current request
+     * @param versionTag the replica version tag, or null if the read goes to the upstream
+     * @param read reads the page
+     * @return the response
+     */
+    private <T> ResponseEntity<List<T>> conditionalGet(WebRequest request, String versionTag, Supplier<CursorPage<T>> read) {
+        String variant = prefersCbor(request.getHeader(HttpHeaders.ACCEPT)) ? "-cbor" : "";
+        if (versionTag != null && request.checkNotModified(weakTag(versionTag + variant))) {
+            // checkNotModified already wrote the ETag
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(POLLED_CACHE_CONTROL).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        CursorPage<T> page = read.get();
+        List<T> body = page.getItems();
+        String etag = weakTag((versionTag != null ? versionTag : EntityTags.ofContent(body)) + variant);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag).cacheControl(POLLED_CACHE_CONTROL).varyBy(HttpHeaders.ACCEPT);
+        if (page.getNext() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNext().encode());
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * Resolves where a list request starts: at its cursor if it has one, else at its offset.
+     * @param resource the listed resource
+     * @param cursor the cursor parameter, or null
+     * @param offset the offset parameter
+     * @return the start, or null if the cursor is malformed or belongs to another list
+     */
+    private static PageCursor startOf(FleetResource resource, String cursor, int offset) {
+        if (cursor == null) {
+            return PageCursor.atOffset(resource, offset);
+        }
+        try {
+            return PageCursor.decode(cursor, resource);
+        } catch (IllegalArgumentException ex) {
+            logger.debug("Rejected cursor {}: {}", cursor, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static String weakTag(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    /**
+     * Tells whether content negotiation picks CBOR over JSON for an Accept header, to tag the two variants apart.
+     * @param accept the Accept header, may be null
+     * @return true if CBOR is preferred
+     */
+    private static boolean prefersCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return false;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
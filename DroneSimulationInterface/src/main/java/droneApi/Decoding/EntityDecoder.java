@@ -0,0 +1,22 @@
+package droneApi.Decoding;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Builds one entity directly from a streaming JSON parser.
+ * @param <T> the entity type
+ */
+@FunctionalInterface
+public interface EntityDecoder<T> {
+
+    /**
+     * Reads one entity. The parser is positioned on the START_OBJECT of the entity and is left on its END_OBJECT.
+     * @param parser	The parser.
+     * @return the entity.
+     * @throws IOException if the JSON is malformed or the stream fails.
+     * @throws IllegalArgumentException if a required field is missing; the object has been fully consumed.
+     */
+    T decode(JsonParser parser) throws IOException;
+}
@@ -0,0 +1,202 @@
+package droneApi.Decoding;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+import droneApi.Geo.MicroDegrees;
+
+/**
+ * Streaming decoders for the upstream entities.
+ * Fields are read in whatever order the upstream sends them, unknown fields are skipped,
+ * and scalar values are coerced the same way org.json did (e.g. "5" is accepted as an int).
+ */
+public final class EntityDecoders {
+
+    private EntityDecoders() {
+    }
+
+    /**
+     * Decodes a drone, keeping the raw dronetype URL and created timestamp.
+     * @param p		The parser, positioned on the START_OBJECT.
+     * @return the drone.
+     */
+    public static Drone drone(JsonParser p) throws IOException {
+        Integer id = null;
+        Integer carriageWeight = null;
+        String dronetype = null, created = null, serialnumber = null, carriageType = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> id = intValue(p);
+                case "dronetype" -> dronetype = textValue(p);		// Keep raw URL for dronetype
+                case "created" -> created = textValue(p);			// Keep raw created timestamp
+                case "serialnumber" -> serialnumber = textValue(p);
+                case "carriage_weight" -> carriageWeight = intValue(p);
+                case "carriage_type" -> carriageType = textValue(p);
+                default -> p.skipChildren();
+            }
+        }
+
+        return new Drone(
+                require(id, "id"),
+                require(dronetype, "dronetype"),
+                require(created, "created"),
+                require(serialnumber, "serialnumber"),
+                require(carriageWeight, "carriage_weight"),
+                require(carriageType, "carriage_type"));
+    }
+
+    /**
+     * Decodes a drone type; "max_carriage" is optional.
+     * @param p		The parser, positioned on the START_OBJECT.
+     * @return the drone type.
+     */
+    public static DroneType droneType(JsonParser p) throws IOException {
+        Integer id = null, weight = null, maxSpeed = null, batteryCapacity = null, controlRange = null, maxCarriage = null;
+        String manufacturer = null, typename = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "id" -> id = intValue(p);
+                case "manufacturer" -> manufacturer = textValue(p);
+                case "typename" -> typename = textValue(p);
+                case "weight" -> weight = intValue(p);
+                case "max_speed" -> maxSpeed = intValue(p);
+                case "battery_capacity" -> batteryCapacity = intValue(p);
+                case "control_range" -> controlRange = intValue(p);
+                case "max_carriage" -> maxCarriage = intValue(p);
+                default -> p.skipChildren();
+            }
+        }
+
+        return new DroneType(
+                require(id, "id"),
+                require(manufacturer, "manufacturer"),
+                require(typename, "typename"),
+                require(weight, "weight"),
+                require(maxSpeed, "max_speed"),
+                require(batteryCapacity, "battery_capacity"),
+                require(controlRange, "control_range"),
+                maxCarriage);
+    }
+
+    /**
+     * Decodes a drone dynamics record; longitude and latitude are kept as micro-degrees.
+     * @param p		The parser, positioned on the START_OBJECT.
+     * @return the drone dynamics.
+     */
+    public static DroneDynamics droneDynamics(JsonParser p) throws IOException {
+        Integer speed = null, batteryStatus = null, longitude = null, latitude = null;
+        String drone = null, timestamp = null, alignRoll = null, alignPitch = null, alignYaw = null;
+        String lastSeen = null, status = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "drone" -> drone = textValue(p);
+                case "timestamp" -> timestamp = textValue(p);
+                case "speed" -> speed = intValue(p);
+                case "align_roll" -> alignRoll = textValue(p);
+                case "align_pitch" -> alignPitch = textValue(p);
+                case "align_yaw" -> alignYaw = textValue(p);
+                case "longitude" -> longitude = coordinateValue(p);
+                case "latitude" -> latitude = coordinateValue(p);
+                case "battery_status" -> batteryStatus = intValue(p);
+                case "last_seen" -> lastSeen = textValue(p);
+                case "status" -> status = textValue(p);
+                default -> p.skipChildren();
+            }
+        }
+
+        return new DroneDynamics(
+                require(drone, "drone"),
+                require(timestamp, "timestamp"),
+                require(speed, "speed"),
+                require(alignRoll, "align_roll"),
+                require(alignPitch, "align_pitch"),
+                require(alignYaw, "align_yaw"),
+                require(longitude, "longitude"),
+                require(latitude, "latitude"),
+                require(batteryStatus, "battery_status"),
+                require(lastSeen, "last_seen"),
+                require(status, "status"));
+    }
+
+    /**
+     * Reads the current value as an int, or null for JSON null and non-scalar values.
+     * Like org.json, numbers are truncated and numeric strings parsed; booleans and other text are rejected.
+     */
+    private static Integer intValue(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            p.skipChildren();
+            return null;
+        }
+        if (token.isNumeric()) {
+            return p.getValueAsInt();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return new BigDecimal(p.getText().trim()).intValue();
+            } catch (NumberFormatException ex) {
+                // Rethrown below with the field's text
+            }
+        }
+        throw new NumberFormatException("Not a number: \"" + p.getText() + "\"");
+    }
+
+    /**
+     * Reads the current value as micro-degrees straight from the parser's buffer, or null for JSON null and non-scalar values.
+     */
+    private static Integer coordinateValue(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            p.skipChildren();
+            return null;
+        }
+        int value = MicroDegrees.parse(CharBuffer.wrap(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()));
+        if (value == MicroDegrees.NONE) {
+            throw new NumberFormatException("Invalid coordinate \"" + p.getText() + "\"");
+        }
+        return value;
+    }
+
+    /**
+     * Reads the current value as text, or null for JSON null and non-scalar values.
+     */
+    private static String textValue(JsonParser p) throws IOException {
+        if (p.currentToken().isStructStart()) {
+            p.skipChildren();
+            return null;
+        }
+        return p.getValueAsString();
+    }
+
+    /**
+     * Fails for a missing required field; called after the whole object has been read.
+     */
+    private static <V> V require(V value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field \"" + field + "\"");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,121 @@
+package droneApi.Decoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+import droneApi.Service.Page;
+
+/**
+ * Decodes upstream responses straight from the response stream, without materializing the body as a String or DOM.
+ */
+public final class PageDecoder {
+
+    // Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(PageDecoder.class);
+
+    // Thread-safe and reusable; parsers created from it recycle their buffers
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private PageDecoder() {
+    }
+
+    /**
+     * Decodes a list response ({"count": .., "next": .., "results": [..]}).
+     * Rows with missing required fields are logged and skipped; the page keeps their indexes, so the upstream
+     * offset of every result can still be told.
+     * @param in		The response body.
+     * @param decoder	Builds an entity from one element of "results".
+     * @return the decoded page.
+     * @throws IOException if the body is not valid JSON or the stream fails.
+     */
+    public static <T> Page<T> decodePage(InputStream in, EntityDecoder<T> decoder) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(in)) {
+            expect(p, p.nextToken(), JsonToken.START_OBJECT);
+
+            int count = -1;
+            String next = null;
+            List<T> results = new ArrayList<>();
+            int[] skippedRows = Page.NO_ROWS;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                switch (field) {
+                    case "count" -> count = value == JsonToken.VALUE_NULL ? -1 : p.getValueAsInt(-1);
+                    case "next" -> next = value == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+                    case "results" -> skippedRows = decodeResults(p, decoder, results);
+                    default -> p.skipChildren();
+                }
+            }
+            return new Page<>(count, next, results, skippedRows);
+        }
+    }
+
+    /**
+     * Decodes a single-entity response.
+     * @param in		The response body.
+     * @param decoder	Builds the entity.
+     * @return the entity.
+     * @throws IOException if the body is not valid JSON or the stream fails.
+     */
+    public static <T> T decodeEntity(InputStream in, EntityDecoder<T> decoder) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(in)) {
+            expect(p, p.nextToken(), JsonToken.START_OBJECT);
+            return decoder.decode(p);
+        }
+    }
+
+    /**
+     * Decodes the elements of "results"; the parser is positioned on its START_ARRAY.
+     * @return the indexes of the rows that were skipped, in ascending order.
+     */
+    private static <T> int[] decodeResults(JsonParser p, EntityDecoder<T> decoder, List<T> results) throws IOException {
+        expect(p, p.currentToken(), JsonToken.START_ARRAY);
+
+        int[] skipped = Page.NO_ROWS;
+        int skippedCount = 0;
+        int index = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                logger.error("Skipping row {}: not an object.", index);
+                p.skipChildren();
+                skipped = Arrays.copyOf(skipped, skippedCount + 1);
+                skipped[skippedCount++] = index++;
+                continue;
+            }
+            JsonStreamContext row = p.getParsingContext();
+            try {
+                results.add(decoder.decode(p));
+            } catch (IllegalArgumentException ex) {
+                logger.error("Error processing row {}: {}", index, ex.getMessage());
+                // A value may be rejected mid-object; read past the rest of the row so the next one can be decoded
+                while (p.getParsingContext() != row.getParent()) {
+                    p.nextToken();
+                }
+                skipped = Arrays.copyOf(skipped, skippedCount + 1);
+                skipped[skippedCount++] = index;
+            }
+            index++;
+        }
+        return skipped;
+    }
+
+    private static void expect(JsonParser p, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(p, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
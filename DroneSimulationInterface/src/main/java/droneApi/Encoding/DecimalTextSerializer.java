@@ -0,0 +1,32 @@
+package droneApi.Encoding;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+/**
+ * Writes a property that holds a decimal number as text (e.g. an attitude "-7.00") as that text,
+ * or as a number in CBOR; text that is not a number stays text.
+ */
+public class DecimalTextSerializer extends StdSerializer<String> {
+
+    public DecimalTextSerializer() {
+        super(String.class);
+    }
+
+    @Override
+    public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (gen instanceof CBORGenerator) {
+            try {
+                gen.writeNumber(Double.parseDouble(value));
+                return;
+            } catch (NumberFormatException ex) {
+                // Not a number, keep the text
+            }
+        }
+        gen.writeString(value);
+    }
+}
@@ -2,6 +2,10 @@ package droneApi.Entities;
 
 import java.util.Date;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import droneApi.Time.Timestamps;
+
 /**
  * Abstract class representing common properties of drone entities.
  */
@@ -10,6 +14,7 @@ public abstract class AbstractDroneEntity {
     protected int id;          // Unique identifier
     protected String serialNumber;  // Drone serial number
     protected String createdRaw;    // Raw timestamp of creation as a String
+    private long createdMicros = Long.MAX_VALUE;	// createdRaw in epoch microseconds, converted on first use
 
     // Constructor for common attributes
     public AbstractDroneEntity(int id, String serialNumber, String createdRaw) {
@@ -29,5 +34,16 @@ public abstract class AbstractDroneEntity {
     public void setSerialNumber(String serialNumber) { this.serialNumber = serialNumber; }
 
     public String getCreatedRaw() { return createdRaw; }
-    public void setCreatedRaw(String createdRaw) { this.createdRaw = createdRaw; }
+    public void setCreatedRaw(String createdRaw) { this.createdRaw = createdRaw; this.createdMicros = Long.MAX_VALUE; }
+
+    /**
+     * @return the creation time in epoch microseconds, or Timestamps.NO_TIME if it is missing or invalid.
+     */
+    @JsonIgnore
+    public long getCreatedMicros() {
+        if (createdMicros == Long.MAX_VALUE) {
+            createdMicros = Timestamps.parseMicros(createdRaw);
+        }
+        return createdMicros;
+    }
 }
@@ -1,6 +1,14 @@
 package droneApi.Entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import droneApi.Encoding.DecimalTextSerializer;
+import droneApi.Geo.MicroDegrees;
+
+import droneApi.Time.Timestamps;
 
 /**
  * Entity class representing dynamic data of a Drone.
@@ -12,6 +20,7 @@ public class DroneDynamics {
 	  	private String drone;
 	  	
 		@JsonProperty("timestamp")
+		@JsonSerialize(using = Timestamps.Serializer.class)
 	  	// Timestamp indicating the recorded time of the dynamic data
 	    private String timestamp;
 	    
@@ -20,30 +29,38 @@ public class DroneDynamics {
 	    private int speed;
 	    
 		@JsonProperty("align_roll")
+		@JsonSerialize(using = DecimalTextSerializer.class)
 	    // Drone's alignment on the roll axis
 	    private String alignRoll;
 	    
 		@JsonProperty("align_pitch")
+		@JsonSerialize(using = DecimalTextSerializer.class)
 	    // Drone's alignment on the pitch axis
 	    private String alignPitch;
 	    
 		@JsonProperty("align_yaw")
+		@JsonSerialize(using = DecimalTextSerializer.class)
 	    // Drone's alignment on the yaw axis
 	    private String alignYaw;
 	    
 		@JsonProperty("longitude")
-	    // Longitude of the drone's position
-	    private String longitude;
+		@JsonSerialize(using = MicroDegrees.Serializer.class)
+		@JsonDeserialize(using = MicroDegrees.Deserializer.class)
+	    // Longitude of the drone's position in micro-degrees, rendered as "8.050000"
+	    private int longitude = MicroDegrees.NONE;
 		
 		@JsonProperty("latitude")
-	    // Latitude of the drone's position
-	    private String latitude;
+		@JsonSerialize(using = MicroDegrees.Serializer.class)
+		@JsonDeserialize(using = MicroDegrees.Deserializer.class)
+	    // Latitude of the drone's position in micro-degrees, rendered as "51.050000"
+	    private int latitude = MicroDegrees.NONE;
 	    
 		@JsonProperty("battery_status")
 	    // Current battery status of the drone in percentage
 	    private int batteryStatus;
 	    
 		@JsonProperty("last_seen")
+		@JsonSerialize(using = Timestamps.Serializer.class)
 	    // Last recorded time the drone was active
 	    private String lastSeen;
 	    
@@ -51,6 +68,11 @@ public class DroneDynamics {
 	    // Current operational status of the drone
 	    private String status;
 	    
+	    // Epoch microseconds of timestamp and last_seen, converted once (UNSET until first use)
+	    private static final long UNSET = Long.MAX_VALUE;
+	    private long timestampMicros = UNSET;
+	    private long lastSeenMicros = UNSET;
+	    
 		public DroneDynamics() {
 			    // Default constructor required for deserialization
 		}
@@ -64,14 +86,14 @@ public class DroneDynamics {
 	     * @param alignRoll     Alignment of the drone on the roll axis
 	     * @param alignPitch    Alignment of the drone on the pitch axis
 	     * @param alignYaw      Alignment of the drone on the yaw axis
-	     * @param longitude     Longitude of the drone's position
-	     * @param latitude      Latitude of the drone's position
+	     * @param longitude     Longitude of the drone's position in micro-degrees
+	     * @param latitude      Latitude of the drone's position in micro-degrees
 	     * @param batteryStatus Current battery level of the drone
 	     * @param lastSeen      Last recorded active time of the drone
 	     * @param status        Operational status of the drone
 	     */
 	    public DroneDynamics(String drone, String timestamp, int speed, String alignRoll, String alignPitch,
-	                         String alignYaw, String longitude, String latitude, int batteryStatus, String lastSeen,
+	                         String alignYaw, int longitude, int latitude, int batteryStatus, String lastSeen,
 	                         String status) {
 	        this.drone = drone;
 	        this.timestamp = timestamp;
@@ -91,7 +113,7 @@ public class DroneDynamics {
 	    public void setDrone(String drone) { this.drone = drone; }
 
 	    public String getTimestamp() { return timestamp; }
-	    public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+	    public void setTimestamp(String timestamp) { this.timestamp = timestamp; this.timestampMicros = UNSET; }
 
 	    public int getSpeed() { return speed; }
 	    public void setSpeed(int speed) { this.speed = speed; }
@@ -105,18 +127,40 @@ public class DroneDynamics {
 	    public String getAlignYaw() { return alignYaw; }
 	    public void setAlignYaw(String alignYaw) { this.alignYaw = alignYaw; }
 
-	    public String getLongitude() { return longitude; }
-	    public void setLongitude(String longitude) { this.longitude = longitude; }
+	    public int getLongitude() { return longitude; }
+	    public void setLongitude(int longitude) { this.longitude = longitude; }
 
-	    public String getLatitude() { return latitude; }
-	    public void setLatitude(String latitude) { this.latitude = latitude; }
+	    public int getLatitude() { return latitude; }
+	    public void setLatitude(int latitude) { this.latitude = latitude; }
 
 	    public int getBatteryStatus() { return batteryStatus; }
 	    public void setBatteryStatus(int batteryStatus) { this.batteryStatus = batteryStatus; }
 
 	    public String getLastSeen() { return lastSeen; }
-	    public void setLastSeen(String lastSeen) { this.lastSeen = lastSeen; }
+	    public void setLastSeen(String lastSeen) { this.lastSeen = lastSeen; this.lastSeenMicros = UNSET; }
 
 	    public String getStatus() { return status; }
 	    public void setStatus(String status) { this.status = status; }
+
+	    /**
+	     * @return the timestamp in epoch microseconds, or Timestamps.NO_TIME if it is missing or invalid.
+	     */
+	    @JsonIgnore
+	    public long getTimestampMicros() {
+	        if (timestampMicros == UNSET) {
+	            timestampMicros = Timestamps.parseMicros(timestamp);
+	        }
+	        return timestampMicros;
+	    }
+
+	    /**
+	     * @return the last seen time in epoch microseconds, or Timestamps.NO_TIME if it is missing or invalid.
+	     */
+	    @JsonIgnore
+	    public long getLastSeenMicros() {
+	        if (lastSeenMicros == UNSET) {
+	            lastSeenMicros = Timestamps.parseMicros(lastSeen);
+	        }
+	        return lastSeenMicros;
+	    }
 }
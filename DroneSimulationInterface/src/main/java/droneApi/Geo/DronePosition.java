@@ -0,0 +1,76 @@
+package droneApi.Geo;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import droneApi.Entities.DroneDynamics;
+import droneApi.Service.ResourceUrls;
+import droneApi.Time.Timestamps;
+
+/**
+ * Latest known position of a drone, taken from its most recent dynamics record.
+ * Coordinates are micro-degrees and rendered like the dynamics ("51.050000").
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DronePosition {
+
+    private final int droneId;
+    private final int latitude;				// Micro-degrees
+    private final int longitude;			// Micro-degrees
+    private final long timestampMicros;		// Epoch microseconds of the record
+    private final String timestamp;			// Timestamp as written by the upstream
+    private final Double distanceKm;		// Distance to the query point of a nearby search, null otherwise
+
+    /**
+     * Constructor to initialize all fields.
+     * @param droneId			The drone ID.
+     * @param latitude			Latitude in micro-degrees.
+     * @param longitude			Longitude in micro-degrees.
+     * @param timestampMicros	Epoch microseconds of the record.
+     * @param timestamp			Timestamp of the record as written by the upstream.
+     * @param distanceKm		Distance to the query point, or null.
+     */
+    public DronePosition(int droneId, int latitude, int longitude, long timestampMicros, String timestamp, Double distanceKm) {
+        this.droneId = droneId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.timestampMicros = timestampMicros;
+        this.timestamp = timestamp;
+        this.distanceKm = distanceKm;
+    }
+
+    /**
+     * Takes the position of a dynamics record.
+     * @param record		The dynamics record.
+     * @return the position, or null if the record has no coordinates.
+     */
+    public static DronePosition of(DroneDynamics record) {
+        if (record.getLatitude() == MicroDegrees.NONE || record.getLongitude() == MicroDegrees.NONE) {
+            return null;
+        }
+        return new DronePosition(ResourceUrls.idOf(record.getDrone()), record.getLatitude(), record.getLongitude(),
+                record.getTimestampMicros(), record.getTimestamp(), null);
+    }
+
+    /**
+     * Copies this position with the distance to a query point.
+     * @param km		The distance in km.
+     * @return the copy.
+     */
+    public DronePosition withDistance(double km) {
+        return new DronePosition(droneId, latitude, longitude, timestampMicros, timestamp, km);
+    }
+
+    // Getters
+    public int getDroneId() { return droneId; }
+    @JsonSerialize(using = MicroDegrees.Serializer.class)
+    public int getLatitude() { return latitude; }
+    @JsonSerialize(using = MicroDegrees.Serializer.class)
+    public int getLongitude() { return longitude; }
+    @JsonIgnore
+    public long getTimestampMicros() { return timestampMicros; }
+    @JsonSerialize(using = Timestamps.Serializer.class)
+    public String getTimestamp() { return timestamp; }
+    public Double getDistanceKm() { return distanceKm; }
+}
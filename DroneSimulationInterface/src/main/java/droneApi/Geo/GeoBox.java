@@ -0,0 +1,98 @@
+package droneApi.Geo;
+
+/**
+ * Latitude/longitude rectangle in micro-degrees, bounds inclusive.
+ * A box whose west bound is east of its east bound crosses the antimeridian.
+ */
+public final class GeoBox {
+
+    private final int south;
+    private final int west;
+    private final int north;
+    private final int east;
+
+    /**
+     * Constructor to initialize the bounds.
+     * @param south		Minimum latitude in micro-degrees.
+     * @param west		Minimum longitude in micro-degrees.
+     * @param north		Maximum latitude in micro-degrees.
+     * @param east		Maximum longitude in micro-degrees.
+     */
+    public GeoBox(int south, int west, int north, int east) {
+        if (south > north) {
+            throw new IllegalArgumentException("South bound " + south + " is north of " + north);
+        }
+        this.south = south;
+        this.west = west;
+        this.north = north;
+        this.east = east;
+    }
+
+    /**
+     * Parses a "minLon,minLat,maxLon,maxLat" bounding box in degrees (the GeoJSON order).
+     * @param bbox		The bounding box.
+     * @return the box.
+     * @throws IllegalArgumentException if the text is not four coordinates in range.
+     */
+    public static GeoBox parse(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Expected minLon,minLat,maxLon,maxLat but got \"" + bbox + "\"");
+        }
+        int west = longitude(parts[0]);
+        int south = latitude(parts[1]);
+        int east = longitude(parts[2]);
+        int north = latitude(parts[3]);
+        return new GeoBox(south, west, north, east);
+    }
+
+    /**
+     * Tells whether a position lies in the box.
+     * @param latitude		Latitude in micro-degrees.
+     * @param longitude		Longitude in micro-degrees.
+     * @return true if inside or on the border.
+     */
+    public boolean contains(int latitude, int longitude) {
+        if (latitude < south || latitude > north) {
+            return false;
+        }
+        return crossesAntimeridian()
+                ? longitude >= west || longitude <= east
+                : longitude >= west && longitude <= east;
+    }
+
+    public boolean crossesAntimeridian() {
+        return west > east;
+    }
+
+    // Getters
+    public int getSouth() { return south; }
+    public int getWest() { return west; }
+    public int getNorth() { return north; }
+    public int getEast() { return east; }
+
+    /**
+     * Parses a latitude in degrees, failing outside [-90, 90].
+     * @param degrees		The latitude.
+     * @return the latitude in micro-degrees.
+     */
+    public static int latitude(String degrees) {
+        return inRange(MicroDegrees.parse(degrees.trim()), 90, degrees);
+    }
+
+    /**
+     * Parses a longitude in degrees, failing outside [-180, 180].
+     * @param degrees		The longitude.
+     * @return the longitude in micro-degrees.
+     */
+    public static int longitude(String degrees) {
+        return inRange(MicroDegrees.parse(degrees.trim()), 180, degrees);
+    }
+
+    private static int inRange(int microDegrees, int maxDegrees, String text) {
+        if (microDegrees == MicroDegrees.NONE || Math.abs((long) microDegrees) > maxDegrees * 1_000_000L) {
+            throw new IllegalArgumentException("Coordinate out of range: \"" + text + "\"");
+        }
+        return microDegrees;
+    }
+}
@@ -0,0 +1,211 @@
+package droneApi.Geo;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+/**
+ * Coordinates as fixed-point micro-degrees (degrees * 10^6) in an int, the precision the Drone API works with.
+ * Values are parsed from and rendered to the API text ("8.050000", six decimal places) digit by digit;
+ * the text only exists while a response is written.
+ */
+public final class MicroDegrees {
+
+    /** Value of a missing or unparseable coordinate; rendered as JSON null. */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final int SCALE = 1_000_000;
+    private static final int MAX_CHARS = 12;	// "-2147.483647"
+
+    // Scratch buffer of the serializer; request threads render one value at a time
+    private static final ThreadLocal<char[]> scratch = ThreadLocal.withInitial(() -> new char[MAX_CHARS]);
+
+    private MicroDegrees() {
+    }
+
+    /**
+     * Parses a decimal coordinate, rounding half up to six decimal places like String.format("%.6f").
+     * @param text		The coordinate, e.g. "8.05" or "-51.0500001".
+     * @return the micro-degrees, or NONE if the text is null or not a number.
+     */
+    public static int parse(CharSequence text) {
+        if (text == null) {
+            return NONE;
+        }
+        int length = text.length();
+        int at = 0;
+        boolean negative = false;
+        if (at < length && (text.charAt(at) == '-' || text.charAt(at) == '+')) {
+            negative = text.charAt(at++) == '-';
+        }
+
+        long value = 0;
+        int integerDigits = 0;
+        for (; at < length && isDigit(text.charAt(at)); at++, integerDigits++) {
+            value = value * 10 + (text.charAt(at) - '0');
+            if (value > Integer.MAX_VALUE / SCALE) {
+                return parseFallback(text);
+            }
+        }
+        value *= SCALE;
+
+        int fractionDigits = 0;
+        if (at < length && text.charAt(at) == '.') {
+            int unit = SCALE / 10;
+            for (at++; at < length && isDigit(text.charAt(at)); at++, fractionDigits++) {
+                int digit = text.charAt(at) - '0';
+                if (fractionDigits < 6) {
+                    value += digit * unit;
+                    unit /= 10;
+                } else if (fractionDigits == 6 && digit >= 5) {
+                    value++;
+                }
+            }
+        }
+        if (at != length || integerDigits + fractionDigits == 0 || value > Integer.MAX_VALUE) {
+            return parseFallback(text);	// Exponent notation, NaN, out of range, garbage
+        }
+        return negative ? (int) -value : (int) value;
+    }
+
+    /**
+     * Converts degrees to micro-degrees.
+     * @param degrees		The coordinate in degrees.
+     * @return the micro-degrees, or NONE for NaN and values out of range.
+     */
+    public static int fromDegrees(double degrees) {
+        double scaled = Math.rint(degrees * SCALE);
+        if (Double.isNaN(scaled) || scaled <= NONE || scaled > Integer.MAX_VALUE) {
+            return NONE;
+        }
+        return (int) scaled;
+    }
+
+    /**
+     * Converts micro-degrees to degrees.
+     * @param microDegrees		The coordinate in micro-degrees.
+     * @return the degrees, or NaN for NONE.
+     */
+    public static double toDegrees(int microDegrees) {
+        return microDegrees == NONE ? Double.NaN : microDegrees / (double) SCALE;
+    }
+
+    /**
+     * Renders micro-degrees with six decimal places.
+     * @param microDegrees		The coordinate in micro-degrees.
+     * @return the text, or null for NONE.
+     */
+    public static String format(int microDegrees) {
+        if (microDegrees == NONE) {
+            return null;
+        }
+        char[] buffer = new char[MAX_CHARS];
+        int length = write(microDegrees, buffer);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Writes micro-degrees with six decimal places into a buffer of at least 12 chars.
+     * @param microDegrees		The coordinate in micro-degrees, not NONE.
+     * @param buffer			The target buffer.
+     * @return the number of chars written.
+     */
+    public static int write(int microDegrees, char[] buffer) {
+        int magnitude = Math.abs(microDegrees);
+        int integer = magnitude / SCALE;
+        int fraction = magnitude % SCALE;
+
+        // Digits are written backwards from the end of the number
+        int length = (microDegrees < 0 ? 1 : 0) + digitCount(integer) + 7;
+        int at = length;
+        for (int i = 0; i < 6; i++) {
+            buffer[--at] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        buffer[--at] = '.';
+        do {
+            buffer[--at] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer > 0);
+        if (microDegrees < 0) {
+            buffer[--at] = '-';
+        }
+        return length;
+    }
+
+    private static int digitCount(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int parseFallback(CharSequence text) {
+        try {
+            return fromDegrees(Double.parseDouble(text.toString()));
+        } catch (NumberFormatException ex) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Writes an int micro-degree property as the API text, e.g. "8.050000", or as a number in degrees in CBOR.
+     */
+    public static final class Serializer extends StdSerializer<Integer> {
+
+        public Serializer() {
+            super(Integer.class);
+        }
+
+        @Override
+        public void serialize(Integer value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (value == NONE) {
+                gen.writeNull();
+                return;
+            }
+            if (gen instanceof CBORGenerator) {
+                gen.writeNumber(toDegrees(value));
+                return;
+            }
+            char[] buffer = scratch.get();
+            gen.writeString(buffer, 0, write(value, buffer));
+        }
+    }
+
+    /**
+     * Reads an int micro-degree property from a JSON string or number.
+     */
+    public static final class Deserializer extends StdDeserializer<Integer> {
+
+        public Deserializer() {
+            super(Integer.class);
+        }
+
+        @Override
+        public Integer deserialize(JsonParser p, DeserializationContext context) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_STRING || token.isNumeric()) {
+                return parse(p.getText());
+            }
+            return (Integer) context.handleUnexpectedToken(Integer.class, p);
+        }
+
+        @Override
+        public Integer getNullValue(DeserializationContext context) {
+            return NONE;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package droneApi.Geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import droneApi.Entities.DroneDynamics;
+
+/**
+ * Spatial index of the latest position per drone.
+ * Positions are kept sorted by latitude row (0.01 degrees, about 1.1 km) and then by longitude, so the drones of
+ * one row inside a longitude range are contiguous: a query does one binary search per row its box covers and
+ * then only touches drones inside the box. The cost depends on the area searched and the drones found, not on the fleet size.
+ * <p>
+ * There is a single writer. Every update merges the moved drones into new sorted arrays and publishes them
+ * as one immutable {@link Layout}, so queries never lock and always see a consistent set of positions.
+ */
+public final class PositionGrid {
+
+    static final int ROW_MICRO_DEGREES = 10_000;	// 0.01 degrees of latitude
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    // Writer side: the position every drone is indexed with
+    private final Map<Integer, DronePosition> known = new HashMap<>();
+
+    private volatile Layout layout = Layout.EMPTY;
+
+    /**
+     * Moves drones to the position of their newest record; records older than the known position are ignored.
+     * @param records		Dynamics records, in any order.
+     */
+    public synchronized void update(Collection<DroneDynamics> records) {
+        Map<Integer, DronePosition> moved = new HashMap<>();
+        for (DroneDynamics record : records) {
+            DronePosition position = DronePosition.of(record);
+            if (position != null) {
+                moved.merge(position.getDroneId(), position, PositionGrid::later);
+            }
+        }
+        moved.values().removeIf(position -> {
+            DronePosition current = known.get(position.getDroneId());
+            return current != null && later(current, position) == current;
+        });
+        if (moved.isEmpty()) {
+            return;
+        }
+        known.putAll(moved);
+
+        DronePosition[] added = moved.values().toArray(new DronePosition[0]);
+        Arrays.sort(added, Comparator.comparingLong(PositionGrid::keyOf));
+        layout = layout.merge(added, moved);
+    }
+
+    /**
+     * Returns the number of drones with a known position.
+     * @return the drone count.
+     */
+    public int size() {
+        return layout.positions.length;
+    }
+
+    /**
+     * Returns the drones inside a box, ordered by drone ID.
+     * @param box		The box.
+     * @param limit		Maximum number of drones to return.
+     * @return the positions.
+     */
+    public List<DronePosition> within(GeoBox box, int limit) {
+        List<DronePosition> found = new ArrayList<>();
+        visit(layout, box, found::add);
+        found.sort(Comparator.comparingInt(DronePosition::getDroneId));
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Returns the drones within a great-circle distance of a point, nearest first.
+     * @param latitude		Latitude of the point in micro-degrees.
+     * @param longitude		Longitude of the point in micro-degrees.
+     * @param radiusKm		The distance in km.
+     * @param limit			Maximum number of drones to return.
+     * @return the positions with their distance.
+     */
+    public List<DronePosition> nearby(int latitude, int longitude, double radiusKm, int limit) {
+        List<DronePosition> found = new ArrayList<>();
+        double lat = MicroDegrees.toDegrees(latitude);
+        double lon = MicroDegrees.toDegrees(longitude);
+        visit(layout, boundingBox(lat, lon, radiusKm), position -> {
+            double km = distanceKm(lat, lon, MicroDegrees.toDegrees(position.getLatitude()), MicroDegrees.toDegrees(position.getLongitude()));
+            if (km <= radiusKm) {
+                found.add(position.withDistance(km));
+            }
+        });
+        found.sort(Comparator.comparingDouble(DronePosition::getDistanceKm).thenComparingInt(DronePosition::getDroneId));
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Great-circle distance (haversine) between two points in degrees.
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Box around a circle; spans all longitudes if the circle reaches a pole.
+     */
+    static GeoBox boundingBox(double lat, double lon, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double south = Math.max(-90, lat - dLat);
+        double north = Math.min(90, lat + dLat);
+        double widest = Math.cos(Math.toRadians(Math.max(Math.abs(south), Math.abs(north))));
+        double dLon = widest <= 0 ? 360 : dLat / widest;
+        if (dLon >= 180 || north >= 90 || south <= -90) {
+            return new GeoBox(MicroDegrees.fromDegrees(south), -180_000_000, MicroDegrees.fromDegrees(north), 180_000_000);
+        }
+        return new GeoBox(MicroDegrees.fromDegrees(south), MicroDegrees.fromDegrees(wrap(lon - dLon)),
+                MicroDegrees.fromDegrees(north), MicroDegrees.fromDegrees(wrap(lon + dLon)));
+    }
+
+    /**
+     * Calls the visitor with every position inside the box.
+     */
+    private static void visit(Layout layout, GeoBox box, Consumer<DronePosition> visitor) {
+        if (box.crossesAntimeridian()) {
+            layout.visit(box.getSouth(), box.getWest(), box.getNorth(), 180_000_000, visitor);
+            layout.visit(box.getSouth(), -180_000_000, box.getNorth(), box.getEast(), visitor);
+        } else {
+            layout.visit(box.getSouth(), box.getWest(), box.getNorth(), box.getEast(), visitor);
+        }
+    }
+
+    /**
+     * The newer of two positions; a later record wins a tie.
+     */
+    private static DronePosition later(DronePosition earlier, DronePosition next) {
+        return next.getTimestampMicros() >= earlier.getTimestampMicros() ? next : earlier;
+    }
+
+    private static long keyOf(DronePosition position) {
+        return key(rowOf(position.getLatitude()), position.getLongitude());
+    }
+
+    private static int rowOf(int latitude) {
+        return Math.floorDiv(latitude, ROW_MICRO_DEGREES);
+    }
+
+    /**
+     * Sort key ordering by row, then by longitude; the sign bit of the longitude is flipped so it orders unsigned.
+     */
+    private static long key(int row, int longitude) {
+        return ((long) row << 32) | ((longitude ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    private static double wrap(double lon) {
+        return lon > 180 ? lon - 360 : lon < -180 ? lon + 360 : lon;
+    }
+
+    /**
+     * Immutable snapshot of all positions, sorted by key.
+     */
+    private static final class Layout {
+        static final Layout EMPTY = new Layout(new long[0], new int[0], new DronePosition[0]);
+
+        final long[] keys;
+        final int[] latitudes;
+        final DronePosition[] positions;
+
+        Layout(long[] keys, int[] latitudes, DronePosition[] positions) {
+            this.keys = keys;
+            this.latitudes = latitudes;
+            this.positions = positions;
+        }
+
+        /**
+         * Drops the old entries of the moved drones and merges in their new, sorted positions.
+         */
+        Layout merge(DronePosition[] added, Map<Integer, DronePosition> moved) {
+            int capacity = positions.length + added.length;
+            long[] mergedKeys = new long[capacity];
+            int[] mergedLatitudes = new int[capacity];
+            DronePosition[] mergedPositions = new DronePosition[capacity];
+
+            int size = 0, i = 0, j = 0;
+            while (i < positions.length || j < added.length) {
+                if (i < positions.length && moved.containsKey(positions[i].getDroneId())) {
+                    i++;	// Superseded
+                    continue;
+                }
+                DronePosition next;
+                if (j >= added.length || (i < positions.length && keys[i] <= keyOf(added[j]))) {
+                    next = positions[i++];
+                } else {
+                    next = added[j++];
+                }
+                mergedKeys[size] = keyOf(next);
+                mergedLatitudes[size] = next.getLatitude();
+                mergedPositions[size] = next;
+                size++;
+            }
+            return new Layout(Arrays.copyOf(mergedKeys, size), Arrays.copyOf(mergedLatitudes, size), Arrays.copyOf(mergedPositions, size));
+        }
+
+        void visit(int south, int west, int north, int east, Consumer<DronePosition> visitor) {
+            for (int row = rowOf(south), last = rowOf(north); row <= last; row++) {
+                int end = upperBound(key(row, east));
+                for (int k = lowerBound(key(row, west)); k < end; k++) {
+                    if (latitudes[k] >= south && latitudes[k] <= north) {
+                        visitor.accept(positions[k]);
+                    }
+                }
+            }
+        }
+
+        private int lowerBound(long key) {
+            int low = 0, high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int upperBound(long key) {
+            int low = 0, high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package droneApi.Geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import droneApi.Cache.CountKeyedValue;
+import droneApi.Config.ConfigProvider;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Service.DroneApiService;
+import droneApi.Store.FleetStoreListener;
+
+/**
+ * Latest position of every drone in a {@link PositionGrid}, updated from the ingest hook of the fleet replica.
+ * While the replica cannot serve, a second grid is built by streaming the upstream dynamics once.
+ * It is rebuilt when the upstream reports new records, checked at most once per replica dynamics interval,
+ * so queries answer from the last grid instead of asking the upstream every time.
+ */
+@Component
+public class PositionIndex implements FleetStoreListener {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(PositionIndex.class);
+
+    // Records handed to the upstream grid per update
+    private static final int UPSTREAM_BATCH_SIZE = 10_000;
+
+    private final DroneApiService droneApiService;
+    private final PositionGrid replicaGrid = new PositionGrid();
+
+    private final CountKeyedValue<PositionGrid> upstreamGrid;
+
+    /**
+     * Constructor that initializes the index using dependency injection.
+     * @param droneApiService	The upstream, used while the replica cannot serve.
+     */
+    @Autowired
+    public PositionIndex(DroneApiService droneApiService) {
+        this.droneApiService = droneApiService;
+        this.upstreamGrid = new CountKeyedValue<>(droneApiService::countDroneDynamics,
+                () -> TimeUnit.SECONDS.toMillis(ConfigProvider.getInstance().current().getReplica().getDynamicsIntervalSeconds()),
+                this::indexUpstream);
+    }
+
+    @Override
+    public void onDynamicsAppended(List<DroneDynamics> added) {
+        long start = System.nanoTime();
+        replicaGrid.update(added);
+        logger.debug("Indexed positions of {} records in {} us; {} drones located.", added.size(),
+                (System.nanoTime() - start) / 1_000, replicaGrid.size());
+    }
+
+    /**
+     * Returns the grid maintained from the replica.
+     * @return the grid.
+     */
+    public PositionGrid fromReplica() {
+        return replicaGrid;
+    }
+
+    /**
+     * Returns a grid of the upstream dynamics, rebuilt only if the upstream has new records; the upstream
+     * is asked at most once per replica dynamics interval.
+     * @return the grid.
+     */
+    public PositionGrid fromUpstream() {
+        return upstreamGrid.get();
+    }
+
+    private PositionGrid indexUpstream() {
+        long start = System.nanoTime();
+        PositionGrid grid = new PositionGrid();
+        List<DroneDynamics> batch = new ArrayList<>(UPSTREAM_BATCH_SIZE);
+        try (Stream<DroneDynamics> dynamics = droneApiService.streamDroneDynamics(0)) {
+            dynamics.forEach(record -> {
+                batch.add(record);
+                if (batch.size() == UPSTREAM_BATCH_SIZE) {
+                    grid.update(batch);
+                    batch.clear();
+                }
+            });
+        }
+        grid.update(batch);
+        logger.debug("Indexed positions of {} drones from the upstream in {} ms.", grid.size(), (System.nanoTime() - start) / 1_000_000);
+        return grid;
+    }
+}
@@ -1,6 +1,8 @@
 package droneApi.Gui;
 
+import droneApi.Analytics.DroneMetrics;
 import droneApi.Entities.Drone;
+import droneApi.Time.DisplayDates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -9,10 +11,10 @@ import org.springframework.web.client.RestTemplate;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import com.opencsv.CSVWriter;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -24,10 +26,6 @@ public class DroneDashboard extends JFrame {
 	private static final Logger logger = LoggerFactory.getLogger(Drone.class);	// Logger defined here at the class level
 																				// logs message for entire class
 
-	// DateTimeFormatter for formatting timestamps
-	private static final DateTimeFormatter inputFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-	private static final DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern("MMM. dd, yyyy, h:mm a");
-
 
 	 private JTable dynamicsTable;
 	 private DefaultTableModel tableModel;
@@ -157,12 +155,14 @@ public class DroneDashboard extends JFrame {
 	        try {
 	        	
 	            List<Drone> drones = fetchDronesFromApi(10, 0);
+	            Map<Integer, DroneMetrics> metrics = fetchMetricsFromApi();
 
 	            // Clear existing rows in the table before populating new data
 	            tableModel.setRowCount(0);
 
 	            // Add fetched drones to the table model
-	            for (Drone drone : drones) {	                
+	            for (Drone drone : drones) {
+	            	DroneMetrics droneMetrics = metrics.get(drone.getId());
 	                Object[] row = {
 	                        drone.getId(),
 	                        formatDroneType(drone.getDronetypeRaw()),
@@ -170,10 +170,11 @@ public class DroneDashboard extends JFrame {
 	                        drone.getSerialNumber(),
 	                        drone.getCarriageWeight() + " g",
 	                        drone.getCarriageType(),
-	                        "20 km/h",  // Hardcoded values
-	                        "200 km",   // Hardcoded values
-	                        "40 mAh/km", // Hardcoded values
-	                        "70%"      // Hardcoded values
+	                        droneMetrics == null ? "n/a" : String.format("%.1f km/h", droneMetrics.getAverageSpeed()),
+	                        droneMetrics == null ? "n/a" : String.format("%.1f km", droneMetrics.getTotalDistanceKm()),
+	                        droneMetrics == null ? "n/a" : String.format("%.2f /km", droneMetrics.getBatteryConsumptionPerKm()),
+	                        droneMetrics == null || droneMetrics.getPayloadUtilization() == null ? "n/a"
+	                        		: String.format("%.0f%%", droneMetrics.getPayloadUtilization())
 	                };
 	                tableModel.addRow(row);
 	            }
@@ -190,13 +191,12 @@ public class DroneDashboard extends JFrame {
 	     * @return A formatted date string.
 	     */
 	    private String formatDate(String rawTimestamp) {
-	    	try {
-	    		OffsetDateTime dateTime = OffsetDateTime.parse(rawTimestamp, inputFormatter);
-	    		return dateTime.format(outputFormatter);
-	    	} catch (Exception ex) {
-	    		logger.error("Failed to format date: {}", ex.getMessage());
+	    	String formatted = DisplayDates.format(rawTimestamp);
+	    	if (formatted == null) {
+	    		logger.error("Failed to format date: {}", rawTimestamp);
 	    		return "Invalid Date";
 	    	}
+	    	return formatted;
 	    }
 	    
 	    /**
@@ -252,6 +252,27 @@ public class DroneDashboard extends JFrame {
 	        return drones;
 	    }
 	    
+	    /**
+	     * Fetch the derived metrics of all drones from the DroneController API.
+	     * @return Metrics keyed by drone ID, empty if they could not be fetched.
+	     */
+	    private Map<Integer, DroneMetrics> fetchMetricsFromApi() {
+	    	Map<Integer, DroneMetrics> metrics = new HashMap<>();
+	    	try {
+	    		RestTemplate restTemplate = new RestTemplate();
+	    		ResponseEntity<DroneMetrics[]> response = restTemplate.getForEntity("http://localhost:8080/api/drones/metrics", DroneMetrics[].class);
+	    		if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+	    			for (DroneMetrics droneMetrics : response.getBody()) {
+	    				metrics.put(droneMetrics.getDroneId(), droneMetrics);
+	    			}
+	    		}
+	    	} catch (Exception ex) {
+	    		// The table still shows the drones, just without metrics
+	    		logger.error("Failed to fetch drone metrics: {}", ex.getMessage());
+	    	}
+	    	return metrics;
+	    }
+	    
 	    /**
 	     * Fetch drones by id from the DroneController API.
 	     * @param droneId The unique ID of the drone to fetch details for.
@@ -320,9 +341,10 @@ public class DroneDashboard extends JFrame {
 
 	                    for (int j = 0; j < tableModel.getColumnCount(); j++) {
 	                        Object value = tableModel.getValueAt(i, j);
+	                        String date = value instanceof String ? DisplayDates.format(value.toString()) : null;	// Parsed once, null unless a raw date
 	                        
-	                        if (value instanceof String && isRawDate(value.toString())) {
-	                            row[j] = formatDate(value.toString());  // Format raw date strings
+	                        if (date != null) {
+	                            row[j] = date;  // Format raw date strings
 	                        } else if (value instanceof Number) {
 	                            row[j] = String.format("%.2f", ((Number) value).doubleValue());  // Format numbers
 	                        } else {
@@ -340,21 +362,6 @@ public class DroneDashboard extends JFrame {
 	            }
 	        }
 	    }
-	    
-	    /**
-	     * Helper method to check if a string is a raw date(ISO 8601)
-	     * @param value		The string value to check
-	     * @return True		if the string matches the ISO 8601 date format
-	     * @return False	otherwise.
-	     */
-	    private boolean isRawDate(String value) {
-	    	try {
-	    		OffsetDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
-	    		return true;
-	    	} catch (Exception ex) {
-	    		return false;
-	    	}
-	    }  
 	    	    
 
 	    public static void main(String[] args) {
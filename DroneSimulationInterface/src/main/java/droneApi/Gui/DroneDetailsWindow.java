@@ -1,8 +1,6 @@
 package droneApi.Gui;
 
 import java.awt.GridLayout;
-import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
 
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -11,16 +9,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import droneApi.Entities.Drone;
+import droneApi.Time.DisplayDates;
 
 class DroneDetailsWindow extends JFrame {
 	
 	private static final Logger logger = LoggerFactory.getLogger(Drone.class);	// Logger defined here at the class level
 																				// logs message for entire class
 
-	// DateTimeFormatter for formatting timestamps
-    private static final DateTimeFormatter inputFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-    private static final DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern("MMM. dd, yyyy, h:mm a");
-
     public DroneDetailsWindow(Drone drone) {
         setTitle("Drone Details");
         setSize(400, 300);
@@ -54,13 +49,12 @@ class DroneDetailsWindow extends JFrame {
      * @return A formatted date string.
      */
     private String formatDate(String rawTimestamp) {
-    	try {
-    		OffsetDateTime dateTime = OffsetDateTime.parse(rawTimestamp, inputFormatter);
-    		return dateTime.format(outputFormatter);
-    	} catch (Exception ex) {
-    		logger.error("Failed to format date: {}", ex.getMessage());
+    	String formatted = DisplayDates.format(rawTimestamp);
+    	if (formatted == null) {
+    		logger.error("Failed to format date: {}", rawTimestamp);
     		return "Invalid Date";
     	}
+    	return formatted;
     }
     
     /**
@@ -10,6 +10,8 @@ import java.util.ArrayList;
 import java.util.List;
 import com.opencsv.CSVWriter;
 
+import droneApi.Geo.MicroDegrees;
+import droneApi.Service.AsyncDroneApiService;
 import droneApi.Service.DroneApiService;
 
 import java.io.FileWriter;
@@ -23,9 +25,11 @@ public class DroneDynamics extends JFrame {
     private DefaultTableModel tableModel;
     
     private final DroneApiService droneApiService;	//Injected service to fetch data
+    private final AsyncDroneApiService asyncDroneService;	// Resolves the drones of all rows concurrently
     
     public DroneDynamics() {
     	this.droneApiService = new DroneApiService();	// Initialize service instance
+    	this.asyncDroneService = new AsyncDroneApiService(droneApiService);	// Shares the caches of droneApiService
     	
         setTitle("Drone Simulation - Drone Dynamics");
         setSize(800, 400);
@@ -93,6 +97,10 @@ public class DroneDynamics extends JFrame {
         	// Fetch a list of drone dynamics data from the API with pagination (limit = 10, offset = 0)
             List<droneApi.Entities.DroneDynamics> dynamics = droneApiService.fetchDroneDynamics(10, 0);
 
+            // Resolve the drone of every row concurrently; the row loop below is then served from the drone cache
+            List<String> droneUrls = dynamics.stream().map(droneApi.Entities.DroneDynamics::getDrone).toList();
+            asyncDroneService.fetchDronesByUrl(droneUrls, asyncDroneService.defaultDeadline()).join();
+
             // Clear any existing rows in the table before inserting new data
             tableModel.setRowCount(0);
 
@@ -110,8 +118,8 @@ public class DroneDynamics extends JFrame {
                     drone.getAlignRoll(),
                     drone.getAlignPitch(),
                     drone.getAlignYaw(),
-                    drone.getLongitude(),
-                    drone.getLatitude(),
+                    MicroDegrees.format(drone.getLongitude()),
+                    MicroDegrees.format(drone.getLatitude()),
                     drone.getBatteryStatus() + " mAh",  // Displaying battery in mAh
                     formattedLastSeen,	//Human-readable Last seen
                     drone.getStatus()
@@ -88,6 +88,9 @@ public class Drones extends JFrame {
             List<Drone> drones = droneApiService.fetchDrones(10, 0); // Fetch data from the service
             														// with a limit and offset
 
+            // Load all drone types once so the rows below resolve their type from the cache
+            droneApiService.warmDroneTypeCache();
+
             // Clear existing rows in the table model
             tableModel.setRowCount(0);
 
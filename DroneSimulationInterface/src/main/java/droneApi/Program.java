@@ -4,8 +4,15 @@ import droneApi.Gui.MainMenu;
 
 import javax.swing.SwingUtilities;
 
+import java.util.List;
+import java.util.concurrent.Executors;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -13,6 +20,9 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @EnableWebMvc
 public class Program implements WebMvcConfigurer {
 
+    // Streamed responses (NDJSON dynamics) of large pulls outlive the container's 30 s default async timeout
+    private static final long ASYNC_TIMEOUT_MILLIS = 10 * 60 * 1000;
+
     public static void main(String[] args) {
        
     	  // Start Spring Boot application on its own thread
@@ -27,5 +37,21 @@ public class Program implements WebMvcConfigurer {
         System.out.println("Spring Boot Application and Swing GUI are running...");
     }
 
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(ASYNC_TIMEOUT_MILLIS);
+        // Streaming threads mostly wait on the client or the upstream
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(Executors.newVirtualThreadPerTaskExecutor()));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Endpoints that list "application/cbor" in produces answer "Accept: application/cbor" with CBOR;
+        // Spring MVC adds the converter itself when jackson-dataformat-cbor is present, so it is only added if missing
+        if (converters.stream().noneMatch(MappingJackson2CborHttpMessageConverter.class::isInstance)) {
+            converters.add(new MappingJackson2CborHttpMessageConverter());
+        }
+    }
+
 }
 
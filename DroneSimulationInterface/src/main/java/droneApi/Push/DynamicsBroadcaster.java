@@ -0,0 +1,297 @@
+package droneApi.Push;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import droneApi.Config.ConfigProvider;
+import droneApi.Config.PushSettings;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Service.ResourceUrls;
+import droneApi.Store.FleetStoreListener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes the dynamics appended to the replica to the open server-sent event streams.
+ * Subscribers are indexed by drone, so a record is only matched against the subscribers that want its drone,
+ * and it is rendered once however many subscribers receive it. Delivery never blocks the sync: each subscriber
+ * buffers up to its capacity and drains on its own virtual thread.
+ * The event ID is the offset of the record in the upstream /api/dronedynamics/, which the replica serves the same
+ * way, so a client that missed events can read them with offset = last ID + 1.
+ */
+@Component
+public class DynamicsBroadcaster implements FleetStoreListener {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(DynamicsBroadcaster.class);
+
+    // Renders the event data; entities carry their own Jackson annotations
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final ConfigProvider configProvider = ConfigProvider.getInstance();
+    private final ExecutorService drainExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "push-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private volatile Subscribers subscribers = Subscribers.EMPTY;	// Replaced under this lock, read without it
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        scheduleHeartbeat();
+    }
+
+    /**
+     * Ends the open streams while the web server still runs; completing them later would dispatch into a stopped server.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void closeStreams() {
+        for (DynamicsSubscriber subscriber : subscribers.all()) {
+            subscriber.close();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        drainExecutor.shutdown();
+    }
+
+    /**
+     * Opens a stream for a subscriber.
+     * @param filter		The dynamics to receive.
+     * @param policy		What to do when the subscriber's buffer is full, or null for the configured default.
+     * @param emitter		The response stream.
+     * @return the subscriber, or null if the maximum number of subscribers is reached.
+     */
+    public DynamicsSubscriber subscribe(DynamicsFilter filter, OverflowPolicy policy, ResponseBodyEmitter emitter) {
+        PushSettings settings = configProvider.current().getPush();
+        if (policy == null) {
+            policy = OverflowPolicy.byKey(settings.getOverflow());
+            policy = policy != null ? policy : OverflowPolicy.DROP_OLDEST;
+        }
+        DynamicsSubscriber subscriber = new DynamicsSubscriber(subscriberIds.incrementAndGet(), filter, policy,
+                settings.getBufferSize(), emitter, drainExecutor, this);
+        synchronized (this) {
+            if (subscribers.size() >= settings.getMaxSubscribers()) {
+                return null;
+            }
+            subscribers = subscribers.with(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // The headers go out with the first write; a comment lets the client see the stream open before the first event
+        subscriber.heartbeat();
+        logger.debug("Push subscriber {} opened for drones {} and status {} ({}).", subscriber.getId(),
+                Arrays.toString(filter.getDroneIds()), filter.getStatus(), policy.getKey());
+        return subscriber;
+    }
+
+    /**
+     * Removes a subscriber whose stream ended.
+     * @param subscriber	The subscriber.
+     */
+    synchronized void remove(DynamicsSubscriber subscriber) {
+        subscribers = subscribers.without(subscriber);
+    }
+
+    @Override
+    public void onDynamicsAppended(List<DroneDynamics> added, int[] offsets) {
+        Subscribers current = subscribers;
+        if (current.size() == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < added.size(); i++) {
+            DroneDynamics record = added.get(i);
+            String event = offer(current.anyDrone, offsets[i], record, null);
+            offer(current.ofDrone(ResourceUrls.idOf(record.getDrone())), offsets[i], record, event);
+        }
+        logger.debug("Queued {} records for {} push subscribers in {} us.", added.size(), current.size(),
+                (System.nanoTime() - start) / 1_000);
+    }
+
+    /**
+     * Queues a record for the candidates whose status filter accepts it.
+     * @param candidates	Subscribers that want the record's drone.
+     * @param id			Upstream offset of the record.
+     * @param record		The record.
+     * @param event			The record rendered before, or null.
+     * @return the rendered record, or null if no subscriber took it yet.
+     */
+    private static String offer(DynamicsSubscriber[] candidates, long id, DroneDynamics record, String event) {
+        for (DynamicsSubscriber subscriber : candidates) {
+            if (subscriber.getFilter().acceptsStatus(record.getStatus())) {
+                if (event == null) {
+                    event = render(id, record);
+                }
+                subscriber.offer(event);
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Returns the counters of the push streams.
+     * @return the stats.
+     */
+    public PushStats stats() {
+        return new PushStats(subscribers.size(), delivered.sum(), dropped.sum(), slowDisconnects.sum());
+    }
+
+    void recordDelivered(int events) {
+        delivered.add(events);
+    }
+
+    void recordDropped(int events) {
+        dropped.add(events);
+    }
+
+    void recordSlowDisconnect() {
+        slowDisconnects.increment();
+    }
+
+    private static String render(long id, DroneDynamics record) {
+        try {
+            return "id: " + id + "\nevent: dynamics\ndata: " + mapper.writeValueAsString(record) + "\n\n";
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot render drone dynamics", ex);
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every subscriber, then schedules itself with the interval of the current configuration.
+     */
+    private void scheduleHeartbeat() {
+        if (heartbeats.isShutdown()) {
+            return;
+        }
+        long intervalSeconds = Math.max(configProvider.current().getPush().getHeartbeatSeconds(), 1);
+        heartbeats.schedule(() -> {
+            for (DynamicsSubscriber subscriber : subscribers.all()) {
+                subscriber.heartbeat();
+            }
+            scheduleHeartbeat();
+        }, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Immutable set of subscribers: those of every drone, and the others per drone ID.
+     * Adding or removing a subscriber copies only the arrays it is in.
+     */
+    private static final class Subscribers {
+
+        static final Subscribers EMPTY = new Subscribers(new DynamicsSubscriber[0], Map.of(), 0);
+
+        private static final DynamicsSubscriber[] NONE = new DynamicsSubscriber[0];
+
+        final DynamicsSubscriber[] anyDrone;
+        final Map<Integer, DynamicsSubscriber[]> byDrone;
+        final int size;
+
+        private Subscribers(DynamicsSubscriber[] anyDrone, Map<Integer, DynamicsSubscriber[]> byDrone, int size) {
+            this.anyDrone = anyDrone;
+            this.byDrone = byDrone;
+            this.size = size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Returns the subscribers that asked for a drone by ID; those of every drone are in anyDrone.
+         */
+        DynamicsSubscriber[] ofDrone(int droneId) {
+            return byDrone.getOrDefault(droneId, NONE);
+        }
+
+        DynamicsSubscriber[] all() {
+            return Stream.concat(Arrays.stream(anyDrone), byDrone.values().stream().flatMap(Arrays::stream))
+                    .distinct().toArray(DynamicsSubscriber[]::new);
+        }
+
+        Subscribers with(DynamicsSubscriber subscriber) {
+            if (subscriber.getFilter().isAnyDrone()) {
+                return new Subscribers(append(anyDrone, subscriber), byDrone, size + 1);
+            }
+            Map<Integer, DynamicsSubscriber[]> index = new HashMap<>(byDrone);
+            for (int droneId : subscriber.getFilter().getDroneIds()) {
+                index.put(droneId, append(index.getOrDefault(droneId, NONE), subscriber));
+            }
+            return new Subscribers(anyDrone, index, size + 1);
+        }
+
+        Subscribers without(DynamicsSubscriber subscriber) {
+            if (subscriber.getFilter().isAnyDrone()) {
+                DynamicsSubscriber[] remaining = remove(anyDrone, subscriber);
+                return remaining == anyDrone ? this : new Subscribers(remaining, byDrone, size - 1);
+            }
+            Map<Integer, DynamicsSubscriber[]> index = new HashMap<>(byDrone);
+            boolean found = false;
+            for (int droneId : subscriber.getFilter().getDroneIds()) {
+                DynamicsSubscriber[] current = index.getOrDefault(droneId, NONE);
+                DynamicsSubscriber[] remaining = remove(current, subscriber);
+                if (remaining != current) {
+                    found = true;
+                    if (remaining.length == 0) {
+                        index.remove(droneId);
+                    } else {
+                        index.put(droneId, remaining);
+                    }
+                }
+            }
+            return found ? new Subscribers(anyDrone, index, size - 1) : this;
+        }
+
+        private static DynamicsSubscriber[] append(DynamicsSubscriber[] array, DynamicsSubscriber subscriber) {
+            DynamicsSubscriber[] copy = Arrays.copyOf(array, array.length + 1);
+            copy[array.length] = subscriber;
+            return copy;
+        }
+
+        /**
+         * Returns the array without the subscriber, or the same array if it is not in it.
+         */
+        private static DynamicsSubscriber[] remove(DynamicsSubscriber[] array, DynamicsSubscriber subscriber) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == subscriber) {
+                    DynamicsSubscriber[] copy = new DynamicsSubscriber[array.length - 1];
+                    System.arraycopy(array, 0, copy, 0, i);
+                    System.arraycopy(array, i + 1, copy, i, array.length - i - 1);
+                    return copy;
+                }
+            }
+            return array;
+        }
+    }
+}
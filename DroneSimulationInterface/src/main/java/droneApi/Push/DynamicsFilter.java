@@ -0,0 +1,49 @@
+package droneApi.Push;
+
+import java.util.Collection;
+
+/**
+ * Selects the dynamics a push subscriber receives: a set of drones and a status, each optional.
+ */
+public final class DynamicsFilter {
+
+    private final int[] droneIds;	// Distinct drone IDs, empty for every drone
+    private final String status;	// Operational status, null for every status
+
+    private DynamicsFilter(int[] droneIds, String status) {
+        this.droneIds = droneIds;
+        this.status = status;
+    }
+
+    /**
+     * Creates a filter.
+     * @param droneIds		The drones to receive, null or empty for every drone.
+     * @param status		The status to receive, null or blank for every status.
+     * @return the filter.
+     */
+    public static DynamicsFilter of(Collection<Integer> droneIds, String status) {
+        int[] ids = droneIds == null ? new int[0] : droneIds.stream().mapToInt(Integer::intValue).distinct().toArray();
+        return new DynamicsFilter(ids, status == null || status.isBlank() ? null : status.trim());
+    }
+
+    /**
+     * Tells whether the filter accepts every drone, so the subscriber is not indexed by drone.
+     * @return true if no drone IDs were given.
+     */
+    public boolean isAnyDrone() {
+        return droneIds.length == 0;
+    }
+
+    /**
+     * Tells whether a record's status passes the filter; the drone is matched by the subscriber index.
+     * @param recordStatus	The status of the record.
+     * @return true if the record passes.
+     */
+    public boolean acceptsStatus(String recordStatus) {
+        return status == null || status.equalsIgnoreCase(recordStatus);
+    }
+
+    // Getters
+    public int[] getDroneIds() { return droneIds.clone(); }
+    public String getStatus() { return status; }
+}
@@ -0,0 +1,182 @@
+package droneApi.Push;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * One open push stream. Events are rendered once by the {@link DynamicsBroadcaster} and queued here without
+ * blocking the sync; a drain task on a virtual thread writes everything queued as one chunk, so a subscriber
+ * costs no thread while idle and one write per sync while busy. The queue is bounded: when the client reads
+ * slower than events arrive, the {@link OverflowPolicy} drops the oldest events or ends the stream.
+ */
+public final class DynamicsSubscriber {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(DynamicsSubscriber.class);
+
+    // Pre-rendered event text, written through the String converter as is
+    private static final MediaType EVENT_TEXT = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final long id;
+    private final DynamicsFilter filter;
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final ResponseBodyEmitter emitter;
+    private final Executor drainExecutor;
+    private final DynamicsBroadcaster broadcaster;
+
+    // Guarded by this
+    private final ArrayDeque<String> pending = new ArrayDeque<>();
+    private long dropped;				// Events dropped since the subscriber was last told
+    private boolean heartbeatDue;
+    private boolean overflowed;			// Buffer overflowed under DISCONNECT; the stream ends on the next drain
+    private boolean draining;			// A drain task is queued or running
+    private boolean closed;
+
+    /**
+     * Constructor to initialize the subscriber.
+     * @param id				Number of the subscriber, for logging.
+     * @param filter			The dynamics to receive.
+     * @param policy			What to do when the buffer is full.
+     * @param capacity			Maximum number of buffered events.
+     * @param emitter			The response stream.
+     * @param drainExecutor		Runs the drain tasks.
+     * @param broadcaster		Told about deliveries, drops and the end of the stream.
+     */
+    DynamicsSubscriber(long id, DynamicsFilter filter, OverflowPolicy policy, int capacity, ResponseBodyEmitter emitter,
+                       Executor drainExecutor, DynamicsBroadcaster broadcaster) {
+        this.id = id;
+        this.filter = filter;
+        this.policy = policy;
+        this.capacity = Math.max(capacity, 1);
+        this.emitter = emitter;
+        this.drainExecutor = drainExecutor;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Queues an event; never blocks.
+     * @param event		The rendered event.
+     */
+    synchronized void offer(String event) {
+        if (closed || overflowed) {
+            return;
+        }
+        if (pending.size() >= capacity) {
+            if (policy == OverflowPolicy.DISCONNECT) {
+                dropped += pending.size() + 1;
+                broadcaster.recordDropped(pending.size() + 1);
+                pending.clear();
+                overflowed = true;
+                scheduleDrain();
+                return;
+            }
+            pending.pollFirst();
+            dropped++;
+            broadcaster.recordDropped(1);
+        }
+        pending.addLast(event);
+        scheduleDrain();
+    }
+
+    /**
+     * Queues a heartbeat comment, written only if no event is pending anyway.
+     */
+    synchronized void heartbeat() {
+        if (!closed) {
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Ends the stream, e.g. on shutdown or when the client went away.
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+        }
+        broadcaster.remove(this);
+        try {
+            emitter.complete();
+        } catch (RuntimeException ex) {
+            // Already completed by the container
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!draining) {
+            draining = true;
+            drainExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Writes everything queued, until the queue stays empty; only one drain runs per subscriber at a time.
+     */
+    private void drain() {
+        while (true) {
+            StringBuilder chunk = new StringBuilder();
+            int events;
+            boolean disconnect;
+            synchronized (this) {
+                if (closed) {
+                    draining = false;
+                    return;
+                }
+                disconnect = overflowed;
+                if (dropped > 0) {
+                    chunk.append("event: ").append(disconnect ? "overflow" : "dropped")
+                            .append("\ndata: {\"dropped\":").append(dropped).append("}\n\n");
+                    dropped = 0;
+                }
+                events = pending.size();
+                for (String event : pending) {
+                    chunk.append(event);
+                }
+                pending.clear();
+                if (chunk.length() == 0 && heartbeatDue) {
+                    chunk.append(": heartbeat\n\n");
+                }
+                heartbeatDue = false;
+                if (chunk.length() == 0 && !disconnect) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                if (chunk.length() > 0) {
+                    emitter.send(chunk.toString(), EVENT_TEXT);
+                    broadcaster.recordDelivered(events);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away; the container completes the request
+                logger.debug("Push subscriber {} stopped: {}", id, ex.getMessage());
+                close();
+                return;
+            }
+            if (disconnect) {
+                logger.debug("Push subscriber {} disconnected, its buffer of {} events overflowed.", id, capacity);
+                broadcaster.recordSlowDisconnect();
+                close();
+                return;
+            }
+        }
+    }
+
+    // Getters
+    public long getId() { return id; }
+    public DynamicsFilter getFilter() { return filter; }
+    public OverflowPolicy getPolicy() { return policy; }
+}
@@ -0,0 +1,31 @@
+package droneApi.Push;
+
+/**
+ * What happens to a push subscriber whose buffer is full because it reads slower than events arrive.
+ */
+public enum OverflowPolicy {
+    DROP_OLDEST("drop_oldest"),		// Keep the newest events; the subscriber is told how many it missed
+    DISCONNECT("disconnect");		// End the stream; the subscriber reconnects and catches up by offset
+
+    private final String key;	// Name used in config.json and the request parameter
+
+    OverflowPolicy(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Looks up a policy by its key.
+     * @param key		The key, e.g. "drop_oldest".
+     * @return the policy, or null if the key is unknown.
+     */
+    public static OverflowPolicy byKey(String key) {
+        for (OverflowPolicy policy : values()) {
+            if (policy.key.equalsIgnoreCase(key)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    public String getKey() { return key; }
+}
@@ -0,0 +1,32 @@
+package droneApi.Push;
+
+/**
+ * Point-in-time counters of the {@link DynamicsBroadcaster}, serialized as-is by the stats endpoint.
+ */
+public class PushStats {
+
+    private final int subscribers;			// Streams currently open
+    private final long delivered;			// Events written to subscribers
+    private final long dropped;				// Events dropped from full buffers
+    private final long slowDisconnects;		// Streams ended because their buffer overflowed
+
+    /**
+     * Constructor to initialize all counters.
+     * @param subscribers		Number of open streams.
+     * @param delivered			Number of events written.
+     * @param dropped			Number of events dropped.
+     * @param slowDisconnects	Number of streams ended for overflowing.
+     */
+    public PushStats(int subscribers, long delivered, long dropped, long slowDisconnects) {
+        this.subscribers = subscribers;
+        this.delivered = delivered;
+        this.dropped = dropped;
+        this.slowDisconnects = slowDisconnects;
+    }
+
+    // Getters
+    public int getSubscribers() { return subscribers; }
+    public long getDelivered() { return delivered; }
+    public long getDropped() { return dropped; }
+    public long getSlowDisconnects() { return slowDisconnects; }
+}
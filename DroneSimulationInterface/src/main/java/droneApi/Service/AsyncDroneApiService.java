@@ -0,0 +1,148 @@
+package droneApi.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import droneApi.Config.ConfigProvider;
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+
+/**
+ * Runs the blocking {@link DroneApiService} calls on virtual threads.
+ * Shares the caches and connection pool of the wrapped service, so the pool size bounds the actual upstream concurrency.
+ */
+@Service
+public class AsyncDroneApiService implements AsyncDroneService {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDroneApiService.class);
+
+    // One virtual thread per call; blocked calls do not hold a platform thread
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // The blocking service doing the actual upstream calls
+    private final DroneApiService droneApiService;
+
+    /**
+     * Constructor that wraps the given blocking service.
+     * @param droneApiService the service that interacts with the drone API.
+     */
+    @Autowired
+    public AsyncDroneApiService(DroneApiService droneApiService) {
+        this.droneApiService = droneApiService;
+    }
+
+    /**
+     * Returns the deadline configured for calls without an explicit one ("async.deadline_ms").
+     * @return the default deadline.
+     */
+    public Duration defaultDeadline() {
+        return Duration.ofMillis(ConfigProvider.getInstance().current().getAsyncDeadlineMillis());
+    }
+
+    @Override
+    public CompletableFuture<Drone> fetchDroneById(int id, Duration deadline) {
+        return submit(() -> droneApiService.fetchDroneById(id), deadline);
+    }
+
+    @Override
+    public CompletableFuture<List<Drone>> fetchDrones(int limit, int offset, Duration deadline) {
+        return submit(() -> droneApiService.fetchDrones(limit, offset), deadline);
+    }
+
+    @Override
+    public CompletableFuture<List<DroneType>> fetchDroneTypes(int limit, int offset, Duration deadline) {
+        return submit(() -> droneApiService.fetchDroneTypes(limit, offset), deadline);
+    }
+
+    @Override
+    public CompletableFuture<List<DroneDynamics>> fetchDroneDynamics(int limit, int offset, Duration deadline) {
+        return submit(() -> droneApiService.fetchDroneDynamics(limit, offset), deadline);
+    }
+
+    @Override
+    public CompletableFuture<Map<Integer, Drone>> fetchDronesById(Collection<Integer> ids, Duration deadline) {
+        return fanOut(ids, id -> fetchDroneById(id, deadline));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Drone>> fetchDronesByUrl(Collection<String> urls, Duration deadline) {
+        return fanOut(urls, url -> submit(() -> droneApiService.fetchDroneByUrl(url), deadline));
+    }
+
+    /**
+     * Runs a blocking call on a new virtual thread.
+     * The returned future fails with a TimeoutException after the deadline; then, or when the caller cancels it,
+     * the virtual thread is interrupted. That stops waits between requests, not necessarily a read in progress,
+     * which ends at the latest with the client's read timeout.
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> call, Duration deadline) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = executor.submit(() -> {
+            try {
+                result.complete(call.call());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+
+        result.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+              .whenComplete((value, ex) -> {
+                  if (ex != null) {
+                      running.cancel(true);
+                  }
+              });
+        return result;
+    }
+
+    /**
+     * Starts one call per distinct key and collects the successful, non-null results.
+     * Failed and timed-out calls are logged and left out, so one slow lookup does not fail the whole batch.
+     */
+    private <K> CompletableFuture<Map<K, Drone>> fanOut(Collection<K> keys, Function<K, CompletableFuture<Drone>> call) {
+        Map<K, CompletableFuture<Drone>> calls = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            calls.put(key, call.apply(key));
+        }
+
+        CompletableFuture<?>[] settled = calls.values().stream()
+                .map(future -> future.handle((value, ex) -> value))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(settled).thenApply(done -> {
+            Map<K, Drone> drones = new LinkedHashMap<>();
+            int failed = 0;
+            for (Map.Entry<K, CompletableFuture<Drone>> entry : calls.entrySet()) {
+                if (entry.getValue().isCompletedExceptionally()) {
+                    failed++;
+                    continue;
+                }
+                Drone drone = entry.getValue().join();
+                if (drone != null) {
+                    drones.put(entry.getKey(), drone);
+                }
+            }
+            if (failed > 0) {
+                logger.warn("{} of {} drone lookups failed or missed their deadline.", failed, calls.size());
+            }
+            return drones;
+        });
+    }
+}
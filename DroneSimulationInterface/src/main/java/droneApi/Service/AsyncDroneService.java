@@ -0,0 +1,71 @@
+package droneApi.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+
+/**
+ * Non-blocking counterpart of {@link DroneService}.
+ * Every call runs on its own virtual thread and completes exceptionally with a TimeoutException when its deadline passes.
+ * Cancelling a returned future, or missing the deadline, completes it at once and interrupts its virtual thread.
+ * The upstream request is not aborted: a blocked read may run on until the client's read timeout, and its result is discarded.
+ */
+public interface AsyncDroneService {
+
+    /**
+     * Fetches drone details by ID.
+     * @param id The ID of the drone.
+     * @param deadline Time after which the call is abandoned.
+     * @return a future of the drone, completed with null if not found.
+     */
+    CompletableFuture<Drone> fetchDroneById(int id, Duration deadline);
+
+    /**
+     * Fetches a list of drones.
+     * @param limit Number of results to fetch.
+     * @param offset Index to start fetching from.
+     * @param deadline Time after which the call is abandoned.
+     * @return a future of the list of Drone objects.
+     */
+    CompletableFuture<List<Drone>> fetchDrones(int limit, int offset, Duration deadline);
+
+    /**
+     * Fetches a list of drone types.
+     * @param limit Number of results to fetch.
+     * @param offset Index to start fetching from.
+     * @param deadline Time after which the call is abandoned.
+     * @return a future of the list of DroneType objects.
+     */
+    CompletableFuture<List<DroneType>> fetchDroneTypes(int limit, int offset, Duration deadline);
+
+    /**
+     * Fetches a list of drone dynamics.
+     * @param limit Number of results to fetch.
+     * @param offset Index to start fetching from.
+     * @param deadline Time after which the call is abandoned.
+     * @return a future of the list of DroneDynamics objects.
+     */
+    CompletableFuture<List<DroneDynamics>> fetchDroneDynamics(int limit, int offset, Duration deadline);
+
+    /**
+     * Fetches many drones by ID concurrently, one virtual thread per ID.
+     * @param ids The IDs of the drones; duplicates are fetched once.
+     * @param deadline Time after which the remaining lookups are cancelled.
+     * @return a future of the drones found before the deadline, keyed by ID in the order of the given IDs.
+     */
+    CompletableFuture<Map<Integer, Drone>> fetchDronesById(Collection<Integer> ids, Duration deadline);
+
+    /**
+     * Resolves many "drone" URLs (as referenced by DroneDynamics) concurrently, one virtual thread per URL.
+     * @param urls The drone URLs; duplicates are fetched once.
+     * @param deadline Time after which the remaining lookups are cancelled.
+     * @return a future of the drones resolved before the deadline, keyed by URL in the order of the given URLs.
+     */
+    CompletableFuture<Map<String, Drone>> fetchDronesByUrl(Collection<String> urls, Duration deadline);
+}
@@ -0,0 +1,84 @@
+package droneApi.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import droneApi.Cache.CoalescingStats;
+import droneApi.Cache.SingleFlight;
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+
+/**
+ * Collapses identical concurrent reads into one upstream call.
+ * A request for the same resource, limit and offset (or the same drone ID) that arrives while such a call is running
+ * waits for it and receives the same result. Nothing is cached after the call completes.
+ * Returned lists are shared between callers and therefore unmodifiable.
+ */
+@Service
+public class CoalescingDroneService implements DroneService {
+
+    // The service doing the actual upstream calls
+    private final DroneApiService droneApiService;
+
+    // One flight group per resource, keyed by "limit:offset" or by ID
+    private final SingleFlight<String, List<Drone>> droneFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<DroneType>> droneTypeFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<DroneDynamics>> droneDynamicsFlights = new SingleFlight<>();
+    private final SingleFlight<Integer, Drone> droneByIdFlights = new SingleFlight<>();
+
+    /**
+     * Constructor that wraps the given service.
+     * @param droneApiService the service that interacts with the drone API.
+     */
+    @Autowired
+    public CoalescingDroneService(DroneApiService droneApiService) {
+        this.droneApiService = droneApiService;
+    }
+
+    @Override
+    public Drone fetchDroneById(int id) {
+        return droneByIdFlights.execute(id, () -> droneApiService.fetchDroneById(id));
+    }
+
+    @Override
+    public List<Drone> fetchDrones(int limit, int offset) {
+        return droneFlights.execute(limit + ":" + offset,
+                () -> Collections.unmodifiableList(droneApiService.fetchDrones(limit, offset)));
+    }
+
+    @Override
+    public List<DroneType> fetchDroneTypes(int limit, int offset) {
+        return droneTypeFlights.execute(limit + ":" + offset,
+                () -> Collections.unmodifiableList(droneApiService.fetchDroneTypes(limit, offset)));
+    }
+
+    @Override
+    public List<DroneDynamics> fetchDroneDynamics(int limit, int offset) {
+        return droneDynamicsFlights.execute(limit + ":" + offset,
+                () -> Collections.unmodifiableList(droneApiService.fetchDroneDynamics(limit, offset)));
+    }
+
+    @Override
+    public double calculateAverageSpeed(int limit, int offset) {
+        return droneApiService.calculateAverageSpeed(limit, offset);
+    }
+
+    /**
+     * Returns upstream and suppressed call counts per resource.
+     * @return the coalescing statistics, keyed by resource.
+     */
+    public Map<String, CoalescingStats> getStats() {
+        Map<String, CoalescingStats> stats = new LinkedHashMap<>();
+        stats.put("drones", droneFlights.stats());
+        stats.put("droneTypes", droneTypeFlights.stats());
+        stats.put("droneDynamics", droneDynamicsFlights.stats());
+        stats.put("droneById", droneByIdFlights.stats());
+        return stats;
+    }
+}
@@ -0,0 +1,63 @@
+package droneApi.Service;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * One page of a cursor-paged list, with the cursor of the following page.
+ * @param <T> the entity type
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;			// Entities of this page
+    private final PageCursor next;			// Cursor of the following page, null if the list ended here
+
+    /**
+     * Constructor to initialize all fields of the page.
+     * @param items		Entities of this page.
+     * @param next		Cursor of the following page, or null.
+     */
+    public CursorPage(List<T> items, PageCursor next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    /**
+     * Builds a page from a replica read of one item more than the limit, which tells whether more follow.
+     * @param read		Up to limit + 1 items from the cursor on.
+     * @param limit		The page size.
+     * @param cursor	The cursor the page was read from.
+     * @param id		ID of an item, or null to page by position.
+     * @return the page.
+     */
+    public static <T> CursorPage<T> ofProbe(List<T> read, int limit, PageCursor cursor, ToIntFunction<T> id) {
+        int size = Math.max(limit, 0);
+        boolean more = size > 0 && read.size() > size;
+        List<T> items = read.size() > size ? read.subList(0, size) : read;
+        return new CursorPage<>(items, more ? cursor.advance(lastId(items, id), items.size()) : null);
+    }
+
+    /**
+     * Builds a page from an upstream window at the cursor's position.
+     * The upstream cannot seek by ID, so the position decides; the last ID still goes into the next cursor,
+     * for the replica to seek if it answers the following page.
+     * A full window is assumed to have a successor, so the last page may be followed by an empty one.
+     * @param window	The upstream window.
+     * @param limit		The page size the window was requested with.
+     * @param cursor	The cursor the window was read from.
+     * @param id		ID of an item, or null to page by position.
+     * @return the page.
+     */
+    public static <T> CursorPage<T> ofWindow(List<T> window, int limit, PageCursor cursor, ToIntFunction<T> id) {
+        boolean more = limit > 0 && window.size() >= limit;
+        return new CursorPage<>(window, more ? cursor.advance(lastId(window, id), window.size()) : null);
+    }
+
+    private static <T> int lastId(List<T> items, ToIntFunction<T> id) {
+        return id == null || items.isEmpty() ? PageCursor.NO_ID : id.applyAsInt(items.get(items.size() - 1));
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+    public PageCursor getNext() { return next; }
+}
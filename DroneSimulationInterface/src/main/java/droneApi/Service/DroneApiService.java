@@ -2,44 +2,51 @@ package droneApi.Service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
-import org.json.JSONObject;
-import org.springframework.core.io.ClassPathResource;
-import java.io.InputStream;
+import org.springframework.web.client.RequestCallback;
+
+import com.fasterxml.jackson.core.JsonParser;
 
 
 
 import javax.net.ssl.*;
+import java.io.IOException;
+import java.net.Socket;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.io.InputStream;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
 
+import droneApi.Analytics.ManufacturerTally;
+import droneApi.Analytics.SpeedAggregator;
+import droneApi.Analytics.SpeedBreakdown;
+import droneApi.Analytics.SpeedSummary;
+import droneApi.Cache.CacheStats;
+import droneApi.Cache.ConditionalResponse;
+import droneApi.Cache.RevalidatingCache;
+import droneApi.Cache.TtlCache;
+import droneApi.Client.UpstreamClientFactory;
+import droneApi.Config.ApiConfig;
+import droneApi.Config.ConfigProvider;
+import droneApi.Decoding.EntityDecoder;
+import droneApi.Decoding.EntityDecoders;
+import droneApi.Decoding.PageDecoder;
 import droneApi.Entities.Drone;
 import droneApi.Entities.DroneDynamics;
 import droneApi.Entities.DroneType;
+import droneApi.Time.DisplayDates;
+import droneApi.Time.Timestamps;
 
 @Service
 public class DroneApiService implements DroneService {
@@ -47,62 +54,39 @@ public class DroneApiService implements DroneService {
 	// Logger for logging application messages
     private static final Logger logger = LoggerFactory.getLogger(DroneApiService.class);
     
-    // Base URL for the Drone API loaded from configuration file
-    private final String apiUrl = loadApiUrl();
+    // Configuration snapshot provider (config.json parsed once, override file hot reloaded)
+    private final ConfigProvider configProvider = ConfigProvider.getInstance();
     
     // RestTemplate for making HTTP requests
     private final RestTemplate restTemplate = createRestTemplate();
     
-    // Authorization token loaded from configuration file
-    private final String token = loadApiToken();
+    // Drone types keyed by ID; resolves the "dronetype" URL of every drone without an upstream call per row
+    private final TtlCache<Integer, DroneType> droneTypeCache = new TtlCache<>(
+    		configProvider.current().getDroneTypeCache().getMaxEntries(),
+    		configProvider.current().getDroneTypeCache().getTtlSeconds());
     
-    /**
-     * Loads the API base URL from a configuration file.
-     * @return the API base URL as a string.
-     */
-    private String loadApiUrl() {
-        try {
-            // Load the file as a classpath resource
-            InputStream inputStream = new ClassPathResource("config.json").getInputStream();
-            String content = new String(inputStream.readAllBytes());
-
-            // Parse the JSON content
-            JSONObject config = new JSONObject(content);
-            return config.getString("api_url");
-        } catch (Exception ex) {
-            logger.error("Failed to load API URL from config file.", ex);
-            throw new RuntimeException("API URL loading failed", ex);
-        }
-    }
-
+    // Drones keyed by ID; shared by fetchDroneById and the "drone" URLs of DroneDynamics, revalidated via ETag/Last-Modified
+    private final RevalidatingCache<Integer, Drone> droneCache = new RevalidatingCache<>(
+    		configProvider.current().getDroneCache().getMaxEntries(),
+    		configProvider.current().getDroneCache().getTtlSeconds(),
+    		configProvider.current().getDroneCache().getRevalidateSeconds());
     
-    /**
-     * Loads the API token from a configuration file.
-     * @return the API token as a string.
-     */
-    private String loadApiToken() {
-        try {
-            // Load the file as a classpath resource
-            InputStream inputStream = new ClassPathResource("config.json").getInputStream();
-            String content = new String(inputStream.readAllBytes());
-
-            // Parse the JSON content
-            JSONObject config = new JSONObject(content);
-            return config.getString("api_token"); 
-        } catch (Exception ex) {
-            logger.error("Failed to load API token from config file.", ex);
-            throw new RuntimeException("Token loading failed", ex);
-        }
-    }
+    // Runs page prefetches of streamed list endpoints; the paginator window bounds how many run per stream
+    private static final ExecutorService pageExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    // Last time the drone type cache was bulk-loaded (System.nanoTime), 0 if never
+    private volatile long droneTypesWarmedAt;
     
     /**
      * Creates a RestTemplate that bypasses SSL validation.
+     * The underlying HTTP client (simple, pooled or HTTP/2) is chosen by the client settings.
      */
     private RestTemplate createRestTemplate() {
         try {
-            // Create an SSLContext that trusts all certificates
+            // Create an SSLContext that trusts all certificates and hosts; an extended trust manager is called as is,
+            // so the JDK does not add its own hostname check (the JDK HttpClient has no hostname verifier)
             SSLContext sslContext = SSLContext.getInstance("TLS");
-            sslContext.init(null, new TrustManager[]{new X509TrustManager() {
+            sslContext.init(null, new TrustManager[]{new X509ExtendedTrustManager() {
                 public X509Certificate[] getAcceptedIssuers() {
                     return null;
                 }
@@ -112,6 +96,18 @@ public class DroneApiService implements DroneService {
 
                 public void checkServerTrusted(X509Certificate[] certs, String authType) {
                 }
+
+                public void checkClientTrusted(X509Certificate[] certs, String authType, Socket socket) {
+                }
+
+                public void checkServerTrusted(X509Certificate[] certs, String authType, Socket socket) {
+                }
+
+                public void checkClientTrusted(X509Certificate[] certs, String authType, SSLEngine engine) {
+                }
+
+                public void checkServerTrusted(X509Certificate[] certs, String authType, SSLEngine engine) {
+                }
             }}, new SecureRandom());
 
             // Set the SSLContext to the default HttpsURLConnection
@@ -121,9 +117,8 @@ public class DroneApiService implements DroneService {
             HostnameVerifier allowAllHosts = (hostname, session) -> true;
             HttpsURLConnection.setDefaultHostnameVerifier(allowAllHosts);
 
-            // Return RestTemplate
-            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-            return new RestTemplate(requestFactory);
+            // Return RestTemplate on top of the configured client
+            return new RestTemplate(UpstreamClientFactory.create(configProvider.current().getClientSettings(), sslContext));
         } catch (Exception ex) {
             logger.error("Failed to create RestTemplate with bypassed SSL.", ex);
             throw new RuntimeException("Failed to create RestTemplate", ex);
@@ -138,7 +133,7 @@ public class DroneApiService implements DroneService {
     public String verifyServerAccessibility() {
         logger.trace("Entered verifyServerAccessibility method.");
         try {
-            String url = apiUrl;
+            String url = configProvider.current().getApiUrl();
             ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
             if (response.getStatusCode() == HttpStatus.OK) {
                 logger.trace("Server is accessible.");
@@ -152,23 +147,18 @@ public class DroneApiService implements DroneService {
         }
     }
     
- // DateTimeFormatter for formatting timestamps
-    private static final DateTimeFormatter inputFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-    private static final DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern("MMM. dd, yyyy, h:mm a");
-
     /**
      * Formats the raw timestamp into a human-readable format.
      * @param rawTimestamp		The raw timestamp string (ISO 8601 format).
      * @return A formatted date string.
      */
     private String FormatDate(String rawTimestamp) {
-    	try {
-    		OffsetDateTime dateTime = OffsetDateTime.parse(rawTimestamp, inputFormatter);
-    		return dateTime.format(outputFormatter);
-    	} catch (Exception ex) {
-    		logger.error("Failed to format date: {}", ex.getMessage());
+    	String formatted = DisplayDates.format(rawTimestamp);
+    	if (formatted == null) {
+    		logger.error("Failed to format date: {}", rawTimestamp);
     		return "Invalid Date";
     	}
+    	return formatted;
     }
     
     /**
@@ -187,39 +177,27 @@ public class DroneApiService implements DroneService {
      * raw URL: URL response and pointing to another endpoint (e.g., http://dronesim.facets-labs.com/api/dronetypes/id/)
      * API call to drone type URL to return the name and other details.
      * @param rawUrl 				The raw URL to fetch data to get more details.
-     * @param formatFunction 	A lambda or method reference to apply formatting to the fetched data.
+     * @param decoder 			Builds the result while the response body is parsed.
      * @param defaultValue 		A default value to return in case of an error.
      * @return The formatted data or the default value.
      */
-    private <T> T fetchAndFormat(String rawUrl, Function<JSONObject, T> formatFunction, T defaultValue) {
+    private <T> T fetchAndFormat(String rawUrl, EntityDecoder<T> decoder, T defaultValue) {
     	try {        	
-        	// Create the HTTP request with authorization and other necessary headers
-        	HttpHeaders headers = new HttpHeaders();
-        	headers.set("Authorization", token);	// API token for authentication
-        	headers.set("Accept", "application/json");
-        	headers.set("User-Agent", "JavaDroneApp"); // Include a user agent for better API identification
-        	
-        	// Create the entity with headers
-        	HttpEntity<String> entity = new HttpEntity<>(headers);
-        	
         	// Log the request URL
         	logger.debug("Fetching drone details from URL; {}", rawUrl);
         	
-        	// Send the HTTP GET request to fetch the drone type details (name, etc,...)
-        	ResponseEntity<String> response = restTemplate.exchange(rawUrl, HttpMethod.GET, entity, String.class);
-        	
-        	// Parse and process the response
-        	// Check if the response status is OK
-        	if (response.getStatusCode() == HttpStatus.OK) {
-        		// Parse the JSON response to inspect the structure
-        		JSONObject jsonResponse = new JSONObject(response.getBody());
-        		logger.debug("Drone Type Details Response {}:{}", rawUrl, jsonResponse.toString());
-        		
-                // Apply the formatting function
-                return formatFunction.apply(jsonResponse);
-            } else {
-                logger.error("Failed to fetch data from URL: {}. Status code: {}", rawUrl, response.getStatusCode());
-            }
+        	// Send the HTTP GET request with authorization and other necessary headers, decoding the body as it arrives
+        	T result = restTemplate.execute(rawUrl, HttpMethod.GET, headersCallback(createHeaders(configProvider.current())), response -> {
+        		// Check if the response status is OK
+        		if (response.getStatusCode() != HttpStatus.OK) {
+        			logger.error("Failed to fetch data from URL: {}. Status code: {}", rawUrl, response.getStatusCode());
+        			return null;
+        		}
+        		return PageDecoder.decodeEntity(response.getBody(), decoder);
+        	});
+        	if (result != null) {
+        		return result;
+        	}
         } catch (Exception ex) {
             logger.error("Error fetching data from URL: {}. Error: {}", rawUrl, ex.getMessage());
         }
@@ -232,17 +210,64 @@ public class DroneApiService implements DroneService {
      * @return The formatted drone type name or "Unknown Drone Type" if unavailable.
      */
     public String fetchDroneTypeName(String droneTypeUrl) {
-        return fetchAndFormat(droneTypeUrl, jsonResponse -> {
-        	// If the "manufacturer" and "typename" fields exist, construct the name
-    		if (jsonResponse.has("manufacturer") && jsonResponse.has("typename")) {
-    			String manufacturer = jsonResponse.getString("manufacturer");
-    			String typename = jsonResponse.getString("typename");
-    			
-    			// Combine manufacturer and typename into the required format
-    			return manufacturer + ": " + typename;	//e.g., "GoPro: Karma"
-            }
-            return "Unknown Drone Type";
-        }, "Unknown Drone Type");
+    	DroneType droneType = fetchDroneType(droneTypeUrl);
+    	
+    	// If the "manufacturer" and "typename" fields exist, construct the name
+    	if (droneType != null && droneType.getManufacturer() != null && droneType.getTypename() != null) {
+    		// Combine manufacturer and typename into the required format
+    		return droneType.getManufacturer() + ": " + droneType.getTypename();	//e.g., "GoPro: Karma"
+    	}
+    	return "Unknown Drone Type";
+    }
+    
+    /**
+     * Resolves a drone type from its raw URL (e.g., http://dronesim.facets-labs.com/api/dronetypes/id/).
+     * Served from the drone type cache; concurrent misses for the same type share one upstream call.
+     * @param droneTypeUrl 		The URL of the drone type.
+     * @return The drone type, or null if it could not be fetched.
+     */
+    public DroneType fetchDroneType(String droneTypeUrl) {
+    	int id = ResourceUrls.idOf(droneTypeUrl);
+    	if (id < 0) {
+    		// Not a regular resource URL, nothing to key the cache on
+    		return fetchAndFormat(droneTypeUrl, EntityDecoders::droneType, null);
+    	}
+    	return droneTypeCache.get(id, () -> fetchAndFormat(droneTypeUrl, EntityDecoders::droneType, null));
+    }
+    
+    /**
+     * Loads all drone types into the drone type cache, at most once per cache TTL after a successful load.
+     * Drone types are few, so a handful of list calls replaces one call per displayed drone.
+     */
+    public void warmDroneTypeCache() {
+    	long ttlNanos = configProvider.current().getDroneTypeCache().getTtlSeconds() * 1_000_000_000L;
+    	long warmedAt = droneTypesWarmedAt;
+    	if (warmedAt != 0 && System.nanoTime() - warmedAt < ttlNanos) {
+    		return;
+    	}
+    	
+    	logger.trace("Warming drone type cache.");
+    	long loaded;
+    	try (Stream<DroneType> droneTypes = streamDroneTypes()) {
+    		// streamDroneTypes puts every fetched type into the cache, draining the stream is enough
+    		loaded = droneTypes.count();
+    	}
+    	
+    	// A failed load has thrown by now; an empty one is retried on the next call rather than a TTL later
+    	if (loaded == 0) {
+    		logger.debug("Drone type cache not warmed, the upstream returned no types.");
+    		return;
+    	}
+    	logger.debug("Drone type cache warmed with {} types.", loaded);
+    	droneTypesWarmedAt = System.nanoTime();
+    }
+    
+    /**
+     * Returns hit, miss and eviction counters of the drone type cache.
+     * @return the cache statistics.
+     */
+    public CacheStats getDroneTypeCacheStats() {
+    	return droneTypeCache.stats();
     }
     
     /**
@@ -262,31 +287,53 @@ public class DroneApiService implements DroneService {
      * @return The formatted drone details data or "Unknown Drone" if unavailable.
      */
     public String fetchDroneDetails(String DroneUrl) {
-        return fetchAndFormat(DroneUrl, jsonResponse -> {
-        	// If the "serialnumber" and "created" fields exist, construct the name
-    		if (jsonResponse.has("serialnumber") && jsonResponse.has("created")) {
-    			String serialnumber = jsonResponse.getString("serialnumber");
-    			String createdRaw = jsonResponse.getString("created");
-    			
-    			try {
-    				//Parse and adjust the timestamp to UTC (+00:00)
-    				//Parse the raw Timestamp
-    				OffsetDateTime createdDateTime = OffsetDateTime.parse(createdRaw);
-    				//Adjust to UTC timezone
-                    OffsetDateTime createdInUtc = createdDateTime.withOffsetSameInstant(ZoneOffset.UTC);                    
-                    // Format the adjusted timestamp as "yyyy-MM-dd HH:mm:ss.SSSSSS+00:00" with explicit +00:00 instead of Z
-                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSSXXX");
-                    String formattedCreated = createdInUtc.format(formatter).replace("Z", "+00:00");
-                    
-    				// Combine "serialnumber" and "created" data into the required format
-                    return "Drone: " + serialnumber + " (created: " + formattedCreated + ")";	//e.g., "Drone: PoD8-2029-804760 (created: 2025-01-10 20:25:25.402566+00:00)"
-    			} catch (Exception ex) {
-    				logger.error("Failed to process created field: {}. Error; {}", createdRaw, ex.getMessage());
-    				return "Drone: " + serialnumber + " (created: Invalid Date)";
-    			}    			
-            }
-            return "Unknown Drone";
-        }, "Unknown Drone");
+    	Drone drone = fetchDroneByUrl(DroneUrl);
+    	
+    	// If the "serialnumber" and "created" fields exist, construct the name
+    	if (drone == null || drone.getSerialNumber() == null || drone.getCreatedRaw() == null) {
+    		return "Unknown Drone";
+    	}
+    	String serialnumber = drone.getSerialNumber();
+    	String createdRaw = drone.getCreatedRaw();
+    	
+    	// Adjust the timestamp to UTC, formatted as "yyyy-MM-dd HH:mm:ss.SSSSSS+00:00" with explicit +00:00 instead of Z
+    	String formattedCreated = Timestamps.formatUtc(drone.getCreatedMicros());
+    	if (formattedCreated == null) {
+    		logger.error("Failed to process created field: {}.", createdRaw);
+    		return "Drone: " + serialnumber + " (created: Invalid Date)";
+    	}
+    	
+    	// Combine "serialnumber" and "created" data into the required format
+    	return "Drone: " + serialnumber + " (created: " + formattedCreated + ")";	//e.g., "Drone: PoD8-2029-804760 (created: 2025-01-10 20:25:25.402566+00:00)"
+    }
+    
+    /**
+     * Resolves a drone from its raw URL (e.g., http://dronesim.facets-labs.com/api/drones/id/), as referenced by DroneDynamics.
+     * Served from the drone cache, which is shared with fetchDroneById.
+     * @param droneUrl 		The URL of the drone.
+     * @return The drone, or null if it could not be fetched.
+     */
+    public Drone fetchDroneByUrl(String droneUrl) {
+    	int id = ResourceUrls.idOf(droneUrl);
+    	try {
+    		if (id < 0) {
+    			// Not a regular resource URL, nothing to key the cache on
+    			return fetchAndFormat(droneUrl, EntityDecoders::drone, null);
+    		}
+    		ApiConfig config = configProvider.current();
+    		return droneCache.get(id, (etag, lastModified) -> fetchDroneConditionally(config, droneUrl, etag, lastModified));
+    	} catch (Exception ex) {
+    		logger.error("Error fetching drone from URL: {}. Error: {}", droneUrl, ex.getMessage());
+    		return null;
+    	}
+    }
+    
+    /**
+     * Returns hit, miss, revalidation and eviction counters of the drone cache.
+     * @return the cache statistics.
+     */
+    public CacheStats getDroneCacheStats() {
+    	return droneCache.stats();
     }
     
     /**
@@ -309,57 +356,14 @@ public class DroneApiService implements DroneService {
     public List<Drone> fetchDrones(int limit, int offset) {
     	logger.trace("Entered fetchDrones method with limit={} and offset={}", limit, offset);
 
+        // Take one configuration snapshot so URL and token stay consistent for this request
+        ApiConfig config = configProvider.current();
         
-        // Initialize an empty list to store drones
-        List<Drone> drones = new ArrayList<>();
         // Construct the request URL
-        String url = apiUrl + "drones/?format=json&limit=" + limit + "&offset=" + offset;
-
+        String url = config.getApiUrl() + "drones/?format=json&limit=" + limit + "&offset=" + offset;
 
         try {
-        	
-        	// Dynamically load the API token
-            String token = loadApiToken(); // Load the token from config.json
-        	
-            // Create and set HTTP headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", token); // Use Token-based authentication
-            headers.set("Accept", "application/json");
-            headers.set("User-Agent", "JavaDroneApp"); // Include a user agent for better API identification
-
-
-            // Create the entity with headers
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Perform the HTTP GET request
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            
-            // Check if the response status is OK
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JSONObject jsonResponse = new JSONObject(response.getBody());
-                var droneArray = jsonResponse.getJSONArray("results");                
-               
-                // Stream processing for raw data
-                drones = IntStream.range(0, droneArray.length())	// Convert the JSON array to a Stream
-                		.mapToObj(i -> {
-                			try {
-                				var obj = droneArray.getJSONObject(i);
-                				return new Drone(
-                						obj.getInt("id"),
-                						obj.getString("dronetype"),	// Keep raw URL for dronetype
-                						obj.getString("created"),	// Keep raw created timestamp
-                						obj.getString("serialnumber"),
-                						obj.getInt("carriage_weight"),
-                						obj.getString("carriage_type")
-                						);                				         				
-                			} catch (Exception e) {
-                				logger.error("Error processing drone at index: {}: {}", i, e.getMessage());
-                				return null;	//Handle error gracefully
-                			}
-                		})
-                		.filter(Objects::nonNull)	// Remove null entries
-                		.collect(Collectors.toList());	//Collect into a List
-            }
+            return fetchPage(config, url, EntityDecoders::drone).getResults();
         } catch (HttpClientErrorException ex) {
             logger.error("HTTP Error: Status {}, Body: {}", ex.getStatusCode(), ex.getResponseBodyAsString());
             throw ex;
@@ -367,65 +371,16 @@ public class DroneApiService implements DroneService {
             logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
             throw new RuntimeException("Failed to fetch drones", ex);
         }
-
-        return drones;    			
     }
     
-    
     /**
-     * Recursively fetches drone types from the next page URL.
+     * Streams all drones of the Drone API, in upstream order.
+     * Pages are prefetched in parallel (see {@link Paginator}); close the stream to stop early.
+     * @return the stream of all drones.
      */
-    private List<Drone> fetchDronesFromNextPage(String nextUrl) {
-        List<Drone> drones = new ArrayList<>();
-        try {
-        	 // Dynamically load the API token
-            String token = loadApiToken(); // Load the token from config.json
-
-            // Create and set HTTP headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", token); // Use Token-based authentication
-            headers.set("Accept", "application/json");
-            headers.set("User-Agent", "JavaDroneApp"); // Include a user agent for better API identification
-
-            logger.debug("Requesting next page of drones from URL: {}", nextUrl);
-            // Create the entity with headers
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(nextUrl, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JSONObject jsonResponse = new JSONObject(response.getBody());
-                var droneArray = jsonResponse.getJSONArray("results");
-                
-             // Stream processing for raw data
-                drones = IntStream.range(0, droneArray.length())	// Convert the JSON array to a Stream
-                		.mapToObj(i -> {
-                			try {
-                				var obj = droneArray.getJSONObject(i);
-                				return new Drone(
-                						obj.getInt("id"),
-                						obj.getString("dronetype"),	// Keep raw URL for dronetype
-                						obj.getString("created"),	// Keep raw created timestamp
-                						obj.getString("serialnumber"),
-                						obj.getInt("carriage_weight"),
-                						obj.getString("carriage_type")
-                						);                				         				
-                			} catch (Exception e) {
-                				logger.error("Error processing drone at index: {}: {}", i, e.getMessage());
-                				return null;	//Handle error gracefully
-                			}
-                		})
-                		.filter(Objects::nonNull)	// Remove null entries
-                		.collect(Collectors.toList());	//Collect into a List
-            }
-        } catch (HttpClientErrorException ex) {
-            logger.error("HTTP Error: Status {}, Body: {}", ex.getStatusCode(), ex.getResponseBodyAsString());
-            throw ex;
-        } catch (Exception ex) {
-            logger.error("Unexpected error occurred: {}", ex.getMessage(), ex);
-            throw new RuntimeException("Failed to fetch drones", ex);
-        }
-
-        return drones;    			
+    public Stream<Drone> streamDrones() {
+    	logger.trace("Entered streamDrones method.");
+    	return paginate("drones", EntityDecoders::drone, 0, Long.MAX_VALUE);
     }
     
     
@@ -438,53 +393,15 @@ public class DroneApiService implements DroneService {
     public List<DroneType> fetchDroneTypes(int limit, int offset) {
         logger.trace("Entered fetchDroneTypes method.");
         
-        // Construct the request URL
-        List<DroneType> droneTypes = new ArrayList<>();
+        // Take one configuration snapshot so URL and token stay consistent for this request
+        ApiConfig config = configProvider.current();
         
         // Construct the request URL
-        String url = apiUrl + "dronetypes/?format=json&limit=" + limit + "&offset=" + offset;
+        String url = config.getApiUrl() + "dronetypes/?format=json&limit=" + limit + "&offset=" + offset;
         
         try {
-        	// Load the token dynamically using the loadApiToken method
-            String token = loadApiToken(); // Dynamically loads the token
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", token); // Use Token-based authentication
-            headers.set("User-Agent", "JavaDroneApp");
-            headers.set("Accept", "application/json");
-
-         // Create the entity with headers
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Perform the HTTP GET request
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            // Check if the response status is OK
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JSONObject jsonResponse = new JSONObject(response.getBody());
-                var typesArray = jsonResponse.getJSONArray("results");
-
-                // Loop through each drone in the response array
-                for (int i = 0; i < typesArray.length(); i++) {
-                    var obj = typesArray.getJSONObject(i);
-                    
-                    // Create a DroneType object and populate its fields
-                    DroneType droneType = new DroneType(
-                        obj.getInt("id"),
-                        obj.getString("manufacturer"),
-                        obj.getString("typename"),
-                        obj.getInt("weight"),
-                        obj.getInt("max_speed"),
-                        obj.getInt("battery_capacity"),
-                        obj.getInt("control_range"),
-                        obj.has("max_carriage") ? obj.getInt("max_carriage") : null
-                    );
-                    
-                    // Add the drone to the list
-                    droneTypes.add(droneType);
-                }
-                logger.trace("fetchDrones completed successfully.");
-            }
+        	// Every fetched type is kept for later "dronetype" URL lookups
+            return fetchPage(config, url, this::decodeAndCacheDroneType).getResults();
         } catch (HttpClientErrorException ex) {
         	
         	// Log HTTP-specific errors and rethrow the exception
@@ -496,9 +413,36 @@ public class DroneApiService implements DroneService {
             logger.error("Unexpected Error: {}", ex.getMessage(), ex);
             throw new RuntimeException("Failed to fetch drones", ex);
         }
-        
-        // Return the list of fetched drones
-        return droneTypes;
+    }
+    
+    /**
+     * Streams all drone types of the Drone API, in upstream order; every type is also put into the drone type cache.
+     * @return the stream of all drone types.
+     */
+    public Stream<DroneType> streamDroneTypes() {
+    	logger.trace("Entered streamDroneTypes method.");
+    	return paginate("dronetypes", this::decodeAndCacheDroneType, 0, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Streams at most "limit" drone types of the Drone API from the given offset; every type is put into the drone type cache.
+     * @param offset Index to start streaming from.
+     * @param limit Maximum number of drone types.
+     * @return the stream of drone types.
+     */
+    public Stream<DroneType> streamDroneTypes(int offset, long limit) {
+    	logger.trace("Entered streamDroneTypes method with offset={} and limit={}", offset, limit);
+    	return paginate("dronetypes", this::decodeAndCacheDroneType, offset, limit);
+    }
+    
+
+    /**
+     * Decodes a DroneType and puts it into the drone type cache.
+     */
+    private DroneType decodeAndCacheDroneType(JsonParser parser) throws IOException {
+    	DroneType droneType = EntityDecoders.droneType(parser);
+    	droneTypeCache.put(droneType.getId(), droneType);
+    	return droneType;
     }
     
 
@@ -511,61 +455,14 @@ public class DroneApiService implements DroneService {
     public List<DroneDynamics> fetchDroneDynamics(int limit, int offset) {
         logger.trace("Entered fetchDroneDynamics method.");
 
-        // Initialize an empty list to store drone dynamics
-        List<DroneDynamics> droneDynamicsList = new ArrayList<>();
+        // Take one configuration snapshot so URL and token stay consistent for this request
+        ApiConfig config = configProvider.current();
         
         // Construct the request URL
-        String url = apiUrl + "dronedynamics/?format=json&limit=" + limit + "&offset=" + offset;
+        String url = config.getApiUrl() + "dronedynamics/?format=json&limit=" + limit + "&offset=" + offset;
     
         try {
-        	// Dynamically load the API token
-            String token = loadApiToken(); // Load the token from config.json
-
-            // Create and set HTTP headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", token); // Use Token-based authentication
-            headers.set("User-Agent", "JavaDroneApp"); // Include a user agent for better API identification
-            headers.set("Accept", "application/json");
-
-            // Create the entity with headers
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Perform the HTTP GET request
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            // Check if the response status is OK
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JSONObject jsonResponse = new JSONObject(response.getBody());
-                var dynamicsArray = jsonResponse.getJSONArray("results");
-
-                // Loop through each drone dynamic in the response array
-                for (int i = 0; i < dynamicsArray.length(); i++) {
-                    var obj = dynamicsArray.getJSONObject(i);
-                    
-                    // Format longitude and latitude to six decimal places
-                    String formattedLongitude = String.format("%.6f", Double.parseDouble(obj.getString("longitude")));
-                    String formattedLatitude = String.format("%.6f", Double.parseDouble(obj.getString("latitude")));
-
-                    // Create a DroneDynamic object and populate its fields
-                    DroneDynamics droneDynamics = new DroneDynamics(
-                        obj.getString("drone"),
-                        obj.getString("timestamp"),
-                        obj.getInt("speed"),
-                        obj.getString("align_roll"),
-                        obj.getString("align_pitch"),
-                        obj.getString("align_yaw"),
-                        formattedLongitude,
-                        formattedLatitude,
-                        obj.getInt("battery_status"),
-                        obj.getString("last_seen"),
-                        obj.getString("status")
-                    );
-
-                    // Add the drone dynamic to the list
-                    droneDynamicsList.add(droneDynamics);
-                }
-                logger.trace("fetchDroneDynamics completed successfully.");
-            }
+            return fetchPage(config, url, EntityDecoders::droneDynamics).getResults();
         } catch (HttpClientErrorException ex) {
             // Log HTTP-specific errors and rethrow the exception
             logger.error("HTTP Error: {}", ex.getStatusCode(), ex);
@@ -575,9 +472,119 @@ public class DroneApiService implements DroneService {
             logger.error("Unexpected Error: {}", ex.getMessage(), ex);
             throw new RuntimeException("Failed to fetch drone dynamics", ex);
         }
-        
-        // Return the list of fetched drone dynamics
-        return droneDynamicsList;
+    }
+    
+    /**
+     * Returns the number of drone dynamics records the Drone API reports, reading a single-record page.
+     * @return the record count, or -1 if the upstream does not report one.
+     */
+    public int countDroneDynamics() {
+    	ApiConfig config = configProvider.current();
+    	return fetchPage(config, config.getApiUrl() + "dronedynamics/?format=json&limit=1&offset=0", EntityDecoders::droneDynamics).getCount();
+    }
+    
+    /**
+     * Streams all drone dynamics of the Drone API from the given offset, in upstream order.
+     * @param offset Index to start streaming from.
+     * @return the stream of drone dynamics.
+     */
+    public Stream<DroneDynamics> streamDroneDynamics(int offset) {
+    	logger.trace("Entered streamDroneDynamics method with offset={}", offset);
+    	return paginate("dronedynamics", EntityDecoders::droneDynamics, offset, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Iterates over all drone dynamics of the Drone API from the given offset, telling the upstream offset
+     * of every record, so that an incremental reader can resume after rows that could not be decoded.
+     * @param offset Index to start iterating from.
+     * @return the paginator; close it to stop prefetching.
+     */
+    public Paginator<DroneDynamics> paginateDroneDynamics(int offset) {
+    	logger.trace("Entered paginateDroneDynamics method with offset={}", offset);
+    	return paginator("dronedynamics", EntityDecoders::droneDynamics, offset, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Streams at most "limit" drone dynamics of the Drone API from the given offset, in upstream order.
+     * Pages beyond the limit are not requested.
+     * @param offset Index to start streaming from.
+     * @param limit Maximum number of records.
+     * @return the stream of drone dynamics.
+     */
+    public Stream<DroneDynamics> streamDroneDynamics(int offset, long limit) {
+    	logger.trace("Entered streamDroneDynamics method with offset={} and limit={}", offset, limit);
+    	return paginate("dronedynamics", EntityDecoders::droneDynamics, offset, limit);
+    }
+    
+    /**
+     * Creates the headers sent with every upstream request.
+     * @param config		The configuration snapshot to take the token from.
+     * @return the request headers.
+     */
+    private HttpHeaders createHeaders(ApiConfig config) {
+    	HttpHeaders headers = new HttpHeaders();
+    	headers.set("Authorization", config.getApiToken()); // Use Token-based authentication
+    	headers.set("User-Agent", "JavaDroneApp"); // Include a user agent for better API identification
+    	headers.set("Accept", "application/json");
+    	return headers;
+    }
+    
+    /**
+     * Adds the given headers to a request sent through RestTemplate.execute.
+     */
+    private RequestCallback headersCallback(HttpHeaders headers) {
+    	return request -> request.getHeaders().putAll(headers);
+    }
+    
+    /**
+     * Fetches one page of a list endpoint; rows that cannot be parsed are logged and skipped.
+     * @param config		The configuration snapshot to use for the token.
+     * @param url			The page URL (limit/offset URL or "next" link).
+     * @param decoder		Builds an entity from one element of "results".
+     * @return the page, empty if the upstream did not answer with 200.
+     */
+    private <T> Page<T> fetchPage(ApiConfig config, String url, EntityDecoder<T> decoder) {
+    	logger.debug("Fetching page: {}", url);
+    	
+    	// Perform the HTTP GET request; entities are built while the body is read, without a String or DOM in between
+    	Page<T> page = restTemplate.execute(url, HttpMethod.GET, headersCallback(createHeaders(config)), response -> {
+    		if (response.getStatusCode() != HttpStatus.OK) {
+    			logger.error("Failed to fetch page: {}. Status code: {}", url, response.getStatusCode());
+    			return null;
+    		}
+    		return PageDecoder.decodePage(response.getBody(), decoder);
+    	});
+    	return page != null ? page : Page.empty();
+    }
+    
+    /**
+     * Streams a whole list endpoint, using the page size and parallelism of the current configuration.
+     * @param resource		The endpoint name, e.g. "drones".
+     * @param decoder		Builds an entity from one element of "results".
+     * @param offset		Index to start streaming from.
+     * @param maxItems		Maximum number of entities to stream.
+     * @return the ordered stream of entities.
+     */
+    private <T> Stream<T> paginate(String resource, EntityDecoder<T> decoder, int offset, long maxItems) {
+    	return paginator(resource, decoder, offset, maxItems).stream();
+    }
+    
+    /**
+     * Creates the paginator behind {@link #paginate(String, EntityDecoder, int, long)}.
+     */
+    private <T> Paginator<T> paginator(String resource, EntityDecoder<T> decoder, int offset, long maxItems) {
+    	// One snapshot for all pages, so a config reload does not mix two upstreams in one stream
+    	ApiConfig config = configProvider.current();
+    	String baseUrl = config.getApiUrl() + resource + "/?format=json";
+    	
+    	return new Paginator<>(
+    			(limit, pageOffset) -> fetchPage(config, baseUrl + "&limit=" + limit + "&offset=" + pageOffset, decoder),
+    			nextUrl -> fetchPage(config, nextUrl, decoder),
+    			config.getPageSize(),
+    			config.getPageParallelism(),
+    			offset,
+    			maxItems,
+    			pageExecutor);
     }
     
     
@@ -589,44 +596,15 @@ public class DroneApiService implements DroneService {
     public Drone fetchDroneById(int id) {
         logger.trace("Entered fetchDroneById method with id={}", id);
 
+        // Take one configuration snapshot so URL and token stay consistent for this request
+        ApiConfig config = configProvider.current();
+        
         // Construct the request URL for fetching the drone by ID
-        String url = apiUrl + "drones/" + id + "/?format=json";
+        String url = config.getApiUrl() + "drones/" + id + "/?format=json";
 
         try {
-            // Dynamically load the API token
-            String token = loadApiToken(); // Load the token from config.json
-
-            // Prepare HTTP headers with authentication token
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", token); // Use Token-based authentication
-            headers.set("User-Agent", "JavaDroneApp"); // Include a user agent for better API identification
-            headers.set("Accept", "application/json");
-
-            // Create the entity with headers
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            // Perform the HTTP GET request
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            // Check if the response status is OK
-            if (response.getStatusCode() == HttpStatus.OK) {
-                JSONObject obj = new JSONObject(response.getBody());
-
-                // Extract raw data for dronetype and created fields
-                // Preffered for Maintainability
-                String rawDroneTypeUrl = obj.getString("dronetype");
-                String rawCreated = obj.getString("created");
-                
-                // Construct and return the Drone object with raw data
-                return new Drone(
-                    obj.getInt("id"),
-                    rawDroneTypeUrl,	// Keep raw URL for dronetype
-                    rawCreated,			// Keep raw timestamp as a String
-                    obj.getString("serialnumber"),
-                    obj.getInt("carriage_weight"),
-                    obj.getString("carriage_type")
-                );
-            }
+        	// Served from the drone cache; stale entries are revalidated with a conditional GET
+            return droneCache.get(id, (etag, lastModified) -> fetchDroneConditionally(config, url, etag, lastModified));
         } catch (HttpClientErrorException ex) {
             // Log HTTP-specific errors and rethrow the exception
             logger.error("HTTP Error: Status={}, Response={}", ex.getStatusCode(), ex.getResponseBodyAsString(), ex);
@@ -636,11 +614,41 @@ public class DroneApiService implements DroneService {
             logger.error("Unexpected Error: {}", ex.getMessage(), ex);
             throw new RuntimeException("Failed to fetch drone by ID", ex);
         }
-
-        // Return null if the drone was not found or an error occurred
-        return null;
     }
     
+    /**
+     * Performs a GET for a single drone, conditional if validators of a cached copy are given.
+     * A 304 response has no body, so nothing is parsed for it.
+     * @param config		The configuration snapshot to use for the token.
+     * @param url			The drone URL.
+     * @param etag			The cached ETag to send as If-None-Match, or null.
+     * @param lastModified	The cached Last-Modified to send as If-Modified-Since, or null.
+     * @return the upstream response.
+     */
+    private ConditionalResponse<Drone> fetchDroneConditionally(ApiConfig config, String url, String etag, String lastModified) {
+    	// Prepare HTTP headers with authentication token
+    	HttpHeaders headers = createHeaders(config);
+    	if (etag != null) {
+    		headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+    	}
+    	if (lastModified != null) {
+    		headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+    	}
+    	
+    	// Perform the HTTP GET request
+    	return restTemplate.execute(url, HttpMethod.GET, headersCallback(headers), response -> {
+    		if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+    			return ConditionalResponse.<Drone>notModified();
+    		}
+    		if (response.getStatusCode() == HttpStatus.OK) {
+    			Drone drone = PageDecoder.decodeEntity(response.getBody(), EntityDecoders::drone);
+    			return ConditionalResponse.of(drone, response.getHeaders().getETag(), response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+    		}
+    		
+    		// Nothing to cache if the drone was not found
+    		return ConditionalResponse.<Drone>of(null, null, null);
+    	});
+    }
     
     // The method for calculating the average speed of drones
     /**
@@ -651,69 +659,65 @@ public class DroneApiService implements DroneService {
      */
     public double calculateAverageSpeed(int limit, int offset) {
         logger.trace("Entered calculateAverageSpeed method with limit={} and offset={}", limit, offset);
-
-        // Retrieving the list of DroneDynamics
-        List<DroneDynamics> droneDynamicsList = fetchDroneDynamics(limit, offset);
+        return calculateSpeedSummary(limit, offset).getAverage();
+    }
+    
+    /**
+     * Calculates average, minimum and maximum speed of the "DroneDynamics" data.
+     * Records are streamed page by page and folded into primitive accumulators, no list of all records is built.
+     * @param limit Maximum number of records, or null for the whole dataset.
+     * @param offset Index of the first record.
+     * @return the speed summary including the number of samples.
+     */
+    public SpeedSummary calculateSpeedSummary(Integer limit, int offset) {
+        logger.trace("Entered calculateSpeedSummary method with limit={} and offset={}", limit, offset);
         
-        // If no data is available, return the average as 0
-        if (droneDynamicsList.isEmpty()) {
-            logger.info("No DroneDynamics data available.");
-            return 0;
-        }
-
-        // Sum of speeds and counter for the number of data points
-        double totalSpeed = 0;
-        int count = 0;
-
-        // Iterate through the list of DroneDynamics and sum the speed
-        for (DroneDynamics dynamics : droneDynamicsList) {
-            // Take speed value from DroneDynamics
-            totalSpeed += dynamics.getSpeed();
-            count++;
+        try (Stream<DroneDynamics> dynamics = streamDroneDynamics(offset, limit != null ? limit : Long.MAX_VALUE)) {
+        	SpeedSummary summary = SpeedAggregator.summarize(dynamics);
+        	logger.info("Calculated average speed {} over {} samples.", summary.getAverage(), summary.getCount());
+        	return summary;
         }
-
-        // Calculation of the average
-        double averageSpeed = totalSpeed / count;
-
-        logger.info("Calculated average speed: {}", averageSpeed);
+    }
+    
+    /**
+     * Calculates speed statistics of the "DroneDynamics" data per drone, per status and per time window.
+     * @param limit Maximum number of records, or null for the whole dataset.
+     * @param offset Index of the first record.
+     * @param windowSeconds Width of the time windows in seconds.
+     * @return the speed breakdown.
+     */
+    public SpeedBreakdown calculateSpeedBreakdown(Integer limit, int offset, long windowSeconds) {
+        logger.trace("Entered calculateSpeedBreakdown method with limit={}, offset={} and window={}", limit, offset, windowSeconds);
         
-        // Returning the average
-        return averageSpeed;
+        try (Stream<DroneDynamics> dynamics = streamDroneDynamics(offset, limit != null ? limit : Long.MAX_VALUE)) {
+        	return SpeedAggregator.breakdown(dynamics, windowSeconds);
+        }
     }
-    public Map<String, Long> getTopManufacturers(int topN, int limit, int offset) {
+    
+    /**
+     * Ranks manufacturers by their number of drones.
+     * The drone types in the given window are mapped to their manufacturer, then all drones are streamed and counted per type;
+     * neither list is materialized.
+     * @param topN Number of manufacturers to return.
+     * @param limit Maximum number of drone types to consider, or null for the whole catalogue.
+     * @param offset Index of the first drone type.
+     * @return manufacturer to drone count, most drones first.
+     */
+    public Map<String, Long> getTopManufacturers(int topN, Integer limit, int offset) {
         logger.trace("Entered getTopManufacturers method with topN={}, limit={}, offset={}", topN, limit, offset);
 
-        // Retrieve the list of all drone types
-        List<DroneType> droneTypes = fetchDroneTypes(limit, offset);
-
-        // Map to store manufacturer counts
-        Map<String, Long> manufacturerCount = new HashMap<>();
-
-        // Count the occurrences of each manufacturer
-        for (DroneType droneType : droneTypes) {
-            String manufacturer = droneType.getManufacturer();
-            manufacturerCount.put(manufacturer, manufacturerCount.getOrDefault(manufacturer, 0L) + 1);
+        ManufacturerTally tally = new ManufacturerTally();
+        try (Stream<DroneType> droneTypes = streamDroneTypes(offset, limit != null ? limit : Long.MAX_VALUE)) {
+        	droneTypes.forEach(tally::addDroneType);
         }
-
-        // Sort the manufacturers by count in descending order
-        List<Map.Entry<String, Long>> sortedEntries = new ArrayList<>(manufacturerCount.entrySet());
-        sortedEntries.sort((entry1, entry2) -> Long.compare(entry2.getValue(), entry1.getValue()));
-
-        // Collect the top N manufacturers
-        Map<String, Long> topManufacturers = new LinkedHashMap<>();
-        int count = 0;
-        for (Map.Entry<String, Long> entry : sortedEntries) {
-            if (count >= topN) break;
-            topManufacturers.put(entry.getKey(), entry.getValue());
-            count++;
+        try (Stream<Drone> drones = streamDrones()) {
+        	drones.forEach(tally::addDrone);
         }
 
+        Map<String, Long> topManufacturers = tally.toRanking().top(topN);
         logger.info("Top {} manufacturers retrieved successfully.", topN);
         return topManufacturers;
-    
-
     }
-   
 
 }
 
@@ -0,0 +1,81 @@
+package droneApi.Service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One limit/offset window of an upstream list endpoint.
+ * @param <T> the entity type
+ */
+public class Page<T> {
+
+    /** Row indexes of a page whose rows were all decoded. */
+    public static final int[] NO_ROWS = new int[0];
+
+    private final int count;			// Total number of items upstream, -1 if the upstream did not say
+    private final String next;			// URL of the next page, null on the last page
+    private final List<T> results;		// Entities of this page
+    private final int[] skippedRows;	// Indexes of the upstream rows that could not be decoded, ascending
+
+    /**
+     * Constructor for a page whose rows were all decoded.
+     * @param count		Total number of items, or -1 if unknown.
+     * @param next		URL of the next page, or null.
+     * @param results	Entities of this page.
+     */
+    public Page(int count, String next, List<T> results) {
+        this(count, next, results, NO_ROWS);
+    }
+
+    /**
+     * Constructor to initialize all fields of the page.
+     * @param count			Total number of items, or -1 if unknown.
+     * @param next			URL of the next page, or null.
+     * @param results		Entities of this page.
+     * @param skippedRows	Indexes of the rows that were not decoded, in ascending order.
+     */
+    public Page(int count, String next, List<T> results, int[] skippedRows) {
+        this.count = count;
+        this.next = next;
+        this.results = results;
+        this.skippedRows = skippedRows;
+    }
+
+    /**
+     * An empty last page.
+     * @return the empty page.
+     */
+    public static <T> Page<T> empty() {
+        return new Page<>(-1, null, Collections.emptyList());
+    }
+
+    /**
+     * Returns the number of upstream rows the page covered, including those that were not decoded.
+     * @return the row count.
+     */
+    public int getRowCount() {
+        return results.size() + skippedRows.length;
+    }
+
+    /**
+     * Returns the index among the page's upstream rows of a decoded result.
+     * @param result	Index in getResults().
+     * @return the row index.
+     */
+    public int rowOf(int result) {
+        int row = result;
+        for (int skipped : skippedRows) {
+            if (skipped > row) {
+                break;
+            }
+            row++;
+        }
+        return row;
+    }
+
+    // Getters
+    public int getCount() { return count; }
+    public String getNext() { return next; }
+    public List<T> getResults() { return results; }
+    public int[] getSkippedRows() { return skippedRows; }
+}
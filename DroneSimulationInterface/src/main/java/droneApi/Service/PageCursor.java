@@ -0,0 +1,114 @@
+package droneApi.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import droneApi.Store.FleetResource;
+
+/**
+ * Opaque position in a list endpoint, handed to clients as the next cursor of a page.
+ * Every list is paged in upstream order, by offset and by cursor alike, from the replica and from the upstream.
+ * For drones and drone types the cursor also holds the last ID returned: the replica seeks that item, so a page
+ * boundary holds while items are added or removed between pages; the upstream, which cannot seek by ID, uses the position.
+ * Dynamics are only appended upstream, so the position of a record in upstream order never changes and is the key itself.
+ */
+public final class PageCursor {
+
+    // Marks a cursor that seeks by position only: dynamics, or the first page of an offset request
+    public static final int NO_ID = Integer.MIN_VALUE;
+
+    private static final String FORMAT = "c1";
+
+    private final FleetResource resource;
+    private final int afterId;		// Last ID returned, or NO_ID
+    private final int position;		// Index of the next item in upstream order
+
+    private PageCursor(FleetResource resource, int afterId, int position) {
+        this.resource = resource;
+        this.afterId = afterId;
+        this.position = position;
+    }
+
+    /**
+     * A cursor at an offset, for requests that page by limit and offset.
+     * @param resource		The paged resource.
+     * @param offset		Index of the first item.
+     * @return the cursor.
+     */
+    public static PageCursor atOffset(FleetResource resource, int offset) {
+        return new PageCursor(resource, NO_ID, Math.max(offset, 0));
+    }
+
+    /**
+     * Reads a cursor handed out by {@link #encode()}.
+     * @param token			The cursor token.
+     * @param resource		The resource the request pages.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the token is malformed or belongs to another resource.
+     */
+    public static PageCursor decode(String token, FleetResource resource) {
+        String[] fields;
+        try {
+            fields = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":", -1);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed cursor", ex);
+        }
+        if (fields.length != 4 || !fields[0].equals(FORMAT)) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (!fields[1].equals(resource.getKey())) {
+            throw new IllegalArgumentException("Cursor of " + fields[1] + " used for " + resource.getKey());
+        }
+        try {
+            int afterId = fields[2].isEmpty() ? NO_ID : Integer.parseInt(fields[2]);
+            int position = Integer.parseInt(fields[3]);
+            if (position < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new PageCursor(resource, afterId, position);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed cursor", ex);
+        }
+    }
+
+    /**
+     * Writes the cursor as a URL-safe token.
+     * @return the token.
+     */
+    public String encode() {
+        String text = FORMAT + ":" + resource.getKey() + ":" + (hasId() ? Integer.toString(afterId) : "") + ":" + position;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Returns the cursor behind a page read from this one.
+     * @param lastId		ID of the last item of the page, or NO_ID to keep seeking by position.
+     * @param consumed		Number of upstream items the page covered.
+     * @return the cursor of the following page.
+     */
+    public PageCursor advance(int lastId, int consumed) {
+        return new PageCursor(resource, lastId == NO_ID ? afterId : lastId, (int) Math.min((long) position + consumed, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Returns the cursor at another position with the same last ID, where a seek by that ID found the next item.
+     * @param newPosition	Index of the next item in upstream order.
+     * @return the moved cursor.
+     */
+    public PageCursor moveTo(int newPosition) {
+        return new PageCursor(resource, afterId, newPosition);
+    }
+
+    /**
+     * Tells whether the cursor seeks by ID rather than by position.
+     * @return true if an ID was returned before.
+     */
+    public boolean hasId() {
+        return afterId != NO_ID;
+    }
+
+    // Getters
+    public FleetResource getResource() { return resource; }
+    public int getAfterId() { return afterId; }
+    public int getPosition() { return position; }
+}
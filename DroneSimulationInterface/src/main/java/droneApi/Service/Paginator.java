@@ -0,0 +1,235 @@
+package droneApi.Service;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over every item of an upstream list endpoint, in upstream order.
+ * The first page is read synchronously. If it reports a "count", the remaining offsets are known and up to
+ * "window" pages are fetched in parallel ahead of the consumer; otherwise the "next" links are followed, one page ahead.
+ * A new page is only requested when the consumer has taken one, so at most window + 1 pages are held in memory.
+ * Instances are meant for a single consumer thread; close the iterator (or the stream) to cancel prefetching.
+ * @param <T> the entity type
+ */
+public class Paginator<T> implements Iterator<T>, AutoCloseable {
+
+    // Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(Paginator.class);
+
+    private final BiFunction<Integer, Integer, Page<T>> pageByOffset;	// (limit, offset) -> page
+    private final Function<String, Page<T>> pageByUrl;				// next link -> page
+    private final int pageSize;
+    private final int window;
+    private final int startOffset;
+    private final long endOffset;	// Exclusive upper bound requested by the caller
+    private final Executor executor;
+
+    // Prefetched pages in upstream order
+    private final Deque<CompletableFuture<Page<T>>> pending = new ArrayDeque<>();
+    private Iterator<T> current = Collections.emptyIterator();
+
+    private boolean started;
+    private boolean closed;
+    private boolean followLinks;	// The upstream reported no count, walk the "next" links
+    private String nextUrl;
+    private long nextOffset;
+    private long upstreamEndOffset;	// min(endOffset, upstream count)
+    private long remaining;			// Items still to be returned
+
+    // Upstream offsets of what was returned, so a caller can resume where it stopped
+    private Page<T> currentPage;		// Page of the current iterator, null before the first
+    private long currentPageOffset;		// Upstream offset of its first row
+    private int currentResult;			// Results of the current page returned so far
+    private long lastOffset = -1;
+    private long resumeOffset;
+
+    // Statistics, logged on close
+    private long startNanos;
+    private int pages;
+    private long items;
+
+    /**
+     * Constructor to initialize the paginator.
+     * @param pageByOffset	Fetches a page by limit and offset.
+     * @param pageByUrl		Fetches a page by its "next" URL.
+     * @param pageSize		Items per page (limit).
+     * @param window		Maximum number of pages fetched ahead of the consumer.
+     * @param startOffset	Offset of the first item.
+     * @param maxItems		Maximum number of items to return; pages beyond it are not requested.
+     * @param executor		Executor running the prefetches.
+     */
+    public Paginator(BiFunction<Integer, Integer, Page<T>> pageByOffset, Function<String, Page<T>> pageByUrl,
+                     int pageSize, int window, int startOffset, long maxItems, Executor executor) {
+        this.pageByOffset = pageByOffset;
+        this.pageByUrl = pageByUrl;
+        this.pageSize = Math.max(1, pageSize);
+        this.window = Math.max(1, window);
+        this.startOffset = Math.max(0, startOffset);
+        // Saturated, as callers pass Long.MAX_VALUE for "no limit"
+        this.endOffset = maxItems >= Long.MAX_VALUE - this.startOffset ? Long.MAX_VALUE : this.startOffset + Math.max(0, maxItems);
+        this.remaining = Math.max(0, maxItems);
+        this.resumeOffset = this.startOffset;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (remaining <= 0) {
+            close();
+            return false;
+        }
+        while (!current.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            if (currentPage != null) {
+                // Rows the decoder skipped at the end of the page are consumed as well
+                resumeOffset = currentPageOffset + currentPage.getRowCount();
+            }
+            if (!started) {
+                start();
+                continue;
+            }
+
+            CompletableFuture<Page<T>> nextPage = pending.pollFirst();
+            if (nextPage == null) {
+                return false;
+            }
+            accept(await(nextPage));
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        items++;
+        remaining--;
+        T item = current.next();
+        lastOffset = currentPageOffset + currentPage.rowOf(currentResult++);
+        resumeOffset = lastOffset + 1;
+        return item;
+    }
+
+    /**
+     * Returns the upstream offset of the item last returned by next(); rows the decoder skipped count as well.
+     * @return the offset, or -1 if no item was returned yet.
+     */
+    public long getLastOffset() {
+        return lastOffset;
+    }
+
+    /**
+     * Returns the upstream offset to continue from: the row after the last returned item, or after the whole
+     * last page once the iterator is exhausted, so that trailing rows the decoder skipped are not read again.
+     * @return the offset of the first row not consumed.
+     */
+    public long getResumeOffset() {
+        return resumeOffset;
+    }
+
+    /**
+     * Returns the remaining items as an ordered, sequential stream; closing the stream stops the prefetching.
+     * @return the stream of items.
+     */
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Cancels all prefetches that are still running.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.forEach(page -> page.cancel(true));
+        pending.clear();
+        current = Collections.emptyIterator();
+        logger.debug("Paginated {} items in {} pages in {} ms (page size {}, window {}).", items, pages,
+                (System.nanoTime() - startNanos) / 1_000_000, pageSize, window);
+    }
+
+    /**
+     * Reads the first page and decides between offset prefetching and link following.
+     */
+    private void start() {
+        started = true;
+        startNanos = System.nanoTime();
+        Page<T> first = pageByOffset.apply(pageSize, startOffset);
+
+        if (first.getCount() >= 0) {
+            upstreamEndOffset = Math.min(endOffset, first.getCount());
+            nextOffset = startOffset + pageSize;
+        } else {
+            followLinks = true;
+        }
+        accept(first);
+    }
+
+    /**
+     * Makes a fetched page the current one and schedules the pages after it.
+     */
+    private void accept(Page<T> page) {
+        if (currentPage == null) {
+            currentPageOffset = startOffset;
+        } else if (followLinks) {
+            currentPageOffset += currentPage.getRowCount();
+        } else {
+            currentPageOffset = startOffset + (long) pages * pageSize;
+        }
+        pages++;
+        currentPage = page;
+        currentResult = 0;
+        current = page.getResults().iterator();
+
+        if (followLinks) {
+            nextUrl = page.getNext();
+            if (nextUrl != null && pending.isEmpty() && remaining > page.getResults().size()) {
+                String url = nextUrl;
+                pending.addLast(CompletableFuture.supplyAsync(() -> pageByUrl.apply(url), executor));
+            }
+        } else {
+            while (pending.size() < window && nextOffset < upstreamEndOffset) {
+                int offset = (int) nextOffset;
+                pending.addLast(CompletableFuture.supplyAsync(() -> pageByOffset.apply(pageSize, offset), executor));
+                nextOffset += pageSize;
+            }
+        }
+    }
+
+    /**
+     * Waits for a prefetched page, rethrowing its failure unwrapped.
+     */
+    private Page<T> await(CompletableFuture<Page<T>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException ex) {
+            close();
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+}
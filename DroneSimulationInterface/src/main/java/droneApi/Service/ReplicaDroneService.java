@@ -0,0 +1,426 @@
+package droneApi.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import droneApi.Analytics.DroneMetrics;
+import droneApi.Analytics.DroneMetricsEngine;
+import droneApi.Analytics.SeriesDownsampler;
+import droneApi.Analytics.TelemetryMetric;
+import droneApi.Analytics.TelemetrySeries;
+import droneApi.Analytics.ManufacturerLeaderboard;
+import droneApi.Analytics.SpeedAccumulator;
+import droneApi.Analytics.SpeedAggregator;
+import droneApi.Analytics.SpeedBreakdown;
+import droneApi.Analytics.SpeedSummary;
+import droneApi.Config.ConfigProvider;
+import droneApi.Config.ReplicaSettings;
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+import droneApi.Geo.DronePosition;
+import droneApi.Geo.GeoBox;
+import droneApi.Geo.PositionGrid;
+import droneApi.Geo.PositionIndex;
+import droneApi.Push.DynamicsBroadcaster;
+import droneApi.Push.DynamicsFilter;
+import droneApi.Push.DynamicsSubscriber;
+import droneApi.Push.OverflowPolicy;
+import droneApi.Push.PushStats;
+import droneApi.Store.DroneState;
+import droneApi.Store.DynamicsFootprint;
+import droneApi.Store.FleetResource;
+import droneApi.Store.FleetSnapshotManager;
+import droneApi.Store.FleetStore;
+import droneApi.Store.LatestStateIndex;
+import droneApi.Store.LatestStateMap;
+import droneApi.Store.ReplicaStatus;
+import droneApi.Store.SnapshotStatus;
+
+/**
+ * Answers reads from the local {@link FleetStore} when the replica is enabled and the resource is fresh,
+ * and passes them through to the upstream (coalesced) otherwise, e.g. while the replica is still cold.
+ */
+@Service
+public class ReplicaDroneService implements DroneService {
+
+    private final FleetStore fleetStore;
+    private final FleetSnapshotManager snapshotManager;
+    private final DroneService passThrough;
+    private final DroneApiService droneApiService;
+    private final ManufacturerLeaderboard manufacturerLeaderboard;
+    private final DroneMetricsEngine droneMetricsEngine;
+    private final PositionIndex positionIndex;
+    private final LatestStateIndex latestStateIndex;
+    private final DynamicsBroadcaster dynamicsBroadcaster;
+    private final ConfigProvider configProvider = ConfigProvider.getInstance();
+
+    // Part of every version tag; sync versions restart with the process, so tags of an earlier run never match
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * Constructor that initializes the service using dependency injection.
+     * @param fleetStore				The local replica.
+     * @param snapshotManager			Persists the replica; reports the startup-to-first-served time.
+     * @param coalescingDroneService	The upstream path used while the replica cannot serve a read.
+     * @param droneApiService			Streams the upstream data for aggregations the replica cannot serve.
+     * @param manufacturerLeaderboard	Manufacturer ranking maintained from the replica.
+     * @param droneMetricsEngine		Derives per-drone metrics from the replica or the upstream.
+     * @param positionIndex				Spatial index of the latest drone positions.
+     * @param latestStateIndex			Latest state of every drone.
+     * @param dynamicsBroadcaster		Pushes newly synced dynamics to subscribers.
+     */
+    @Autowired
+    public ReplicaDroneService(FleetStore fleetStore, FleetSnapshotManager snapshotManager,
+                               CoalescingDroneService coalescingDroneService, DroneApiService droneApiService,
+                               ManufacturerLeaderboard manufacturerLeaderboard, DroneMetricsEngine droneMetricsEngine,
+                               PositionIndex positionIndex, LatestStateIndex latestStateIndex,
+                               DynamicsBroadcaster dynamicsBroadcaster) {
+        this.fleetStore = fleetStore;
+        this.snapshotManager = snapshotManager;
+        this.passThrough = coalescingDroneService;
+        this.droneApiService = droneApiService;
+        this.manufacturerLeaderboard = manufacturerLeaderboard;
+        this.droneMetricsEngine = droneMetricsEngine;
+        this.positionIndex = positionIndex;
+        this.latestStateIndex = latestStateIndex;
+        this.dynamicsBroadcaster = dynamicsBroadcaster;
+    }
+
+    @Override
+    public Drone fetchDroneById(int id) {
+        if (isServable(FleetResource.DRONES)) {
+            Drone drone = fleetStore.getDrone(id);
+            if (drone != null) {
+                return drone;
+            }
+            // Possibly created upstream after the last sync
+        }
+        return passThrough.fetchDroneById(id);
+    }
+
+    @Override
+    public List<Drone> fetchDrones(int limit, int offset) {
+        if (isServable(FleetResource.DRONES)) {
+            return fleetStore.getDrones(limit, offset);
+        }
+        return passThrough.fetchDrones(limit, offset);
+    }
+
+    @Override
+    public List<DroneType> fetchDroneTypes(int limit, int offset) {
+        if (isServable(FleetResource.DRONE_TYPES)) {
+            return fleetStore.getDroneTypes(limit, offset);
+        }
+        return passThrough.fetchDroneTypes(limit, offset);
+    }
+
+    @Override
+    public List<DroneDynamics> fetchDroneDynamics(int limit, int offset) {
+        if (isServable(FleetResource.DRONE_DYNAMICS)) {
+            return fleetStore.getDynamics(limit, offset);
+        }
+        return passThrough.fetchDroneDynamics(limit, offset);
+    }
+
+    /**
+     * Returns the page of drones behind a cursor, in upstream order like an offset read, whichever side answers.
+     * The replica continues right behind the last drone the cursor returned, wherever drones added or removed
+     * meanwhile moved it, and at the cursor's position if that drone is gone. The upstream is asked at the position.
+     * @param limit		Page size.
+     * @param cursor	Where the page starts.
+     * @return the page, in upstream order.
+     */
+    public CursorPage<Drone> fetchDrones(int limit, PageCursor cursor) {
+        if (isServable(FleetResource.DRONES)) {
+            PageCursor start = cursor.hasId() ? cursor.moveTo(fleetStore.getDronePositionAfter(cursor.getAfterId(), cursor.getPosition())) : cursor;
+            return CursorPage.ofProbe(fleetStore.getDrones(probe(limit), start.getPosition()), limit, start, Drone::getId);
+        }
+        return CursorPage.ofWindow(passThrough.fetchDrones(limit, cursor.getPosition()), limit, cursor, Drone::getId);
+    }
+
+    /**
+     * Returns the page of drone types behind a cursor, like {@link #fetchDrones(int, PageCursor)}.
+     * @param limit		Page size.
+     * @param cursor	Where the page starts.
+     * @return the page, in upstream order.
+     */
+    public CursorPage<DroneType> fetchDroneTypes(int limit, PageCursor cursor) {
+        if (isServable(FleetResource.DRONE_TYPES)) {
+            PageCursor start = cursor.hasId() ? cursor.moveTo(fleetStore.getDroneTypePositionAfter(cursor.getAfterId(), cursor.getPosition())) : cursor;
+            return CursorPage.ofProbe(fleetStore.getDroneTypes(probe(limit), start.getPosition()), limit, start, DroneType::getId);
+        }
+        return CursorPage.ofWindow(passThrough.fetchDroneTypes(limit, cursor.getPosition()), limit, cursor, DroneType::getId);
+    }
+
+    /**
+     * Returns the page of dynamics behind a cursor. Records are only appended, so the cursor's position
+     * stays valid while the scan runs; the replica reads the rows at that upstream offset directly.
+     * @param limit		Page size.
+     * @param cursor	Where the page starts.
+     * @return the page, in upstream order.
+     */
+    public CursorPage<DroneDynamics> fetchDroneDynamics(int limit, PageCursor cursor) {
+        if (isServable(FleetResource.DRONE_DYNAMICS)) {
+            int position = cursor.getPosition();
+            CursorPage<DroneDynamics> page = CursorPage.ofProbe(fleetStore.getDynamics(probe(limit), position), limit, cursor, null);
+            if (page.getNext() == null) {
+                return page;
+            }
+            // Upstream rows the sync could not decode lie between the records, so the next page starts behind them
+            int next = fleetStore.getDynamicsOffsetAfter(position, page.getItems().size());
+            return new CursorPage<>(page.getItems(), cursor.advance(PageCursor.NO_ID, next - position));
+        }
+        return CursorPage.ofWindow(passThrough.fetchDroneDynamics(limit, cursor.getPosition()), limit, cursor, null);
+    }
+
+    /**
+     * Hands a window of dynamics to a consumer one record at a time, so the window is never held as a whole.
+     * The replica's rows are turned into entities one by one; the upstream is paged with bounded prefetching.
+     * @param limit		Maximum number of records.
+     * @param offset	Index of the first record.
+     * @param action	Called for every record, in upstream order.
+     */
+    public void forEachDroneDynamics(int limit, int offset, Consumer<DroneDynamics> action) {
+        if (isServable(FleetResource.DRONE_DYNAMICS)) {
+            fleetStore.scanDynamics(offset, limit, row -> action.accept(row.toEntity()));
+            return;
+        }
+        try (Stream<DroneDynamics> dynamics = droneApiService.streamDroneDynamics(offset, limit)) {
+            dynamics.forEach(action);
+        }
+    }
+
+    /**
+     * Returns one drone's dynamics in a time range from the replica's per-drone index.
+     * The upstream cannot filter by drone, so without a servable replica every call would stream the whole dataset;
+     * such reads are refused instead.
+     * @param droneId		The drone ID.
+     * @param fromMicros	Inclusive lower bound, epoch microseconds.
+     * @param toMicros		Inclusive upper bound, epoch microseconds.
+     * @return the matching records, in timestamp order, or null if the replica is disabled or not fresh.
+     */
+    public List<DroneDynamics> fetchDroneDynamicsOfDrone(int droneId, long fromMicros, long toMicros) {
+        if (!isServable(FleetResource.DRONE_DYNAMICS)) {
+            return null;
+        }
+        return fleetStore.getDynamicsOfDrone(droneId, fromMicros, toMicros);
+    }
+
+    /**
+     * Returns one drone's metric in a time range, downsampled to a point budget.
+     * The replica's rows are scanned in place; like the drone's dynamics, it is not computed from the upstream.
+     * @param droneId		The drone ID.
+     * @param metric		The metric to chart.
+     * @param fromMicros	Inclusive lower bound, epoch microseconds.
+     * @param toMicros		Inclusive upper bound, epoch microseconds.
+     * @param maxPoints		The point budget, at least 3.
+     * @return the series, or null if the replica is disabled or not fresh.
+     */
+    public TelemetrySeries getTelemetrySeries(int droneId, TelemetryMetric metric, long fromMicros, long toMicros, int maxPoints) {
+        if (!isServable(FleetResource.DRONE_DYNAMICS)) {
+            return null;
+        }
+        SeriesDownsampler downsampler = new SeriesDownsampler();
+        fleetStore.scanDynamicsOfDrone(droneId, fromMicros, toMicros, row -> downsampler.add(row.getTimestampMicros(), metric.of(row)));
+        return downsampler.toSeries(droneId, metric, maxPoints);
+    }
+
+    @Override
+    public double calculateAverageSpeed(int limit, int offset) {
+        return calculateSpeedSummary(limit, offset).getAverage();
+    }
+
+    /**
+     * Calculates average, minimum and maximum speed of the dynamics, from the replica if it is fresh.
+     * @param limit		Maximum number of records, or null for the whole dataset.
+     * @param offset	Index of the first record.
+     * @return the speed summary.
+     */
+    public SpeedSummary calculateSpeedSummary(Integer limit, int offset) {
+        if (isServable(FleetResource.DRONE_DYNAMICS)) {
+            SpeedAccumulator accumulator = new SpeedAccumulator();
+            fleetStore.scanDynamics(offset, limit != null ? limit : Integer.MAX_VALUE, row -> accumulator.add(row.getSpeed()));
+            return accumulator.toSummary();
+        }
+        return droneApiService.calculateSpeedSummary(limit, offset);
+    }
+
+    /**
+     * Calculates speed statistics per drone, status and time window, from the replica if it is fresh.
+     * @param limit			Maximum number of records, or null for the whole dataset.
+     * @param offset		Index of the first record.
+     * @param windowSeconds	Width of the time windows in seconds.
+     * @return the speed breakdown.
+     */
+    public SpeedBreakdown calculateSpeedBreakdown(Integer limit, int offset, long windowSeconds) {
+        if (isServable(FleetResource.DRONE_DYNAMICS)) {
+            SpeedAggregator aggregator = new SpeedAggregator(windowSeconds);
+            fleetStore.scanDynamics(offset, limit != null ? limit : Integer.MAX_VALUE, aggregator::add);
+            return aggregator.toBreakdown();
+        }
+        return droneApiService.calculateSpeedBreakdown(limit, offset, windowSeconds);
+    }
+
+    /**
+     * Ranks manufacturers by their number of drones.
+     * Answered from the leaderboard when the window covers the whole replicated catalogue, by streaming the upstream otherwise.
+     * @param topN		Number of manufacturers to return.
+     * @param limit		Maximum number of drone types to consider, or null for the whole catalogue.
+     * @param offset	Index of the first drone type.
+     * @return manufacturer to drone count, most drones first.
+     */
+    public Map<String, Long> getTopManufacturers(int topN, Integer limit, int offset) {
+        boolean wholeCatalogue = offset == 0 && (limit == null || limit >= fleetStore.getAllDroneTypes().size());
+        if (wholeCatalogue && manufacturerLeaderboard.isWarm()
+                && isServable(FleetResource.DRONE_TYPES) && isServable(FleetResource.DRONES)) {
+            return manufacturerLeaderboard.top(topN);
+        }
+        return droneApiService.getTopManufacturers(topN, limit, offset);
+    }
+
+    /**
+     * Returns the derived metrics of every drone, from the replica if drones, drone types and dynamics are fresh.
+     * @return the metrics, ordered by drone ID.
+     */
+    public List<DroneMetrics> getDroneMetrics() {
+        if (isServable(FleetResource.DRONE_DYNAMICS) && isServable(FleetResource.DRONES) && isServable(FleetResource.DRONE_TYPES)) {
+            return droneMetricsEngine.fromReplica();
+        }
+        return droneMetricsEngine.fromUpstream();
+    }
+
+    /**
+     * Finds the drones whose latest position is within a distance of a point.
+     * @param latitude		Latitude of the point in micro-degrees.
+     * @param longitude		Longitude of the point in micro-degrees.
+     * @param radiusKm		The distance in km.
+     * @param limit			Maximum number of drones to return.
+     * @return the positions, nearest first.
+     */
+    public List<DronePosition> findNearby(int latitude, int longitude, double radiusKm, int limit) {
+        return positionGrid().nearby(latitude, longitude, radiusKm, limit);
+    }
+
+    /**
+     * Finds the drones whose latest position is inside a box.
+     * @param box		The box.
+     * @param limit		Maximum number of drones to return.
+     * @return the positions, ordered by drone ID.
+     */
+    public List<DronePosition> findWithin(GeoBox box, int limit) {
+        return positionGrid().within(box, limit);
+    }
+
+    /**
+     * Returns the latest state of every drone, from the map maintained at ingest if the replica can serve.
+     * @return the states, ordered by drone ID.
+     */
+    public List<DroneState> getLatestStates() {
+        LatestStateMap states = isServable(FleetResource.DRONE_DYNAMICS) ? latestStateIndex.fromReplica() : latestStateIndex.fromUpstream();
+        return states.all();
+    }
+
+    /**
+     * Subscribes a stream to the dynamics the replica syncs from now on.
+     * @param filter		The dynamics to receive.
+     * @param policy		What to do when the subscriber falls behind, or null for the configured default.
+     * @param emitter		The response stream.
+     * @return the subscriber, or null if the replica is disabled, so nothing would be pushed, or too many streams are open.
+     */
+    public DynamicsSubscriber subscribeDynamics(DynamicsFilter filter, OverflowPolicy policy, ResponseBodyEmitter emitter) {
+        if (!configProvider.current().getReplica().isEnabled()) {
+            return null;
+        }
+        return dynamicsBroadcaster.subscribe(filter, policy, emitter);
+    }
+
+    /**
+     * Returns the counters of the dynamics push streams.
+     * @return the stats.
+     */
+    public PushStats getPushStats() {
+        return dynamicsBroadcaster.stats();
+    }
+
+    /**
+     * Returns the sync state of all replicated resources.
+     * @return the status per resource.
+     */
+    public Map<String, ReplicaStatus> getStatus() {
+        return fleetStore.status();
+    }
+
+    /**
+     * Returns the memory held by the replicated dynamics columns.
+     * @return the footprint.
+     */
+    public DynamicsFootprint getDynamicsFootprint() {
+        return fleetStore.getDynamicsFootprint();
+    }
+
+    /**
+     * Returns restore and write statistics of the replica snapshot file.
+     * @return the snapshot status.
+     */
+    public SnapshotStatus getSnapshotStatus() {
+        return snapshotManager.status();
+    }
+
+    // One item more than the page, telling the replica whether another page follows
+    private static int probe(int limit) {
+        return limit < Integer.MAX_VALUE ? Math.max(limit, 0) + 1 : limit;
+    }
+
+    private PositionGrid positionGrid() {
+        return isServable(FleetResource.DRONE_DYNAMICS) ? positionIndex.fromReplica() : positionIndex.fromUpstream();
+    }
+
+    /**
+     * Returns an entity tag for a list read the replica will answer, derived from the data version,
+     * so a poll of unchanged data needs neither the read nor the serialization.
+     * A dynamics page is tagged by how many of its rows exist, which relies on a stored row always rendering
+     * the same text: the table keeps every value as the upstream wrote it, nothing table-wide such as a
+     * column scale goes into the text of a row.
+     * Take it before the read: a sync in between only costs the client one more full response, never stale data.
+     * @param resource		The resource.
+     * @param limit			Page size of the read.
+     * @param offset		Page offset of the read.
+     * @return the tag, without quotes, or null if the read goes to the upstream.
+     */
+    public String versionTag(FleetResource resource, int limit, int offset) {
+        if (!isServable(resource)) {
+            return null;
+        }
+        long version;
+        if (resource == FleetResource.DRONE_DYNAMICS) {
+            // Rows are only appended and never render differently later, so a page changes only while its end,
+            // plus the row that tells whether another page follows, is beyond the last row. The end is taken
+            // as an offset, which is never below the row it falls on, so skipped offsets only delay the match
+            version = Math.min(fleetStore.getDynamicsCount(), (long) Math.max(offset, 0) + Math.max(limit, 0) + 1);
+        } else {
+            version = fleetStore.getStatus(resource).getVersion();
+        }
+        return resource.getKey() + "-" + instanceTag + "-" + version;
+    }
+
+    /**
+     * Tells whether the replica may answer reads of a resource.
+     * @param resource		The resource.
+     * @return true if the replica is enabled and the resource was synced within the maximum staleness.
+     */
+    public boolean isServable(FleetResource resource) {
+        ReplicaSettings settings = configProvider.current().getReplica();
+        if (settings.isEnabled() && fleetStore.isFresh(resource, settings.getMaxStalenessSeconds() * 1000)) {
+            snapshotManager.recordServed();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package droneApi.Service;
+
+/**
+ * Helpers for the resource URLs the Drone API uses as references
+ * (e.g., "http://dronesim.facets-labs.com/api/dronetypes/12/").
+ */
+public final class ResourceUrls {
+
+    private ResourceUrls() {
+    }
+
+    /**
+     * Extracts the numeric ID, i.e. the last path segment, from a resource URL.
+     * @param url		The resource URL.
+     * @return the ID, or -1 if the URL does not end with a numeric segment.
+     */
+    public static int idOf(String url) {
+        if (url == null) {
+            return -1;
+        }
+
+        // Ignore the query string and any trailing slash
+        int end = url.indexOf('?');
+        end = end < 0 ? url.length() : end;
+        while (end > 0 && url.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        int start = end;
+        while (start > 0 && Character.isDigit(url.charAt(start - 1))) {
+            start--;
+        }
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        return Integer.parseInt(url, start, end, 10);
+    }
+}
@@ -0,0 +1,87 @@
+package droneApi.Store;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import droneApi.Entities.DroneDynamics;
+import droneApi.Geo.MicroDegrees;
+import droneApi.Service.ResourceUrls;
+import droneApi.Time.Timestamps;
+
+/**
+ * Current state of a drone, taken from its most recent dynamics record.
+ * Immutable, so a state read from the {@link LatestStateMap} never changes under the reader.
+ */
+public final class DroneState {
+
+    private final int droneId;
+    private final long timestampMicros;		// Epoch microseconds of the record
+    private final String timestamp;			// Timestamp as written by the upstream
+    private final int speed;
+    private final int batteryStatus;
+    private final int latitude;				// Micro-degrees, or MicroDegrees.NONE
+    private final int longitude;			// Micro-degrees, or MicroDegrees.NONE
+    private final String status;
+    private final String lastSeen;
+
+    /**
+     * Constructor to initialize all fields.
+     * @param droneId			The drone ID.
+     * @param timestampMicros	Epoch microseconds of the record.
+     * @param timestamp			Timestamp of the record as written by the upstream.
+     * @param speed				Speed of the drone.
+     * @param batteryStatus		Battery level in percent.
+     * @param latitude			Latitude in micro-degrees.
+     * @param longitude			Longitude in micro-degrees.
+     * @param status			Operational status.
+     * @param lastSeen			Last recorded active time.
+     */
+    public DroneState(int droneId, long timestampMicros, String timestamp, int speed, int batteryStatus,
+                      int latitude, int longitude, String status, String lastSeen) {
+        this.droneId = droneId;
+        this.timestampMicros = timestampMicros;
+        this.timestamp = timestamp;
+        this.speed = speed;
+        this.batteryStatus = batteryStatus;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.status = status;
+        this.lastSeen = lastSeen;
+    }
+
+    /**
+     * Takes the state of a dynamics record.
+     * @param record		The dynamics record.
+     * @return the state.
+     */
+    public static DroneState of(DroneDynamics record) {
+        return new DroneState(ResourceUrls.idOf(record.getDrone()), record.getTimestampMicros(), record.getTimestamp(),
+                record.getSpeed(), record.getBatteryStatus(), record.getLatitude(), record.getLongitude(),
+                record.getStatus(), record.getLastSeen());
+    }
+
+    /**
+     * Tells whether this state may replace another state of the same drone; on equal timestamps the later record wins.
+     * @param current		The state currently held, or null.
+     * @return true if this state is at least as recent.
+     */
+    public boolean supersedes(DroneState current) {
+        return current == null || timestampMicros >= current.timestampMicros;
+    }
+
+    // Getters
+    public int getDroneId() { return droneId; }
+    @JsonIgnore
+    public long getTimestampMicros() { return timestampMicros; }
+    @JsonSerialize(using = Timestamps.Serializer.class)
+    public String getTimestamp() { return timestamp; }
+    public int getSpeed() { return speed; }
+    public int getBatteryStatus() { return batteryStatus; }
+    @JsonSerialize(using = MicroDegrees.Serializer.class)
+    public int getLatitude() { return latitude; }
+    @JsonSerialize(using = MicroDegrees.Serializer.class)
+    public int getLongitude() { return longitude; }
+    public String getStatus() { return status; }
+    @JsonSerialize(using = Timestamps.Serializer.class)
+    public String getLastSeen() { return lastSeen; }
+}
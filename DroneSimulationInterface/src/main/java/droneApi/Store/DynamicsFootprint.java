@@ -0,0 +1,34 @@
+package droneApi.Store;
+
+/**
+ * Memory held by the columns of the {@link DynamicsTable}, including unused capacity.
+ */
+public class DynamicsFootprint {
+
+    private final int rows;
+    private final int drones;			// Number of per-drone series
+    private final long bytes;			// Allocated column bytes
+    private final int statuses;			// Entries of the status dictionary
+
+    /**
+     * Constructor to initialize all fields.
+     * @param rows			Number of rows.
+     * @param drones		Number of per-drone series.
+     * @param bytes			Allocated column bytes.
+     * @param statuses		Entries of the status dictionary.
+     */
+    public DynamicsFootprint(int rows, int drones, long bytes, int statuses) {
+        this.rows = rows;
+        this.drones = drones;
+        this.bytes = bytes;
+        this.statuses = statuses;
+    }
+
+    // Getters
+    public int getRows() { return rows; }
+    public int getDrones() { return drones; }
+    public long getBytes() { return bytes; }
+    public int getStatuses() { return statuses; }
+    public double getBytesPerRow() { return rows == 0 ? 0 : (double) bytes / rows; }
+    public long getBytesPerMillionRows() { return Math.round(getBytesPerRow() * 1_000_000); }
+}
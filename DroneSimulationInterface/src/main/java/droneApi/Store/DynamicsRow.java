@@ -0,0 +1,48 @@
+package droneApi.Store;
+
+import droneApi.Entities.DroneDynamics;
+
+/**
+ * Cursor over one row of the {@link DynamicsTable}, handed to scan visitors.
+ * It is moved to the next row after each visit, so copy the values you need instead of keeping the cursor.
+ */
+public final class DynamicsRow {
+
+    private DynamicsTable.State state;
+    private DynamicsTable.Columns columns;
+    private int code;
+    private int index;
+
+    DynamicsRow() {
+    }
+
+    void moveTo(DynamicsTable.State state, int code, int index) {
+        this.state = state;
+        this.columns = state.series[code];
+        this.code = code;
+        this.index = index;
+    }
+
+    public int getDroneId() { return columns.droneId; }
+    public String getDroneUrl() { return columns.droneUrl; }
+    public long getTimestampMicros() { return columns.timestamp[index]; }
+    public String getTimestampOffset() { return state.offsetSuffixes[columns.timestampOffset[index]]; }	// "Z", "+01:00"
+    public long getLastSeenMicros() { return columns.lastSeen[index]; }
+    public String getLastSeenOffset() { return state.offsetSuffixes[columns.lastSeenOffset[index]]; }
+    public int getSpeed() { return columns.speed[index]; }
+    public int getBatteryStatus() { return columns.battery[index]; }
+    public int getLongitude() { return columns.longitude[index]; }	// Micro-degrees
+    public int getLatitude() { return columns.latitude[index]; }
+    public String getStatus() { return state.statuses[columns.status[index]]; }
+    public String getAlignRoll() { return DynamicsTable.formatAttitude(columns.roll[index], columns.rollScale[index], state.attitudeTexts); }
+    public String getAlignPitch() { return DynamicsTable.formatAttitude(columns.pitch[index], columns.pitchScale[index], state.attitudeTexts); }
+    public String getAlignYaw() { return DynamicsTable.formatAttitude(columns.yaw[index], columns.yawScale[index], state.attitudeTexts); }
+
+    /**
+     * Creates the entity of the current row.
+     * @return the entity.
+     */
+    public DroneDynamics toEntity() {
+        return state.entity(code, index);
+    }
+}
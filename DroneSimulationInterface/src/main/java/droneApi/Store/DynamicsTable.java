@@ -0,0 +1,857 @@
+package droneApi.Store;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import droneApi.Entities.DroneDynamics;
+import droneApi.Service.ResourceUrls;
+import droneApi.Time.Timestamps;
+
+/**
+ * Column store of the replicated drone dynamics.
+ * Every drone has its own series of primitive columns (epoch microseconds, speed, battery, attitude, position,
+ * dictionary-encoded status), and a global row order keeps the upstream order for offset paging.
+ * Attitudes are kept as unscaled ints with the decimal places of each value, so every row renders as the
+ * upstream wrote it; text that is not a plain decimal is kept verbatim in a dictionary.
+ * Offsets are those of the upstream: rows the upstream sent but that could not be decoded are remembered as
+ * skipped offsets, so an offset means the same record here as in /api/dronedynamics/.
+ * {@link DroneDynamics} entities are only created for the rows a caller asks for.
+ * <p>
+ * There is a single writer (the {@link FleetStore}, under its lock). Every append publishes a new immutable
+ * {@link State}; column arrays are shared between states and only written beyond the published sizes,
+ * so readers never lock and always see a consistent table.
+ */
+public final class DynamicsTable {
+
+    /** Timestamp of rows whose timestamp is missing or cannot be parsed. */
+    public static final long NO_TIME = Timestamps.NO_TIME;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Attitude scales that are not decimal places: a missing value, and text kept in the attitude dictionary
+    private static final byte ATTITUDE_NONE = -1;
+    private static final byte ATTITUDE_TEXT = -2;
+    private static final int MAX_ATTITUDE_SCALE = 9;
+    private static final int MAX_ATTITUDE_CHARS = 12;	// "-2147483647", "-0.000000001"
+
+    private volatile State state = State.EMPTY;
+
+    // Writer-side dictionaries, only touched under the FleetStore lock
+    private final Map<String, Short> statusCodes = new HashMap<>();
+    private final Map<String, Short> offsetCodes = new HashMap<>();
+    private final Map<String, Integer> attitudeCodes = new HashMap<>();
+
+    /**
+     * Appends records read from the upstream.
+     * @param records		The records to append, in upstream order.
+     * @param offsets		Upstream offset of each record, ascending and not below {@link #nextOffset()}.
+     * @param end			Upstream offset after the rows read; rows up to it without a record were skipped.
+     */
+    void append(List<DroneDynamics> records, int[] offsets, int end) {
+        State current = state;
+        int[] skipped = current.skipped;
+        int expected = current.nextOffset();
+        int skippedCount = skipped.length;
+        for (int i = 0; i <= records.size(); i++) {
+            int offset = i < records.size() ? offsets[i] : Math.max(end, expected);
+            if (offset > expected) {
+                skipped = Arrays.copyOf(skipped, skippedCount + offset - expected);
+                while (expected < offset) {
+                    skipped[skippedCount++] = expected++;
+                }
+            }
+            expected = Math.max(expected, offset + 1);
+        }
+        if (records.isEmpty()) {
+            if (skipped != current.skipped) {
+                state = current.withSkipped(skipped);
+            }
+            return;
+        }
+        append(records, skipped);
+    }
+
+    /**
+     * Fills an empty table from a snapshot.
+     * @param records		The records, in upstream order.
+     * @param skipped		Upstream offsets without a record, ascending.
+     */
+    void restore(List<DroneDynamics> records, int[] skipped) {
+        append(records, skipped);
+        if (records.isEmpty()) {
+            state = state.withSkipped(skipped);
+        }
+    }
+
+    private void append(List<DroneDynamics> records, int[] skipped) {
+        if (records.isEmpty()) {
+            return;
+        }
+        State current = state;
+        int size = current.size;
+
+        Columns[] series = current.series;
+        Map<Integer, Integer> seriesByDrone = current.seriesByDrone;
+        String[] statuses = current.statuses;
+        String[] offsetSuffixes = current.offsetSuffixes;
+        int[] offsetSeconds = current.offsetSeconds;
+        String[] attitudeTexts = current.attitudeTexts;
+
+        int[] rowSeries = grow(current.rowSeries, size + records.size());
+        int[] rowIndex = grow(current.rowIndex, size + records.size());
+        Map<Integer, Columns.Builder> touched = new HashMap<>();
+
+        for (DroneDynamics record : records) {
+            int droneId = ResourceUrls.idOf(record.getDrone());
+            Integer code = seriesByDrone.get(droneId);
+            if (code == null) {
+                code = series.length;
+                series = Arrays.copyOf(series, code + 1);
+                series[code] = Columns.empty(droneId, record.getDrone());
+                seriesByDrone = copyWith(seriesByDrone, droneId, code);
+            }
+
+            // Timestamps keep their UTC offset as written by the upstream, dictionary-encoded
+            long timestamp = record.getTimestampMicros();
+            long lastSeen = record.getLastSeenMicros();
+            String timestampSuffix = offsetSuffix(record.getTimestamp(), timestamp);
+            String lastSeenSuffix = offsetSuffix(record.getLastSeen(), lastSeen);
+            short timestampOffset = encode(offsetCodes, timestampSuffix);
+            short lastSeenOffset = encode(offsetCodes, lastSeenSuffix);
+            if (offsetCodes.size() > offsetSuffixes.length) {
+                offsetSuffixes = Arrays.copyOf(offsetSuffixes, offsetCodes.size());
+                offsetSeconds = Arrays.copyOf(offsetSeconds, offsetCodes.size());
+                for (Map.Entry<String, Short> entry : offsetCodes.entrySet()) {
+                    offsetSuffixes[entry.getValue()] = entry.getKey();
+                    offsetSeconds[entry.getValue()] = Timestamps.offsetSecondsOf(entry.getKey());
+                }
+            }
+
+            short status = encode(statusCodes, record.getStatus());
+            if (statusCodes.size() > statuses.length) {
+                statuses = Arrays.copyOf(statuses, statusCodes.size());
+                statuses[status] = record.getStatus();
+            }
+
+            long roll = parseAttitude(record.getAlignRoll(), attitudeCodes);
+            long pitch = parseAttitude(record.getAlignPitch(), attitudeCodes);
+            long yaw = parseAttitude(record.getAlignYaw(), attitudeCodes);
+            if (attitudeCodes.size() > attitudeTexts.length) {
+                attitudeTexts = Arrays.copyOf(attitudeTexts, attitudeCodes.size());
+                for (Map.Entry<String, Integer> entry : attitudeCodes.entrySet()) {
+                    attitudeTexts[entry.getValue()] = entry.getKey();
+                }
+            }
+
+            Columns.Builder builder = touched.get(code);
+            if (builder == null) {
+                builder = new Columns.Builder(series[code]);
+                touched.put(code, builder);
+            }
+            int index = builder.add(timestamp, timestampOffset, lastSeen, lastSeenOffset, record.getSpeed(),
+                    record.getBatteryStatus(), roll, pitch, yaw,
+                    record.getLongitude(), record.getLatitude(), status);
+
+            rowSeries[size] = code;
+            rowIndex[size] = index;
+            size++;
+        }
+
+        Columns[] published = series == current.series ? series.clone() : series;
+        for (Map.Entry<Integer, Columns.Builder> entry : touched.entrySet()) {
+            Columns base = published[entry.getKey()];
+            published[entry.getKey()] = entry.getValue().build(base.droneId, base.droneUrl);
+        }
+        state = new State(size, rowSeries, rowIndex, published, seriesByDrone, statuses, offsetSuffixes, offsetSeconds, attitudeTexts, skipped);
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return the row count.
+     */
+    public int size() {
+        return state.size;
+    }
+
+    /**
+     * Returns the upstream offset after the last row read, skipped rows included; an incremental sync resumes there.
+     * @return the next upstream offset.
+     */
+    public int nextOffset() {
+        return state.nextOffset();
+    }
+
+    /**
+     * Returns the upstream offset behind a number of rows.
+     * @param offset	Upstream offset of the first row.
+     * @param rows		Number of rows from it.
+     * @return the upstream offset of the row that follows them, or {@link #nextOffset()} if there is none.
+     */
+    public int offsetAfter(int offset, int rows) {
+        State current = state;
+        long row = (long) current.rowAt(offset) + Math.max(rows, 0);
+        return row >= current.size ? current.nextOffset() : current.offsetOf((int) row);
+    }
+
+    /**
+     * Creates the entities of a window of rows in upstream order.
+     * @param limit		Maximum number of rows.
+     * @param offset	Upstream offset of the first row.
+     * @return the entities.
+     */
+    public List<DroneDynamics> page(int limit, int offset) {
+        State current = state;
+        int from = current.rowAt(offset);
+        int to = (int) Math.min((long) from + Math.max(limit, 0), current.size);
+        List<DroneDynamics> page = new ArrayList<>(to - from);
+        for (int row = from; row < to; row++) {
+            page.add(current.entity(current.rowSeries[row], current.rowIndex[row]));
+        }
+        return page;
+    }
+
+    /**
+     * Returns one drone's rows whose timestamp lies in a range, in timestamp order, as a read-only list that
+     * creates each entity on access. The range is found by binary search over the drone's time-sorted rows,
+     * so the cost is proportional to the rows returned, not to the table.
+     * @param droneId		The drone ID.
+     * @param fromMicros	Inclusive lower bound, epoch microseconds.
+     * @param toMicros		Inclusive upper bound, epoch microseconds.
+     * @return the rows.
+     */
+    public List<DroneDynamics> ofDrone(int droneId, long fromMicros, long toMicros) {
+        State current = state;
+        Integer code = current.seriesByDrone.get(droneId);
+        if (code == null || fromMicros > toMicros) {
+            return List.of();
+        }
+        Columns columns = current.series[code];
+        int[] order = columns.timeOrder();
+        int first = columns.lowerBound(order, fromMicros);
+        int end = toMicros == Long.MAX_VALUE ? columns.size : columns.lowerBound(order, toMicros + 1);
+        return new DroneRange(current, code, order, first, end);
+    }
+
+    /**
+     * Visits a window of rows in upstream order without creating entities.
+     * The row passed to the visitor is a cursor that is moved to the next row afterwards; do not keep it.
+     * @param offset	Upstream offset of the first row.
+     * @param limit		Maximum number of rows.
+     * @param visitor	Called for every row.
+     */
+    public void scan(int offset, int limit, Consumer<DynamicsRow> visitor) {
+        State current = state;
+        int from = current.rowAt(offset);
+        int to = (int) Math.min((long) from + Math.max(limit, 0), current.size);
+        DynamicsRow row = new DynamicsRow();
+        for (int i = from; i < to; i++) {
+            row.moveTo(current, current.rowSeries[i], current.rowIndex[i]);
+            visitor.accept(row);
+        }
+    }
+
+    /**
+     * Visits all rows of one drone in timestamp order without creating entities.
+     * The row passed to the visitor is a cursor that is moved to the next row afterwards; do not keep it.
+     * @param droneId	The drone ID.
+     * @param visitor	Called for every row of the drone.
+     */
+    public void scanDrone(int droneId, Consumer<DynamicsRow> visitor) {
+        scanDrone(droneId, Long.MIN_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Visits the rows of one drone in a time range, in timestamp order, without creating entities.
+     * The row passed to the visitor is a cursor that is moved to the next row afterwards; do not keep it.
+     * @param droneId		The drone ID.
+     * @param fromMicros	Inclusive lower bound, epoch microseconds.
+     * @param toMicros		Inclusive upper bound, epoch microseconds.
+     * @param visitor		Called for every matching row.
+     */
+    public void scanDrone(int droneId, long fromMicros, long toMicros, Consumer<DynamicsRow> visitor) {
+        State current = state;
+        Integer code = current.seriesByDrone.get(droneId);
+        if (code == null || fromMicros > toMicros) {
+            return;
+        }
+        Columns columns = current.series[code];
+        int[] order = columns.timeOrder();
+        int first = fromMicros == Long.MIN_VALUE ? 0 : columns.lowerBound(order, fromMicros);
+        int end = toMicros == Long.MAX_VALUE ? columns.size : columns.lowerBound(order, toMicros + 1);
+        DynamicsRow row = new DynamicsRow();
+        for (int i = first; i < end; i++) {
+            row.moveTo(current, code, order == null ? i : order[i]);
+            visitor.accept(row);
+        }
+    }
+
+    /**
+     * Returns the IDs of all drones that have rows.
+     * @return the drone IDs, in order of their first row.
+     */
+    public int[] droneIds() {
+        State current = state;
+        int[] ids = new int[current.series.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = current.series[i].droneId;
+        }
+        return ids;
+    }
+
+    /**
+     * Returns all rows as a read-only list that creates each entity on access.
+     * @return the list view of the current rows.
+     */
+    public List<DroneDynamics> asList() {
+        State current = state;
+        return new EntityView(current);
+    }
+
+    /**
+     * Returns a table fixed at the current rows, e.g. to write them out while the sync keeps appending here.
+     * Do not append to it; it has none of the writer-side dictionaries.
+     * @return the fixed table.
+     */
+    public DynamicsTable view() {
+        DynamicsTable view = new DynamicsTable();
+        view.state = state;
+        return view;
+    }
+
+    /**
+     * Returns the upstream offset of every row.
+     * @return the offsets, one per row, ascending.
+     */
+    public int[] rowOffsets() {
+        State current = state;
+        int[] offsets = new int[current.size];
+        int offset = 0;
+        int skippedIndex = 0;
+        for (int row = 0; row < offsets.length; row++, offset++) {
+            while (skippedIndex < current.skipped.length && current.skipped[skippedIndex] == offset) {
+                skippedIndex++;
+                offset++;
+            }
+            offsets[row] = offset;
+        }
+        return offsets;
+    }
+
+    /**
+     * Returns the upstream offsets of the rows that were read but not stored.
+     * @return the offsets, ascending; do not modify.
+     */
+    public int[] skippedOffsets() {
+        return state.skipped;
+    }
+
+    /**
+     * Measures the memory held by the columns.
+     * @return the footprint.
+     */
+    public DynamicsFootprint footprint() {
+        State current = state;
+        long bytes = 8L * current.rowSeries.length;	// Global order, two ints per row slot
+        for (Columns columns : current.series) {
+            bytes += (long) columns.capacity() * Columns.BYTES_PER_ROW;
+        }
+        return new DynamicsFootprint(current.size, current.series.length, bytes, current.statuses.length);
+    }
+
+    // Parsing and rendering
+
+    private static String offsetSuffix(String timestamp, long micros) {
+        if (micros == NO_TIME) {
+            return "Z";
+        }
+        return timestamp.endsWith("Z") ? "Z" : timestamp.substring(timestamp.length() - 6);
+    }
+
+    /**
+     * Parses an attitude into its unscaled value (high 32 bits) and its scale (low 8 bits).
+     * Only text that renders back unchanged is parsed ("-7.00", "12", not "+1", "007", "-0.0" or "1e3");
+     * any other text is added to the dictionary and its code takes the place of the value.
+     */
+    static long parseAttitude(String text, Map<String, Integer> texts) {
+        if (text == null) {
+            return packAttitude(0, ATTITUDE_NONE);
+        }
+        int length = text.length();
+        int at = text.startsWith("-") ? 1 : 0;
+        int integerStart = at;
+        long value = 0;
+        int scale = -1;		// Not past the point yet
+        for (; at < length; at++) {
+            char c = text.charAt(at);
+            if (c == '.' && scale < 0 && at > integerStart) {
+                scale = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                break;
+            }
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        boolean leadingZero = at > integerStart + 1 && text.charAt(integerStart) == '0' && text.charAt(integerStart + 1) != '.';
+        if (at == length && at > integerStart && scale != 0 && scale <= MAX_ATTITUDE_SCALE && !leadingZero
+                && !(value == 0 && integerStart > 0)) {
+            return packAttitude(integerStart > 0 ? (int) -value : (int) value, (byte) Math.max(scale, 0));
+        }
+        Integer code = texts.get(text);
+        if (code == null) {
+            code = texts.size();
+            texts.put(text, code);
+        }
+        return packAttitude(code, ATTITUDE_TEXT);
+    }
+
+    private static long packAttitude(int value, byte scale) {
+        return (long) value << 32 | scale & 0xFF;
+    }
+
+    /**
+     * Renders an attitude with its own number of decimal places.
+     * @param value		The unscaled value, or the dictionary code of text.
+     * @param scale		The decimal places, ATTITUDE_NONE or ATTITUDE_TEXT.
+     * @param texts		The attitude dictionary.
+     * @return the text, or null if the value is missing.
+     */
+    static String formatAttitude(int value, byte scale, String[] texts) {
+        if (scale == ATTITUDE_NONE) {
+            return null;
+        }
+        if (scale == ATTITUDE_TEXT) {
+            return texts[value];
+        }
+        char[] buffer = new char[MAX_ATTITUDE_CHARS];
+        long magnitude = Math.abs((long) value);
+
+        // Digits are written backwards from the end of the buffer
+        int at = buffer.length;
+        for (int i = 0; i < scale; i++) {
+            buffer[--at] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        }
+        if (scale > 0) {
+            buffer[--at] = '.';
+        }
+        do {
+            buffer[--at] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude > 0);
+        if (value < 0) {
+            buffer[--at] = '-';
+        }
+        return new String(buffer, at, buffer.length - at);
+    }
+
+    private static short encode(Map<String, Short> codes, String value) {
+        Short code = codes.get(value);
+        if (code == null) {
+            if (codes.size() == Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct values for a dictionary column");
+            }
+            code = (short) codes.size();
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    private static int[] grow(int[] array, int minCapacity) {
+        if (array.length >= minCapacity) {
+            return array;
+        }
+        return Arrays.copyOf(array, Math.max(minCapacity, Math.max(INITIAL_CAPACITY, array.length + (array.length >> 1))));
+    }
+
+    private static Map<Integer, Integer> copyWith(Map<Integer, Integer> map, int key, int value) {
+        Map<Integer, Integer> copy = new HashMap<>(map);
+        copy.put(key, value);
+        return copy;
+    }
+
+    /**
+     * One published version of the table.
+     */
+    static final class State {
+
+        static final State EMPTY = new State(0, new int[0], new int[0], new Columns[0], Map.of(),
+                new String[0], new String[0], new int[0], new String[0], new int[0]);
+
+        final int size;
+        final int[] rowSeries;					// Series of every row, in upstream order
+        final int[] rowIndex;					// Index of every row within its series
+        final Columns[] series;
+        final Map<Integer, Integer> seriesByDrone;
+        final String[] statuses;				// Status dictionary
+        final String[] offsetSuffixes;			// UTC offset dictionary, as written by the upstream ("Z", "+01:00")
+        final int[] offsetSeconds;				// Parallel to offsetSuffixes
+        final String[] attitudeTexts;			// Attitude dictionary, text that is not a plain decimal
+        final int[] skipped;					// Upstream offsets read without a row, ascending
+
+        State(int size, int[] rowSeries, int[] rowIndex, Columns[] series, Map<Integer, Integer> seriesByDrone,
+              String[] statuses, String[] offsetSuffixes, int[] offsetSeconds, String[] attitudeTexts, int[] skipped) {
+            this.size = size;
+            this.rowSeries = rowSeries;
+            this.rowIndex = rowIndex;
+            this.series = series;
+            this.seriesByDrone = seriesByDrone;
+            this.statuses = statuses;
+            this.offsetSuffixes = offsetSuffixes;
+            this.offsetSeconds = offsetSeconds;
+            this.attitudeTexts = attitudeTexts;
+            this.skipped = skipped;
+        }
+
+        State withSkipped(int[] newSkipped) {
+            return new State(size, rowSeries, rowIndex, series, seriesByDrone, statuses, offsetSuffixes, offsetSeconds,
+                    attitudeTexts, newSkipped);
+        }
+
+        int nextOffset() {
+            return size + skipped.length;
+        }
+
+        /**
+         * Returns the first row at or after an upstream offset.
+         */
+        int rowAt(int offset) {
+            if (offset <= 0) {
+                return 0;
+            }
+            int below = Arrays.binarySearch(skipped, offset);
+            below = below >= 0 ? below : -below - 1;	// Skipped offsets below the given one
+            return Math.min(offset - below, size);
+        }
+
+        /**
+         * Returns the upstream offset of a row.
+         */
+        int offsetOf(int row) {
+            int offset = row;
+            for (int skippedOffset : skipped) {
+                if (skippedOffset > offset) {
+                    break;
+                }
+                offset++;
+            }
+            return offset;
+        }
+
+        DroneDynamics entity(int code, int i) {
+            Columns c = series[code];
+            return new DroneDynamics(c.droneUrl,
+                    Timestamps.formatIso(c.timestamp[i], offsetSeconds[c.timestampOffset[i]], offsetSuffixes[c.timestampOffset[i]]),
+                    c.speed[i],
+                    formatAttitude(c.roll[i], c.rollScale[i], attitudeTexts),
+                    formatAttitude(c.pitch[i], c.pitchScale[i], attitudeTexts),
+                    formatAttitude(c.yaw[i], c.yawScale[i], attitudeTexts),
+                    c.longitude[i],
+                    c.latitude[i],
+                    c.battery[i],
+                    Timestamps.formatIso(c.lastSeen[i], offsetSeconds[c.lastSeenOffset[i]], offsetSuffixes[c.lastSeenOffset[i]]),
+                    statuses[c.status[i]]);
+        }
+    }
+
+    /**
+     * Read-only list over one state; entities are created on access.
+     */
+    private static final class EntityView extends AbstractList<DroneDynamics> implements RandomAccess {
+
+        private final State state;
+
+        EntityView(State state) {
+            this.state = state;
+        }
+
+        @Override
+        public DroneDynamics get(int row) {
+            if (row < 0 || row >= state.size) {
+                throw new IndexOutOfBoundsException(row);
+            }
+            return state.entity(state.rowSeries[row], state.rowIndex[row]);
+        }
+
+        @Override
+        public int size() {
+            return state.size;
+        }
+    }
+
+    /**
+     * Read-only list over a range of one drone's rows in timestamp order; entities are created on access.
+     */
+    private static final class DroneRange extends AbstractList<DroneDynamics> implements RandomAccess {
+
+        private final State state;
+        private final int code;
+        private final int[] order;	// Null if the rows are stored in timestamp order
+        private final int first;
+        private final int end;
+
+        DroneRange(State state, int code, int[] order, int first, int end) {
+            this.state = state;
+            this.code = code;
+            this.order = order;
+            this.first = first;
+            this.end = Math.max(first, end);
+        }
+
+        @Override
+        public DroneDynamics get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int position = first + index;
+            return state.entity(code, order == null ? position : order[position]);
+        }
+
+        @Override
+        public int size() {
+            return end - first;
+        }
+    }
+
+    /**
+     * Primitive columns of one drone's rows. The arrays may be longer than "size";
+     * slots beyond it belong to the writer.
+     */
+    static final class Columns {
+
+        // 2 longs, 7 ints, 3 shorts, 3 bytes
+        static final int BYTES_PER_ROW = 2 * 8 + 7 * 4 + 3 * 2 + 3;
+
+        final int droneId;
+        final String droneUrl;
+        final int size;
+        final boolean sorted;			// Timestamps are non-decreasing
+        final long[] timestamp;			// Epoch microseconds, NO_TIME if absent
+        final short[] timestampOffset;
+        final long[] lastSeen;
+        final short[] lastSeenOffset;
+        final int[] speed;
+        final int[] battery;
+        final int[] roll;				// Unscaled, see parseAttitude
+        final int[] pitch;
+        final int[] yaw;
+        final byte[] rollScale;
+        final byte[] pitchScale;
+        final byte[] yawScale;
+        final int[] longitude;		// Micro-degrees
+        final int[] latitude;
+        final short[] status;
+
+        private volatile int[] timeOrder;	// Row indexes in timestamp order, built on first use if not sorted
+
+        // Latest known order of the first rows, which the time order is merged from: rows below
+        // orderedSize in the order of orderedRows, or in row order if that is null
+        private final int[] orderedRows;
+        private final int orderedSize;
+
+        private Columns(int droneId, String droneUrl, Builder b) {
+            this.droneId = droneId;
+            this.droneUrl = droneUrl;
+            this.size = b.size;
+            this.sorted = b.sorted;
+            this.timestamp = b.timestamp;
+            this.timestampOffset = b.timestampOffset;
+            this.lastSeen = b.lastSeen;
+            this.lastSeenOffset = b.lastSeenOffset;
+            this.speed = b.speed;
+            this.battery = b.battery;
+            this.roll = b.roll;
+            this.pitch = b.pitch;
+            this.yaw = b.yaw;
+            this.rollScale = b.rollScale;
+            this.pitchScale = b.pitchScale;
+            this.yawScale = b.yawScale;
+            this.longitude = b.longitude;
+            this.latitude = b.latitude;
+            this.status = b.status;
+            this.orderedRows = b.orderedRows;
+            this.orderedSize = b.orderedSize;
+        }
+
+        static Columns empty(int droneId, String droneUrl) {
+            return new Columns(droneId, droneUrl, new Builder(null));
+        }
+
+        int capacity() {
+            return timestamp.length;
+        }
+
+        /**
+         * Returns the row indexes in timestamp order, upstream order among equal timestamps.
+         * Only the rows appended since the order was last known are sorted; they are merged into it.
+         * @return the order, or null if the rows already are in timestamp order.
+         */
+        int[] timeOrder() {
+            if (sorted) {
+                return null;
+            }
+            int[] order = timeOrder;
+            if (order == null) {
+                Integer[] appended = new Integer[size - orderedSize];
+                Arrays.setAll(appended, i -> orderedSize + i);
+                Arrays.sort(appended, Comparator.comparingLong(i -> timestamp[i]));	// Stable
+
+                // Ordered rows come first in upstream order, so they win ties
+                order = new int[size];
+                int i = 0;
+                int j = 0;
+                for (int k = 0; k < size; k++) {
+                    int ordered = i < orderedSize ? (orderedRows == null ? i : orderedRows[i]) : -1;
+                    if (ordered >= 0 && (j == appended.length || timestamp[ordered] <= timestamp[appended[j]])) {
+                        order[k] = ordered;
+                        i++;
+                    } else {
+                        order[k] = appended[j++];
+                    }
+                }
+                timeOrder = order;
+            }
+            return order;
+        }
+
+        /**
+         * Returns the first position in timestamp order whose timestamp is not below the bound.
+         * @param order		The result of timeOrder().
+         * @param micros	The bound, epoch microseconds.
+         */
+        int lowerBound(int[] order, long micros) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamp[order == null ? mid : order[mid]] < micros) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Appends rows to the arrays of a published series, growing them by copy when full.
+         */
+        static final class Builder {
+            int size;
+            boolean sorted = true;
+            long[] timestamp;
+            short[] timestampOffset;
+            long[] lastSeen;
+            short[] lastSeenOffset;
+            int[] speed;
+            int[] battery;
+            int[] roll;
+            int[] pitch;
+            int[] yaw;
+            byte[] rollScale;
+            byte[] pitchScale;
+            byte[] yawScale;
+            int[] longitude;
+            int[] latitude;
+            short[] status;
+            int[] orderedRows;
+            int orderedSize;
+
+            Builder(Columns base) {
+                if (base == null) {
+                    resize(0);
+                    return;
+                }
+                // Carry the order of the base rows over, so the next time order only sorts the appended rows
+                int[] baseOrder = base.timeOrder;
+                if (base.sorted) {
+                    orderedSize = base.size;
+                } else if (baseOrder != null) {
+                    orderedRows = baseOrder;
+                    orderedSize = base.size;
+                } else {
+                    orderedRows = base.orderedRows;
+                    orderedSize = base.orderedSize;
+                }
+                size = base.size;
+                sorted = base.sorted;
+                timestamp = base.timestamp;
+                timestampOffset = base.timestampOffset;
+                lastSeen = base.lastSeen;
+                lastSeenOffset = base.lastSeenOffset;
+                speed = base.speed;
+                battery = base.battery;
+                roll = base.roll;
+                pitch = base.pitch;
+                yaw = base.yaw;
+                rollScale = base.rollScale;
+                pitchScale = base.pitchScale;
+                yawScale = base.yawScale;
+                longitude = base.longitude;
+                latitude = base.latitude;
+                status = base.status;
+            }
+
+            int add(long ts, short tsOffset, long seen, short seenOffset, int spd, int bat,
+                    long r, long p, long y, int lon, int lat, short st) {
+                if (size == timestamp.length) {
+                    resize(Math.max(INITIAL_CAPACITY, size + (size >> 1)));
+                }
+                if (size > 0 && ts < timestamp[size - 1]) {
+                    sorted = false;
+                }
+                timestamp[size] = ts;
+                timestampOffset[size] = tsOffset;
+                lastSeen[size] = seen;
+                lastSeenOffset[size] = seenOffset;
+                speed[size] = spd;
+                battery[size] = bat;
+                roll[size] = (int) (r >> 32);
+                pitch[size] = (int) (p >> 32);
+                yaw[size] = (int) (y >> 32);
+                rollScale[size] = (byte) r;
+                pitchScale[size] = (byte) p;
+                yawScale[size] = (byte) y;
+                longitude[size] = lon;
+                latitude[size] = lat;
+                status[size] = st;
+                return size++;
+            }
+
+            Columns build(int droneId, String droneUrl) {
+                return new Columns(droneId, droneUrl, this);
+            }
+
+            private void resize(int capacity) {
+                timestamp = timestamp == null ? new long[capacity] : Arrays.copyOf(timestamp, capacity);
+                timestampOffset = timestampOffset == null ? new short[capacity] : Arrays.copyOf(timestampOffset, capacity);
+                lastSeen = lastSeen == null ? new long[capacity] : Arrays.copyOf(lastSeen, capacity);
+                lastSeenOffset = lastSeenOffset == null ? new short[capacity] : Arrays.copyOf(lastSeenOffset, capacity);
+                speed = speed == null ? new int[capacity] : Arrays.copyOf(speed, capacity);
+                battery = battery == null ? new int[capacity] : Arrays.copyOf(battery, capacity);
+                roll = roll == null ? new int[capacity] : Arrays.copyOf(roll, capacity);
+                pitch = pitch == null ? new int[capacity] : Arrays.copyOf(pitch, capacity);
+                yaw = yaw == null ? new int[capacity] : Arrays.copyOf(yaw, capacity);
+                rollScale = rollScale == null ? new byte[capacity] : Arrays.copyOf(rollScale, capacity);
+                pitchScale = pitchScale == null ? new byte[capacity] : Arrays.copyOf(pitchScale, capacity);
+                yawScale = yawScale == null ? new byte[capacity] : Arrays.copyOf(yawScale, capacity);
+                longitude = longitude == null ? new int[capacity] : Arrays.copyOf(longitude, capacity);
+                latitude = latitude == null ? new int[capacity] : Arrays.copyOf(latitude, capacity);
+                status = status == null ? new short[capacity] : Arrays.copyOf(status, capacity);
+            }
+        }
+    }
+}
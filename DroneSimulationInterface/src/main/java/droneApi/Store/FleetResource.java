@@ -0,0 +1,18 @@
+package droneApi.Store;
+
+/**
+ * The upstream resources mirrored by the fleet replica.
+ */
+public enum FleetResource {
+    DRONES("drones"),
+    DRONE_TYPES("droneTypes"),
+    DRONE_DYNAMICS("droneDynamics");
+
+    private final String key;	// Name used in status responses
+
+    FleetResource(String key) {
+        this.key = key;
+    }
+
+    public String getKey() { return key; }
+}
@@ -0,0 +1,55 @@
+package droneApi.Store;
+
+import java.util.List;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneType;
+
+/**
+ * Content of the replica at one point in time, as written to and read from the snapshot file.
+ */
+public class FleetSnapshot {
+
+    private final long createdAtMillis;			// When the snapshot was taken
+    private final List<Drone> drones;
+    private final long dronesSyncedAtMillis;
+    private final List<DroneType> droneTypes;
+    private final long droneTypesSyncedAtMillis;
+    private final DynamicsTable dynamics;		// All replicated records and skipped offsets, not appended to
+    private final long dynamicsSyncedAtMillis;
+
+    /**
+     * Constructor to initialize all fields.
+     * @param createdAtMillis			When the snapshot was taken.
+     * @param drones					All drones.
+     * @param dronesSyncedAtMillis		Last sync of the drones, 0 if never.
+     * @param droneTypes				All drone types.
+     * @param droneTypesSyncedAtMillis	Last sync of the drone types, 0 if never.
+     * @param dynamics					All dynamics records, in a table nobody appends to.
+     * @param dynamicsSyncedAtMillis	Last sync of the dynamics, 0 if never.
+     */
+    public FleetSnapshot(long createdAtMillis, List<Drone> drones, long dronesSyncedAtMillis,
+                         List<DroneType> droneTypes, long droneTypesSyncedAtMillis,
+                         DynamicsTable dynamics, long dynamicsSyncedAtMillis) {
+        this.createdAtMillis = createdAtMillis;
+        this.drones = drones;
+        this.dronesSyncedAtMillis = dronesSyncedAtMillis;
+        this.droneTypes = droneTypes;
+        this.droneTypesSyncedAtMillis = droneTypesSyncedAtMillis;
+        this.dynamics = dynamics;
+        this.dynamicsSyncedAtMillis = dynamicsSyncedAtMillis;
+    }
+
+    // Getters
+    public long getCreatedAtMillis() { return createdAtMillis; }
+    public List<Drone> getDrones() { return drones; }
+    public long getDronesSyncedAtMillis() { return dronesSyncedAtMillis; }
+    public List<DroneType> getDroneTypes() { return droneTypes; }
+    public long getDroneTypesSyncedAtMillis() { return droneTypesSyncedAtMillis; }
+    public DynamicsTable getDynamics() { return dynamics; }
+    public long getDynamicsSyncedAtMillis() { return dynamicsSyncedAtMillis; }
+
+    public int getItemCount() {
+        return drones.size() + droneTypes.size() + dynamics.size();
+    }
+}
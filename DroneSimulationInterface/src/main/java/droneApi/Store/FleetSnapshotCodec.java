@@ -0,0 +1,347 @@
+package droneApi.Store;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+import droneApi.Time.Timestamps;
+
+/**
+ * Binary format of the fleet snapshot file.
+ * <pre>
+ * int magic, int version, long createdAt, long stringTablePosition
+ * long syncedAt, int count, drones       (int fields, strings as table indexes)
+ * long syncedAt, int count, drone types
+ * long syncedAt, int count, dynamics, int skippedCount, skipped upstream offsets
+ * int stringCount, then per string: int byteLength, UTF-8 bytes
+ * </pre>
+ * Repeated strings (type URLs, drone URLs, statuses, angles, UTC offsets) are stored once in the string table;
+ * coordinates are micro-degrees and dynamics timestamps are epoch microseconds with the index of their UTC offset,
+ * copied from the columns of the {@link DynamicsTable}.
+ * Dynamics records have a fixed size and are decoded lazily from the mapping.
+ * The records are streamed to a temporary file, the string table is appended and its position patched into
+ * the header; the file is then moved into place, so a reader never sees a partial snapshot.
+ */
+public final class FleetSnapshotCodec {
+
+    private static final int MAGIC = 0x464C5453;	// "FLTS"
+    private static final int VERSION = 4;	// 2: coordinates as micro-degrees, 3: skipped dynamics offsets, 4: timestamps as micros, strings last
+    private static final int VERSION_WITHOUT_SKIPPED = 2;
+    private static final int VERSION_WITH_TIMESTAMP_STRINGS = 3;
+    private static final int NULL_INT = Integer.MIN_VALUE;	// Encodes an absent optional int
+    private static final int STRING_TABLE_POSITION_AT = 16;	// After magic, version and createdAt
+    private static final int DYNAMICS_RECORD_BYTES = 2 * 8 + 11 * 4;	// Two epoch-micros longs and eleven ints
+    private static final int DYNAMICS_RECORD_BYTES_V3 = 11 * 4;		// Eleven ints, timestamps as string indexes
+
+    private FleetSnapshotCodec() {
+    }
+
+    /**
+     * Writes the snapshot atomically.
+     * @param snapshot		The snapshot.
+     * @param file			The target file.
+     * @return the size of the written file in bytes.
+     * @throws IOException if the file cannot be written.
+     */
+    public static long write(FleetSnapshot snapshot, Path file) throws IOException {
+        StringTable strings = new StringTable();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(snapshot.getCreatedAtMillis());
+            out.writeLong(0);	// String table position, patched below
+
+            out.writeLong(snapshot.getDronesSyncedAtMillis());
+            out.writeInt(snapshot.getDrones().size());
+            for (Drone drone : snapshot.getDrones()) {
+                out.writeInt(drone.getId());
+                out.writeInt(strings.indexOf(drone.getDronetypeRaw()));
+                out.writeInt(strings.indexOf(drone.getCreatedRaw()));
+                out.writeInt(strings.indexOf(drone.getSerialNumber()));
+                out.writeInt(drone.getCarriageWeight());
+                out.writeInt(strings.indexOf(drone.getCarriageType()));
+            }
+
+            out.writeLong(snapshot.getDroneTypesSyncedAtMillis());
+            out.writeInt(snapshot.getDroneTypes().size());
+            for (DroneType type : snapshot.getDroneTypes()) {
+                out.writeInt(type.getId());
+                out.writeInt(strings.indexOf(type.getManufacturer()));
+                out.writeInt(strings.indexOf(type.getTypename()));
+                out.writeInt(type.getWeight());
+                out.writeInt(type.getMaxSpeed());
+                out.writeInt(type.getBatteryCapacity());
+                out.writeInt(type.getControlRange());
+                out.writeInt(type.getMaxCarriage() != null ? type.getMaxCarriage() : NULL_INT);
+            }
+
+            DynamicsTable dynamics = snapshot.getDynamics();
+            out.writeLong(snapshot.getDynamicsSyncedAtMillis());
+            out.writeInt(dynamics.size());
+            try {
+                dynamics.scan(0, dynamics.size(), row -> writeDynamics(row, strings, out));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            int[] skipped = dynamics.skippedOffsets();
+            out.writeInt(skipped.length);
+            for (int offset : skipped) {
+                out.writeInt(offset);
+            }
+
+            out.flush();
+            long stringTablePosition = channel.position();
+            strings.writeTo(out);
+            out.flush();
+            channel.write(ByteBuffer.allocate(8).putLong(0, stringTablePosition), STRING_TABLE_POSITION_AT);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(file);
+    }
+
+    private static void writeDynamics(DynamicsRow row, StringTable strings, DataOutputStream out) {
+        try {
+            out.writeInt(strings.indexOf(row.getDroneUrl()));
+            out.writeLong(row.getTimestampMicros());
+            out.writeInt(strings.indexOf(row.getTimestampOffset()));
+            out.writeInt(row.getSpeed());
+            out.writeInt(strings.indexOf(row.getAlignRoll()));
+            out.writeInt(strings.indexOf(row.getAlignPitch()));
+            out.writeInt(strings.indexOf(row.getAlignYaw()));
+            out.writeInt(row.getLongitude());
+            out.writeInt(row.getLatitude());
+            out.writeInt(row.getBatteryStatus());
+            out.writeLong(row.getLastSeenMicros());
+            out.writeInt(strings.indexOf(row.getLastSeenOffset()));
+            out.writeInt(strings.indexOf(row.getStatus()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Reads a snapshot through a read-only memory mapping of the file.
+     * @param file			The snapshot file.
+     * @return the snapshot.
+     * @throws IOException if the file cannot be read or is not a valid snapshot.
+     */
+    public static FleetSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + file + " is too large to map");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new IOException("Truncated or corrupt snapshot " + file, ex);
+        }
+    }
+
+    private static FleetSnapshot decode(ByteBuffer in) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IOException("Not a fleet snapshot");
+        }
+        int version = in.getInt();
+        if (version < VERSION_WITHOUT_SKIPPED || version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        long createdAt = in.getLong();
+
+        // Up to version 3 the string table follows the header, since version 4 it ends the file
+        String[] strings;
+        if (version >= 4) {
+            long stringTablePosition = in.getLong();
+            if (stringTablePosition < in.position() || stringTablePosition >= in.limit()) {
+                throw new IOException("Corrupt string table position " + stringTablePosition);
+            }
+            strings = readStrings(in.duplicate().position((int) stringTablePosition));
+        } else {
+            strings = readStrings(in);
+        }
+
+        long dronesSyncedAt = in.getLong();
+        int droneCount = in.getInt();
+        List<Drone> drones = new ArrayList<>(droneCount);
+        for (int i = 0; i < droneCount; i++) {
+            int id = in.getInt();
+            String dronetype = strings[in.getInt()];
+            String created = strings[in.getInt()];
+            String serialnumber = strings[in.getInt()];
+            int carriageWeight = in.getInt();
+            String carriageType = strings[in.getInt()];
+            drones.add(new Drone(id, dronetype, created, serialnumber, carriageWeight, carriageType));
+        }
+
+        long droneTypesSyncedAt = in.getLong();
+        int typeCount = in.getInt();
+        List<DroneType> droneTypes = new ArrayList<>(typeCount);
+        for (int i = 0; i < typeCount; i++) {
+            int id = in.getInt();
+            String manufacturer = strings[in.getInt()];
+            String typename = strings[in.getInt()];
+            int weight = in.getInt();
+            int maxSpeed = in.getInt();
+            int batteryCapacity = in.getInt();
+            int controlRange = in.getInt();
+            int maxCarriage = in.getInt();
+            droneTypes.add(new DroneType(id, manufacturer, typename, weight, maxSpeed, batteryCapacity, controlRange,
+                    maxCarriage == NULL_INT ? null : maxCarriage));
+        }
+
+        long dynamicsSyncedAt = in.getLong();
+        int dynamicsCount = in.getInt();
+        int recordBytes = version >= 4 ? DYNAMICS_RECORD_BYTES : DYNAMICS_RECORD_BYTES_V3;
+        long dynamicsBytes = (long) dynamicsCount * recordBytes;
+        if (dynamicsCount < 0 || dynamicsBytes > in.remaining()) {
+            throw new IOException("Corrupt dynamics count " + dynamicsCount);
+        }
+        List<DroneDynamics> records = version >= 4
+                ? new DynamicsRecords(in.slice(in.position(), (int) dynamicsBytes), dynamicsCount, strings)
+                : new TimestampStringRecords(in.slice(in.position(), (int) dynamicsBytes), dynamicsCount, strings);
+        in.position(in.position() + (int) dynamicsBytes);
+
+        // Version 2 did not record skipped rows; its dynamics are taken as contiguous from offset 0
+        int[] dynamicsSkipped = new int[version == VERSION_WITHOUT_SKIPPED ? 0 : in.getInt()];
+        for (int i = 0; i < dynamicsSkipped.length; i++) {
+            dynamicsSkipped[i] = in.getInt();
+        }
+
+        DynamicsTable dynamics = new DynamicsTable();
+        dynamics.restore(records, dynamicsSkipped);
+        return new FleetSnapshot(createdAt, drones, dronesSyncedAt, droneTypes, droneTypesSyncedAt, dynamics, dynamicsSyncedAt);
+    }
+
+    private static String[] readStrings(ByteBuffer in) {
+        String[] strings = new String[in.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            int length = in.getInt();
+            if (length < 0) {
+                continue;	// The null entry
+            }
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    /**
+     * Dynamics records of a mapped file, decoded on access; the table copies them into its columns one by one,
+     * so no list of all entities is built during a restore.
+     */
+    private static final class DynamicsRecords extends AbstractList<DroneDynamics> implements RandomAccess {
+        private final ByteBuffer records;
+        private final int count;
+        private final String[] strings;
+
+        DynamicsRecords(ByteBuffer records, int count, String[] strings) {
+            this.records = records;
+            this.count = count;
+            this.strings = strings;
+        }
+
+        @Override
+        public DroneDynamics get(int index) {
+            int at = index * DYNAMICS_RECORD_BYTES;
+            return new DroneDynamics(strings[records.getInt(at)], timestamp(records.getLong(at + 4), records.getInt(at + 12)),
+                    records.getInt(at + 16),
+                    strings[records.getInt(at + 20)], strings[records.getInt(at + 24)], strings[records.getInt(at + 28)],
+                    records.getInt(at + 32), records.getInt(at + 36), records.getInt(at + 40),
+                    timestamp(records.getLong(at + 44), records.getInt(at + 52)), strings[records.getInt(at + 56)]);
+        }
+
+        private String timestamp(long micros, int offsetIndex) {
+            String suffix = strings[offsetIndex];
+            return Timestamps.formatIso(micros, Timestamps.offsetSecondsOf(suffix), suffix);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    /**
+     * Dynamics records of version 2 and 3 files, with timestamps as string table indexes.
+     */
+    private static final class TimestampStringRecords extends AbstractList<DroneDynamics> implements RandomAccess {
+        private final ByteBuffer records;
+        private final int count;
+        private final String[] strings;
+
+        TimestampStringRecords(ByteBuffer records, int count, String[] strings) {
+            this.records = records;
+            this.count = count;
+            this.strings = strings;
+        }
+
+        @Override
+        public DroneDynamics get(int index) {
+            int at = index * DYNAMICS_RECORD_BYTES_V3;
+            return new DroneDynamics(strings[records.getInt(at)], strings[records.getInt(at + 4)], records.getInt(at + 8),
+                    strings[records.getInt(at + 12)], strings[records.getInt(at + 16)], strings[records.getInt(at + 20)],
+                    records.getInt(at + 24), records.getInt(at + 28), records.getInt(at + 32),
+                    strings[records.getInt(at + 36)], strings[records.getInt(at + 40)]);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    /**
+     * String dictionary built while encoding; index 0 is null.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        StringTable() {
+            values.add(null);
+        }
+
+        int indexOf(String value) {
+            if (value == null) {
+                return 0;
+            }
+            return indexes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(values.size());
+            out.writeInt(-1);	// Placeholder length of the null entry
+            for (int i = 1; i < values.size(); i++) {
+                byte[] bytes = values.get(i).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package droneApi.Store;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import droneApi.Config.ApiConfig;
+import droneApi.Config.ConfigProvider;
+import droneApi.Config.SnapshotSettings;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Persists the {@link FleetStore} to a snapshot file and restores it on startup,
+ * so the replica can answer requests right after boot instead of waiting for the first full sync.
+ * The snapshot is rewritten periodically (only when the replica changed) and once more on shutdown.
+ */
+@Component
+public class FleetSnapshotManager {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(FleetSnapshotManager.class);
+
+    private final FleetStore fleetStore;
+    private final ConfigProvider configProvider = ConfigProvider.getInstance();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fleet-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Restore statistics, set once on startup
+    private volatile int restoredItems;
+    private volatile long restoreMicros;
+    private volatile long restoredSnapshotAgeMillis;
+
+    // Write statistics, guarded by "this"
+    private long writtenVersion = -1;
+    private long lastWrittenAtMillis;
+    private long lastWriteMillis;
+    private long lastWriteBytes;
+
+    private final AtomicLong firstServedAfterStartMillis = new AtomicLong(-1);
+
+    /**
+     * Constructor that initializes the manager using dependency injection.
+     * @param fleetStore	The replica to persist.
+     */
+    @Autowired
+    public FleetSnapshotManager(FleetStore fleetStore) {
+        this.fleetStore = fleetStore;
+    }
+
+    /**
+     * Restores the last snapshot, if any, and starts the periodic writes.
+     */
+    @PostConstruct
+    public void start() {
+        ApiConfig config = configProvider.current();
+        if (isActive(config)) {
+            restore(Paths.get(config.getSnapshot().getPath()), config.getSnapshot());
+        }
+        schedule(config.getSnapshot().getIntervalSeconds());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        if (isActive(configProvider.current())) {
+            write();
+        }
+    }
+
+    /**
+     * Records the first request answered from the replica and logs the time since JVM start.
+     */
+    public void recordServed() {
+        if (firstServedAfterStartMillis.get() >= 0) {
+            return;
+        }
+        long sinceStart = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstServedAfterStartMillis.compareAndSet(-1, sinceStart)) {
+            logger.info("First request served from the replica {} ms after JVM start ({} items restored from snapshot).",
+                    sinceStart, restoredItems);
+        }
+    }
+
+    /**
+     * Returns restore and write statistics.
+     * @return the snapshot status.
+     */
+    public synchronized SnapshotStatus status() {
+        return new SnapshotStatus(configProvider.current().getSnapshot().getPath(), restoredItems, restoreMicros,
+                restoredSnapshotAgeMillis, lastWrittenAtMillis, lastWriteMillis, lastWriteBytes, firstServedAfterStartMillis.get());
+    }
+
+    private void restore(Path file, SnapshotSettings settings) {
+        if (!Files.isRegularFile(file)) {
+            logger.info("No fleet snapshot at {}, the replica starts cold.", file.toAbsolutePath());
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            FleetSnapshot snapshot = FleetSnapshotCodec.read(file);
+            long age = System.currentTimeMillis() - snapshot.getCreatedAtMillis();
+            if (age > settings.getMaxAgeSeconds() * 1000) {
+                logger.info("Ignoring fleet snapshot {}, it is {} s old.", file, age / 1000);
+                return;
+            }
+
+            fleetStore.restore(snapshot);
+            restoredItems = snapshot.getItemCount();
+            restoredSnapshotAgeMillis = age;
+            restoreMicros = (System.nanoTime() - start) / 1000;
+            logger.info("Restored {} items from fleet snapshot {} in {} µs (snapshot age {} s).",
+                    restoredItems, file, restoreMicros, age / 1000);
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Ignoring unreadable fleet snapshot {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private void schedule(long delaySeconds) {
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(this::run, Math.max(1, delaySeconds), TimeUnit.SECONDS);
+        }
+    }
+
+    private void run() {
+        ApiConfig config = configProvider.current();
+        try {
+            if (isActive(config)) {
+                write();
+            }
+        } catch (RuntimeException ex) {
+            logger.error("Failed to write fleet snapshot: {}", ex.getMessage(), ex);
+        } finally {
+            schedule(config.getSnapshot().getIntervalSeconds());
+        }
+    }
+
+    /**
+     * Writes the snapshot if the replica changed since the last write.
+     */
+    private synchronized void write() {
+        long version = 0;
+        for (FleetResource resource : FleetResource.values()) {
+            version += fleetStore.getStatus(resource).getVersion();
+        }
+        if (version == 0 || version == writtenVersion) {
+            return;	// Cold or unchanged
+        }
+
+        Path file = Paths.get(configProvider.current().getSnapshot().getPath());
+        long start = System.nanoTime();
+        try {
+            lastWriteBytes = FleetSnapshotCodec.write(fleetStore.snapshot(), file);
+            lastWriteMillis = (System.nanoTime() - start) / 1_000_000;
+            lastWrittenAtMillis = System.currentTimeMillis();
+            writtenVersion = version;
+            logger.debug("Wrote fleet snapshot {} ({} bytes) in {} ms.", file, lastWriteBytes, lastWriteMillis);
+        } catch (IOException ex) {
+            logger.error("Failed to write fleet snapshot {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private static boolean isActive(ApiConfig config) {
+        return config.getReplica().isEnabled() && config.getSnapshot().isEnabled();
+    }
+}
@@ -0,0 +1,303 @@
+package droneApi.Store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+
+/**
+ * In-memory replica of the upstream fleet data; drones and drone types are indexed by ID,
+ * dynamics are kept in the primitive columns of a {@link DynamicsTable} and addressed by upstream offset.
+ * Written only by the {@link FleetSynchronizer}; every write publishes a new immutable snapshot,
+ * so readers never lock and always see a consistent list and index.
+ */
+@Component
+public class FleetStore {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(FleetStore.class);
+
+    private volatile Indexed<Drone> drones = Indexed.empty();
+    private volatile Indexed<DroneType> droneTypes = Indexed.empty();
+    private volatile DynamicsTable dynamics = new DynamicsTable();
+
+    private final Map<FleetResource, ReplicaStatus> status = Collections.synchronizedMap(new EnumMap<>(FleetResource.class));
+    private final List<FleetStoreListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor that registers all listener beans, so derived views see the snapshot restore as well.
+     * @param listenerBeans		The ingest hooks defined in the application context.
+     */
+    public FleetStore(ObjectProvider<FleetStoreListener> listenerBeans) {
+        for (FleetResource resource : FleetResource.values()) {
+            status.put(resource, ReplicaStatus.cold());
+        }
+        listenerBeans.orderedStream().forEach(listeners::add);
+    }
+
+    /**
+     * Registers an ingest hook.
+     * @param listener		The listener to call after every write.
+     */
+    public void addListener(FleetStoreListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Replaces all drones with the result of a full sync.
+     * @param synced			All drones, in upstream order.
+     * @param durationMillis	Duration of the sync.
+     */
+    public synchronized void replaceDrones(List<Drone> synced, long durationMillis) {
+        drones = Indexed.of(synced, Drone::getId);
+        markSynced(FleetResource.DRONES, synced.size(), durationMillis);
+        notifyListeners(listener -> listener.onDronesReplaced(drones.items));
+    }
+
+    /**
+     * Replaces all drone types with the result of a full sync.
+     * @param synced			All drone types, in upstream order.
+     * @param durationMillis	Duration of the sync.
+     */
+    public synchronized void replaceDroneTypes(List<DroneType> synced, long durationMillis) {
+        droneTypes = Indexed.of(synced, DroneType::getId);
+        markSynced(FleetResource.DRONE_TYPES, synced.size(), durationMillis);
+        notifyListeners(listener -> listener.onDroneTypesReplaced(droneTypes.items));
+    }
+
+    /**
+     * Appends the records of an incremental dynamics sync.
+     * @param added				The new records, in upstream order.
+     * @param offsets			Upstream offset of each record.
+     * @param end				Upstream offset after the last row read; the next sync resumes there.
+     * @param durationMillis	Duration of the sync.
+     */
+    public synchronized void appendDynamics(List<DroneDynamics> added, int[] offsets, int end, long durationMillis) {
+        ingestDynamics(added, offsets, end);
+        markSynced(FleetResource.DRONE_DYNAMICS, dynamics.size(), durationMillis);
+    }
+
+    /**
+     * Appends one batch of a dynamics sync that is still running; the sync state is only updated
+     * by the final {@link #appendDynamics(List, int[], int, long)}.
+     * @param added				The new records, in upstream order.
+     * @param offsets			Upstream offset of each record.
+     * @param end				Upstream offset after the last row read.
+     */
+    public synchronized void ingestDynamics(List<DroneDynamics> added, int[] offsets, int end) {
+        dynamics.append(added, offsets, end);
+        if (!added.isEmpty()) {
+            List<DroneDynamics> appended = Collections.unmodifiableList(added);
+            int[] appendedOffsets = Arrays.copyOf(offsets, added.size());
+            notifyListeners(listener -> listener.onDynamicsAppended(appended, appendedOffsets));
+        }
+    }
+
+    /**
+     * Fills the empty store from a snapshot file written by an earlier run.
+     * Resources keep the sync time of the snapshot, so their staleness is reported honestly.
+     * @param snapshot		The restored snapshot.
+     */
+    public synchronized void restore(FleetSnapshot snapshot) {
+        if (snapshot.getDroneTypesSyncedAtMillis() > 0) {
+            droneTypes = Indexed.of(snapshot.getDroneTypes(), DroneType::getId);
+            markRestored(FleetResource.DRONE_TYPES, droneTypes.items.size(), snapshot.getDroneTypesSyncedAtMillis());
+            notifyListeners(listener -> listener.onDroneTypesReplaced(droneTypes.items));
+        }
+        if (snapshot.getDronesSyncedAtMillis() > 0) {
+            drones = Indexed.of(snapshot.getDrones(), Drone::getId);
+            markRestored(FleetResource.DRONES, drones.items.size(), snapshot.getDronesSyncedAtMillis());
+            notifyListeners(listener -> listener.onDronesReplaced(drones.items));
+        }
+        if (snapshot.getDynamicsSyncedAtMillis() > 0) {
+            DynamicsTable restored = snapshot.getDynamics();
+            dynamics = restored;
+            markRestored(FleetResource.DRONE_DYNAMICS, restored.size(), snapshot.getDynamicsSyncedAtMillis());
+            notifyListeners(listener -> listener.onDynamicsAppended(restored.asList(), restored.rowOffsets()));
+        }
+    }
+
+    /**
+     * Captures the current content for the snapshot file.
+     * @return the snapshot.
+     */
+    public FleetSnapshot snapshot() {
+        return new FleetSnapshot(System.currentTimeMillis(),
+                drones.items, getStatus(FleetResource.DRONES).getSyncedAtMillis(),
+                droneTypes.items, getStatus(FleetResource.DRONE_TYPES).getSyncedAtMillis(),
+                dynamics.view(), getStatus(FleetResource.DRONE_DYNAMICS).getSyncedAtMillis());
+    }
+
+    /**
+     * Records a failed sync; the data of the last successful sync is kept.
+     * @param resource		The resource that failed to sync.
+     * @param error			The failure.
+     */
+    public void recordFailure(FleetResource resource, Exception error) {
+        status.computeIfPresent(resource, (key, current) -> current.failed(String.valueOf(error.getMessage())));
+    }
+
+    // Reads
+
+    public Drone getDrone(int id) { return drones.byId(id); }
+    public List<Drone> getDrones(int limit, int offset) { return drones.page(limit, offset); }
+    public int getDronePositionAfter(int afterId, int position) { return drones.positionAfter(afterId, position); }
+    public List<Drone> getAllDrones() { return drones.items; }
+
+    public DroneType getDroneType(int id) { return droneTypes.byId(id); }
+    public List<DroneType> getDroneTypes(int limit, int offset) { return droneTypes.page(limit, offset); }
+    public int getDroneTypePositionAfter(int afterId, int position) { return droneTypes.positionAfter(afterId, position); }
+    public List<DroneType> getAllDroneTypes() { return droneTypes.items; }
+
+    public List<DroneDynamics> getDynamics(int limit, int offset) { return dynamics.page(limit, offset); }
+    public List<DroneDynamics> getDynamicsOfDrone(int droneId) { return dynamics.ofDrone(droneId, Long.MIN_VALUE, Long.MAX_VALUE); }
+    public List<DroneDynamics> getDynamicsOfDrone(int droneId, long fromMicros, long toMicros) { return dynamics.ofDrone(droneId, fromMicros, toMicros); }
+    public void scanDynamics(int offset, int limit, Consumer<DynamicsRow> visitor) { dynamics.scan(offset, limit, visitor); }
+    public void scanDynamicsOfDrone(int droneId, Consumer<DynamicsRow> visitor) { dynamics.scanDrone(droneId, visitor); }
+    public void scanDynamicsOfDrone(int droneId, long fromMicros, long toMicros, Consumer<DynamicsRow> visitor) { dynamics.scanDrone(droneId, fromMicros, toMicros, visitor); }
+    public int[] getDynamicsDroneIds() { return dynamics.droneIds(); }
+    public int getDynamicsCount() { return dynamics.size(); }
+    public int getDynamicsNextOffset() { return dynamics.nextOffset(); }
+    public int getDynamicsOffsetAfter(int offset, int records) { return dynamics.offsetAfter(offset, records); }
+    public DynamicsFootprint getDynamicsFootprint() { return dynamics.footprint(); }
+
+    /**
+     * Returns the sync state of one resource.
+     * @param resource		The resource.
+     * @return its status.
+     */
+    public ReplicaStatus getStatus(FleetResource resource) {
+        return status.get(resource);
+    }
+
+    /**
+     * Tells whether a resource was synced within the given age.
+     * @param resource		The resource.
+     * @param maxAgeMillis	The maximum accepted age.
+     * @return true if the replica may serve the resource.
+     */
+    public boolean isFresh(FleetResource resource, long maxAgeMillis) {
+        ReplicaStatus current = getStatus(resource);
+        return current.isWarm() && current.getStalenessMillis() <= maxAgeMillis;
+    }
+
+    /**
+     * Returns the sync state of all resources.
+     * @return the status per resource, keyed by resource name.
+     */
+    public Map<String, ReplicaStatus> status() {
+        Map<String, ReplicaStatus> result = new LinkedHashMap<>();
+        for (FleetResource resource : FleetResource.values()) {
+            result.put(resource.getKey(), getStatus(resource));
+        }
+        return result;
+    }
+
+    private void markSynced(FleetResource resource, int itemCount, long durationMillis) {
+        status.computeIfPresent(resource, (key, current) -> current.synced(itemCount, durationMillis));
+    }
+
+    private void markRestored(FleetResource resource, int itemCount, long syncedAtMillis) {
+        status.computeIfPresent(resource, (key, current) -> current.restored(itemCount, syncedAtMillis));
+    }
+
+    /**
+     * Calls every listener; a failing listener is logged and does not affect the others or the sync.
+     */
+    private void notifyListeners(Consumer<FleetStoreListener> event) {
+        for (FleetStoreListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception ex) {
+                logger.error("Fleet store listener {} failed: {}", listener.getClass().getSimpleName(), ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Immutable list of items in upstream order, plus an index of the items per integer key
+     * and the position of each key, which lets a cursor page seek the last item it returned.
+     */
+    private static final class Indexed<T> {
+
+        private static final Indexed<?> EMPTY = new Indexed<>(List.of(), Map.of(), Map.of());
+
+        final List<T> items;
+        final Map<Integer, List<T>> index;
+        final Map<Integer, Integer> positions;	// Position of the last item of each key in items
+
+        private Indexed(List<T> items, Map<Integer, List<T>> index, Map<Integer, Integer> positions) {
+            this.items = items;
+            this.index = index;
+            this.positions = positions;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> Indexed<T> empty() {
+            return (Indexed<T>) EMPTY;
+        }
+
+        static <T> Indexed<T> of(List<T> items, ToIntFunction<T> key) {
+            return Indexed.<T>empty().append(items, key);
+        }
+
+        /**
+         * Returns a new snapshot with the items added; only the index lists of affected keys are copied.
+         */
+        Indexed<T> append(List<T> added, ToIntFunction<T> key) {
+            List<T> allItems = new ArrayList<>(items.size() + added.size());
+            allItems.addAll(items);
+            allItems.addAll(added);
+
+            Map<Integer, List<T>> newIndex = new HashMap<>(index);
+            Map<Integer, List<T>> touched = new HashMap<>();
+            for (T item : added) {
+                int id = key.applyAsInt(item);
+                touched.computeIfAbsent(id, k -> new ArrayList<>(newIndex.getOrDefault(k, List.of()))).add(item);
+            }
+            touched.forEach((id, list) -> newIndex.put(id, Collections.unmodifiableList(list)));
+
+            Map<Integer, Integer> newPositions = new HashMap<>(positions);
+            for (int i = 0; i < added.size(); i++) {
+                newPositions.put(key.applyAsInt(added.get(i)), items.size() + i);
+            }
+
+            return new Indexed<>(Collections.unmodifiableList(allItems), newIndex, newPositions);
+        }
+
+        T byId(int id) {
+            List<T> matches = index.get(id);
+            return matches == null || matches.isEmpty() ? null : matches.get(matches.size() - 1);
+        }
+
+        /**
+         * Returns the position behind the item with a key, or the given position if no item has the key any more.
+         */
+        int positionAfter(int afterKey, int position) {
+            Integer at = positions.get(afterKey);
+            return at != null ? at + 1 : position;
+        }
+
+        List<T> page(int limit, int offset) {
+            int from = Math.min(Math.max(offset, 0), items.size());
+            int to = (int) Math.min((long) from + Math.max(limit, 0), items.size());
+            return items.subList(from, to);
+        }
+    }
+}
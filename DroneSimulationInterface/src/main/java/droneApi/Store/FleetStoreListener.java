@@ -0,0 +1,45 @@
+package droneApi.Store;
+
+import java.util.List;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+
+/**
+ * Ingest hook of the {@link FleetStore}; called on the synchronizer thread after new data became visible.
+ * Implementations maintain derived views (aggregates, indexes) and must not block for long.
+ */
+public interface FleetStoreListener {
+
+    /**
+     * Called after a full drone sync replaced all drones.
+     * @param drones	All drones, in upstream order.
+     */
+    default void onDronesReplaced(List<Drone> drones) {
+    }
+
+    /**
+     * Called after a full drone type sync replaced all drone types.
+     * @param droneTypes	All drone types, in upstream order.
+     */
+    default void onDroneTypesReplaced(List<DroneType> droneTypes) {
+    }
+
+    /**
+     * Called after an incremental sync appended new dynamics records.
+     * @param added		The appended records, in upstream order.
+     */
+    default void onDynamicsAppended(List<DroneDynamics> added) {
+    }
+
+    /**
+     * Called after an incremental sync appended new dynamics records, with their position upstream.
+     * The default forwards to {@link #onDynamicsAppended(List)}.
+     * @param added		The appended records, in upstream order.
+     * @param offsets	Offset of each record in /api/dronedynamics/; rows the upstream sent but the decoder skipped leave gaps.
+     */
+    default void onDynamicsAppended(List<DroneDynamics> added, int[] offsets) {
+        onDynamicsAppended(added);
+    }
+}
@@ -0,0 +1,170 @@
+package droneApi.Store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import droneApi.Config.ConfigProvider;
+import droneApi.Config.ReplicaSettings;
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+import droneApi.Service.DroneApiService;
+import droneApi.Service.Paginator;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Mirrors the upstream into the {@link FleetStore} in the background.
+ * Drones and drone types are re-read in full, dynamics are append-only upstream and are read from the
+ * upstream offset the last sync stopped at. Each resource reschedules itself with the interval of the current configuration,
+ * so enabling the replica or changing an interval in the override file takes effect without a restart.
+ * Resources restored from the snapshot file are refreshed when their interval has passed, not right at startup.
+ */
+@Component
+@DependsOn("fleetSnapshotManager")
+public class FleetSynchronizer {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(FleetSynchronizer.class);
+
+    // Dynamics records handed to the store at once during a sync
+    private static final int DYNAMICS_BATCH_SIZE = 10_000;
+
+    private final DroneApiService droneApiService;
+    private final FleetStore fleetStore;
+    private final ConfigProvider configProvider = ConfigProvider.getInstance();
+
+    // One thread per resource, so a long dynamics sync does not delay the others
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(FleetResource.values().length, runnable -> {
+        Thread thread = new Thread(runnable, "fleet-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor that initializes the synchronizer using dependency injection.
+     * @param droneApiService	The service reading the upstream.
+     * @param fleetStore		The replica to fill.
+     */
+    @Autowired
+    public FleetSynchronizer(DroneApiService droneApiService, FleetStore fleetStore) {
+        this.droneApiService = droneApiService;
+        this.fleetStore = fleetStore;
+    }
+
+    /**
+     * Starts the sync loops; drone types first, as drones and dynamics views may resolve them.
+     */
+    @PostConstruct
+    public void start() {
+        ReplicaSettings settings = configProvider.current().getReplica();
+        schedule(FleetResource.DRONE_TYPES, initialDelay(FleetResource.DRONE_TYPES, settings));
+        schedule(FleetResource.DRONES, initialDelay(FleetResource.DRONES, settings));
+        schedule(FleetResource.DRONE_DYNAMICS, initialDelay(FleetResource.DRONE_DYNAMICS, settings));
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void schedule(FleetResource resource, long delaySeconds) {
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(() -> run(resource), delaySeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Runs one sync if the replica is enabled, then schedules the next one.
+     */
+    private void run(FleetResource resource) {
+        ReplicaSettings settings = configProvider.current().getReplica();
+        try {
+            if (settings.isEnabled()) {
+                sync(resource);
+            }
+        } catch (Exception ex) {
+            logger.error("Failed to sync {}: {}", resource.getKey(), ex.getMessage(), ex);
+            fleetStore.recordFailure(resource, ex);
+        } finally {
+            schedule(resource, intervalOf(resource, settings));
+        }
+    }
+
+    /**
+     * Reads one resource from the upstream into the store.
+     * @param resource		The resource to sync.
+     */
+    public void sync(FleetResource resource) {
+        long start = System.nanoTime();
+        switch (resource) {
+            case DRONES -> {
+                List<Drone> drones;
+                try (Stream<Drone> stream = droneApiService.streamDrones()) {
+                    drones = stream.toList();
+                }
+                fleetStore.replaceDrones(drones, elapsedMillis(start));
+            }
+            case DRONE_TYPES -> {
+                List<DroneType> droneTypes;
+                try (Stream<DroneType> stream = droneApiService.streamDroneTypes()) {
+                    droneTypes = stream.toList();
+                }
+                fleetStore.replaceDroneTypes(droneTypes, elapsedMillis(start));
+            }
+            case DRONE_DYNAMICS -> {
+                // Appended in batches, so a first sync never holds the whole dataset as entities.
+                // Resumes at the upstream offset consumed so far, which counts rows that could not be decoded.
+                List<DroneDynamics> batch = new ArrayList<>(DYNAMICS_BATCH_SIZE);
+                int[] offsets = new int[DYNAMICS_BATCH_SIZE];
+                try (Paginator<DroneDynamics> records = droneApiService.paginateDroneDynamics(fleetStore.getDynamicsNextOffset())) {
+                    while (records.hasNext()) {
+                        batch.add(records.next());
+                        offsets[batch.size() - 1] = Math.toIntExact(records.getLastOffset());
+                        if (batch.size() == DYNAMICS_BATCH_SIZE) {
+                            fleetStore.ingestDynamics(batch, offsets, Math.toIntExact(records.getResumeOffset()));
+                            batch = new ArrayList<>(DYNAMICS_BATCH_SIZE);
+                            offsets = new int[DYNAMICS_BATCH_SIZE];
+                        }
+                    }
+                    fleetStore.appendDynamics(batch, offsets, Math.toIntExact(records.getResumeOffset()), elapsedMillis(start));
+                }
+            }
+        }
+        logger.debug("Synced {} in {} ms.", resource.getKey(), elapsedMillis(start));
+    }
+
+    /**
+     * Syncs cold resources immediately and restored ones once their regular interval has passed.
+     */
+    private long initialDelay(FleetResource resource, ReplicaSettings settings) {
+        ReplicaStatus status = fleetStore.getStatus(resource);
+        if (!status.isWarm()) {
+            return 0;
+        }
+        return Math.max(0, intervalOf(resource, settings) - status.getStalenessMillis() / 1000);
+    }
+
+    private static long intervalOf(FleetResource resource, ReplicaSettings settings) {
+        return switch (resource) {
+            case DRONES -> settings.getDronesIntervalSeconds();
+            case DRONE_TYPES -> settings.getDroneTypesIntervalSeconds();
+            case DRONE_DYNAMICS -> settings.getDynamicsIntervalSeconds();
+        };
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,79 @@
+package droneApi.Store;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import droneApi.Cache.CountKeyedValue;
+import droneApi.Config.ConfigProvider;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Service.DroneApiService;
+
+/**
+ * Latest state of every drone in a {@link LatestStateMap}, updated from the ingest hook of the fleet replica.
+ * While the replica cannot serve, a second map is built by streaming the upstream dynamics once.
+ * It is rebuilt when the upstream reports new records, checked at most once per replica dynamics interval.
+ */
+@Component
+public class LatestStateIndex implements FleetStoreListener {
+
+	// Logger for logging application messages
+    private static final Logger logger = LoggerFactory.getLogger(LatestStateIndex.class);
+
+    private final DroneApiService droneApiService;
+    private final LatestStateMap replicaStates = new LatestStateMap();
+
+    private final CountKeyedValue<LatestStateMap> upstreamStates;
+
+    /**
+     * Constructor that initializes the index using dependency injection.
+     * @param droneApiService	The upstream, used while the replica cannot serve.
+     */
+    @Autowired
+    public LatestStateIndex(DroneApiService droneApiService) {
+        this.droneApiService = droneApiService;
+        this.upstreamStates = new CountKeyedValue<>(droneApiService::countDroneDynamics,
+                () -> TimeUnit.SECONDS.toMillis(ConfigProvider.getInstance().current().getReplica().getDynamicsIntervalSeconds()),
+                this::collectFromUpstream);
+    }
+
+    @Override
+    public void onDynamicsAppended(List<DroneDynamics> added) {
+        long start = System.nanoTime();
+        replicaStates.update(added);
+        logger.debug("Updated latest states from {} records in {} us; {} drones known.", added.size(),
+                (System.nanoTime() - start) / 1_000, replicaStates.size());
+    }
+
+    /**
+     * Returns the states maintained from the replica.
+     * @return the map.
+     */
+    public LatestStateMap fromReplica() {
+        return replicaStates;
+    }
+
+    /**
+     * Returns the states of the upstream dynamics, rebuilt only if the upstream has new records; the upstream
+     * is asked at most once per replica dynamics interval.
+     * @return the map.
+     */
+    public LatestStateMap fromUpstream() {
+        return upstreamStates.get();
+    }
+
+    private LatestStateMap collectFromUpstream() {
+        long start = System.nanoTime();
+        LatestStateMap states = new LatestStateMap();
+        try (Stream<DroneDynamics> dynamics = droneApiService.streamDroneDynamics(0)) {
+            dynamics.forEach(record -> states.offer(DroneState.of(record)));
+        }
+        logger.debug("Collected latest states of {} drones from the upstream in {} ms.", states.size(), (System.nanoTime() - start) / 1_000_000);
+        return states;
+    }
+}
@@ -0,0 +1,84 @@
+package droneApi.Store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import droneApi.Entities.DroneDynamics;
+
+/**
+ * Latest {@link DroneState} per drone ID, safe for any number of concurrent writers and readers.
+ * Each drone has one slot that writers advance by compare-and-set, keeping the state with the newest timestamp;
+ * readers only do volatile reads and never wait for a writer, nor writers for a reader.
+ */
+public class LatestStateMap {
+
+    private final ConcurrentHashMap<Integer, AtomicReference<DroneState>> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Offers the state of every record; older records than the one held for their drone are dropped.
+     * @param records		The records, in any order.
+     */
+    public void update(Collection<DroneDynamics> records) {
+        for (DroneDynamics record : records) {
+            offer(DroneState.of(record));
+        }
+    }
+
+    /**
+     * Offers one state.
+     * @param candidate		The state.
+     * @return true if it became the drone's latest state.
+     */
+    public boolean offer(DroneState candidate) {
+        AtomicReference<DroneState> slot = slots.get(candidate.getDroneId());
+        if (slot == null) {
+            // Only the first state of a drone takes the map's bin lock
+            slot = slots.computeIfAbsent(candidate.getDroneId(), id -> new AtomicReference<>());
+        }
+        DroneState current = slot.get();
+        while (candidate.supersedes(current)) {
+            if (slot.compareAndSet(current, candidate)) {
+                return true;
+            }
+            current = slot.get();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the latest state of a drone.
+     * @param droneId		The drone ID.
+     * @return the state, or null if no record of the drone was seen.
+     */
+    public DroneState get(int droneId) {
+        AtomicReference<DroneState> slot = slots.get(droneId);
+        return slot == null ? null : slot.get();
+    }
+
+    /**
+     * Returns the latest state of every drone; each state is current as of its own read.
+     * @return the states, ordered by drone ID.
+     */
+    public List<DroneState> all() {
+        List<DroneState> result = new ArrayList<>(slots.size());
+        for (AtomicReference<DroneState> slot : slots.values()) {
+            DroneState state = slot.get();
+            if (state != null) {
+                result.add(state);
+            }
+        }
+        result.sort(Comparator.comparingInt(DroneState::getDroneId));
+        return result;
+    }
+
+    /**
+     * @return the number of drones with a state.
+     */
+    public int size() {
+        return slots.size();
+    }
+}
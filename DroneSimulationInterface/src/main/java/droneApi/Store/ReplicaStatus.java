@@ -0,0 +1,85 @@
+package droneApi.Store;
+
+/**
+ * Sync state of one replicated resource, serialized as-is by the replica status endpoint.
+ */
+public class ReplicaStatus {
+
+    private final long version;				// Incremented on every successful sync
+    private final int itemCount;			// Number of items held after the last sync
+    private final long syncedAtMillis;		// End of the last successful sync, 0 if never synced
+    private final long lastSyncDurationMillis;	// Duration of the last successful sync
+    private final String lastError;			// Message of the last failed sync, null if the last sync succeeded
+
+    /**
+     * Constructor to initialize all fields.
+     * @param version				Sync version.
+     * @param itemCount				Number of items held.
+     * @param syncedAtMillis		End of the last successful sync (epoch millis), 0 if never.
+     * @param lastSyncDurationMillis	Duration of the last successful sync.
+     * @param lastError				Message of the last failed sync, or null.
+     */
+    public ReplicaStatus(long version, int itemCount, long syncedAtMillis, long lastSyncDurationMillis, String lastError) {
+        this.version = version;
+        this.itemCount = itemCount;
+        this.syncedAtMillis = syncedAtMillis;
+        this.lastSyncDurationMillis = lastSyncDurationMillis;
+        this.lastError = lastError;
+    }
+
+    /**
+     * Status of a resource that was never synced.
+     * @return the cold status.
+     */
+    public static ReplicaStatus cold() {
+        return new ReplicaStatus(0, 0, 0, 0, null);
+    }
+
+    /**
+     * Status after a successful sync.
+     * @param itemCount			Number of items held now.
+     * @param durationMillis	Duration of the sync.
+     * @return the new status.
+     */
+    public ReplicaStatus synced(int itemCount, long durationMillis) {
+        return new ReplicaStatus(version + 1, itemCount, System.currentTimeMillis(), durationMillis, null);
+    }
+
+    /**
+     * Status after restoring data from a snapshot file.
+     * @param itemCount			Number of restored items.
+     * @param syncedAtMillis	Sync time recorded in the snapshot.
+     * @return the new status.
+     */
+    public ReplicaStatus restored(int itemCount, long syncedAtMillis) {
+        return new ReplicaStatus(version + 1, itemCount, syncedAtMillis, 0, null);
+    }
+
+    /**
+     * Status after a failed sync; the previously synced data stays in place.
+     * @param error		The failure message.
+     * @return the new status.
+     */
+    public ReplicaStatus failed(String error) {
+        return new ReplicaStatus(version, itemCount, syncedAtMillis, lastSyncDurationMillis, error);
+    }
+
+    // Getters
+    public long getVersion() { return version; }
+    public int getItemCount() { return itemCount; }
+    public long getSyncedAtMillis() { return syncedAtMillis; }
+    public long getLastSyncDurationMillis() { return lastSyncDurationMillis; }
+    public String getLastError() { return lastError; }
+
+    public boolean isWarm() {
+        return syncedAtMillis > 0;
+    }
+
+    /**
+     * Age of the held data, or -1 if the resource was never synced.
+     * @return the staleness in milliseconds.
+     */
+    public long getStalenessMillis() {
+        return isWarm() ? System.currentTimeMillis() - syncedAtMillis : -1;
+    }
+}
@@ -0,0 +1,49 @@
+package droneApi.Store;
+
+/**
+ * Restore and write statistics of the fleet snapshot, serialized as-is by the snapshot status endpoint.
+ */
+public class SnapshotStatus {
+
+    private final String path;					// Snapshot file
+    private final int restoredItems;			// Items restored on startup, 0 if nothing was restored
+    private final long restoreMicros;			// Time to map, decode and publish the snapshot
+    private final long restoredSnapshotAgeMillis;	// Age of the restored snapshot at startup
+    private final long lastWrittenAtMillis;		// Last successful write, 0 if never
+    private final long lastWriteMillis;			// Duration of the last write
+    private final long lastWriteBytes;			// Size of the last written file
+    private final long firstServedAfterStartMillis;	// JVM start to first request answered from the replica, -1 if none yet
+
+    /**
+     * Constructor to initialize all fields.
+     * @param path							Snapshot file.
+     * @param restoredItems					Number of restored items.
+     * @param restoreMicros					Restore duration in microseconds.
+     * @param restoredSnapshotAgeMillis		Age of the restored snapshot.
+     * @param lastWrittenAtMillis			Time of the last write.
+     * @param lastWriteMillis				Duration of the last write.
+     * @param lastWriteBytes				Size of the last written file.
+     * @param firstServedAfterStartMillis	JVM start to first replica-served request, or -1.
+     */
+    public SnapshotStatus(String path, int restoredItems, long restoreMicros, long restoredSnapshotAgeMillis,
+                          long lastWrittenAtMillis, long lastWriteMillis, long lastWriteBytes, long firstServedAfterStartMillis) {
+        this.path = path;
+        this.restoredItems = restoredItems;
+        this.restoreMicros = restoreMicros;
+        this.restoredSnapshotAgeMillis = restoredSnapshotAgeMillis;
+        this.lastWrittenAtMillis = lastWrittenAtMillis;
+        this.lastWriteMillis = lastWriteMillis;
+        this.lastWriteBytes = lastWriteBytes;
+        this.firstServedAfterStartMillis = firstServedAfterStartMillis;
+    }
+
+    // Getters
+    public String getPath() { return path; }
+    public int getRestoredItems() { return restoredItems; }
+    public long getRestoreMicros() { return restoreMicros; }
+    public long getRestoredSnapshotAgeMillis() { return restoredSnapshotAgeMillis; }
+    public long getLastWrittenAtMillis() { return lastWrittenAtMillis; }
+    public long getLastWriteMillis() { return lastWriteMillis; }
+    public long getLastWriteBytes() { return lastWriteBytes; }
+    public long getFirstServedAfterStartMillis() { return firstServedAfterStartMillis; }
+}
@@ -0,0 +1,75 @@
+package droneApi.Time;
+
+/**
+ * Formats timestamps for the GUI as "MMM. dd, yyyy, h:mm a" (e.g. "Dec. 10, 2024, 4:13 PM").
+ * The text only depends on the local minute, so recent results are kept in a small direct-mapped cache;
+ * table rows of the same minute share one String.
+ */
+public final class DisplayDates {
+
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final long MICROS_PER_MINUTE = 60_000_000L;
+    private static final int CACHE_SIZE = 256;	// Power of two
+
+    // Entries are immutable; a racing overwrite only costs a recomputation
+    private static final Entry[] cache = new Entry[CACHE_SIZE];
+
+    private DisplayDates() {
+    }
+
+    /**
+     * Formats an ISO 8601 timestamp in its own UTC offset.
+     * @param rawTimestamp		The timestamp.
+     * @return the formatted date, or null if the timestamp cannot be parsed.
+     */
+    public static String format(String rawTimestamp) {
+        return format(Timestamps.parseMicros(rawTimestamp), Timestamps.offsetSecondsOf(rawTimestamp));
+    }
+
+    /**
+     * Formats epoch microseconds in the given UTC offset.
+     * @param micros			Epoch microseconds.
+     * @param offsetSeconds		UTC offset to show the local time in.
+     * @return the formatted date, or null for Timestamps.NO_TIME.
+     */
+    public static String format(long micros, int offsetSeconds) {
+        if (micros == Timestamps.NO_TIME) {
+            return null;
+        }
+        long localMinute = Math.floorDiv(micros + offsetSeconds * 1_000_000L, MICROS_PER_MINUTE);
+        int slot = (int) (localMinute ^ (localMinute >>> 32)) & (CACHE_SIZE - 1);
+        Entry entry = cache[slot];
+        if (entry != null && entry.localMinute == localMinute) {
+            return entry.text;
+        }
+
+        String text = render(localMinute);
+        cache[slot] = new Entry(localMinute, text);
+        return text;
+    }
+
+    private static String render(long localMinute) {
+        long epochDay = Math.floorDiv(localMinute, 1440);
+        int minuteOfDay = Math.floorMod(localMinute, 1440);
+        int[] date = Timestamps.civilFromDays(epochDay);
+        int hour = minuteOfDay / 60;
+        int clockHour = hour % 12 == 0 ? 12 : hour % 12;
+
+        StringBuilder text = new StringBuilder(24);
+        text.append(MONTHS[date[1] - 1]).append(". ");
+        Timestamps.appendPadded(text, date[2], 2);
+        text.append(", ").append(date[0]).append(", ").append(clockHour).append(':');
+        Timestamps.appendPadded(text, minuteOfDay % 60, 2);
+        return text.append(hour < 12 ? " AM" : " PM").toString();
+    }
+
+    private static final class Entry {
+        final long localMinute;
+        final String text;
+
+        Entry(long localMinute, String text) {
+            this.localMinute = localMinute;
+            this.text = text;
+        }
+    }
+}
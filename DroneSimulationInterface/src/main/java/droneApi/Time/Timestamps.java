@@ -0,0 +1,283 @@
+package droneApi.Time;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+/**
+ * Conversion between the ISO 8601 timestamps of the Drone API and epoch microseconds.
+ * The upstream layout ("2024-12-10T16:13:53.640843+01:00", fraction optional, "Z" or an offset) is parsed
+ * and formatted field by field without java.time objects; other layouts fall back to {@link OffsetDateTime}.
+ */
+public final class Timestamps {
+
+    /** Result for missing or unparseable timestamps. */
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int TAG_EPOCH_TIME = 1;	// CBOR tag of an epoch time
+
+    private Timestamps() {
+    }
+
+    /**
+     * Converts an ISO 8601 timestamp with offset to epoch microseconds; digits beyond microseconds are dropped.
+     * @param text		The timestamp.
+     * @return the epoch microseconds, or NO_TIME if the text is null or not a timestamp.
+     */
+    public static long parseMicros(CharSequence text) {
+        if (!looksLikeDate(text)) {
+            return NO_TIME;
+        }
+        long micros = parseFixedLayout(text);
+        return micros != NO_TIME ? micros : parseFallback(text);
+    }
+
+    /**
+     * Returns the UTC offset of an ISO 8601 timestamp.
+     * @param text		The timestamp.
+     * @return the offset in seconds, 0 for "Z" or if there is no readable offset.
+     */
+    public static int offsetSecondsOf(CharSequence text) {
+        if (text == null || text.length() < 6) {
+            return 0;
+        }
+        int at = text.length() - 6;
+        char sign = text.charAt(at);
+        if ((sign != '+' && sign != '-') || text.charAt(at + 3) != ':'
+                || !isDigits(text, at + 1, at + 3) || !isDigits(text, at + 4, at + 6)) {
+            return 0;
+        }
+        int seconds = number(text, at + 1, at + 3) * 3600 + number(text, at + 4, at + 6) * 60;
+        return sign == '-' ? -seconds : seconds;
+    }
+
+    /**
+     * Tells whether a text is an ISO 8601 timestamp with offset.
+     * @param text		The text to check.
+     * @return true if the text can be parsed.
+     */
+    public static boolean isTimestamp(CharSequence text) {
+        return parseMicros(text) != NO_TIME;
+    }
+
+    /**
+     * Formats epoch microseconds in the upstream layout: seconds, a six-digit fraction unless it is zero, and the suffix.
+     * @param micros		Epoch microseconds.
+     * @param offsetSeconds	UTC offset to show the local time in.
+     * @param suffix		The offset text to append, e.g. "+01:00" or "Z".
+     * @return the timestamp, or null for NO_TIME.
+     */
+    public static String formatIso(long micros, int offsetSeconds, String suffix) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(32);
+        long local = micros + offsetSeconds * MICROS_PER_SECOND;
+        appendDateTime(text, Math.floorDiv(local, MICROS_PER_SECOND), 'T');
+        int fraction = (int) Math.floorMod(local, MICROS_PER_SECOND);
+        if (fraction != 0) {
+            text.append('.');
+            appendPadded(text, fraction, 6);
+        }
+        return text.append(suffix).toString();
+    }
+
+    /**
+     * Formats epoch microseconds in UTC as "yyyy-MM-dd HH:mm:ss.SSSSSS+00:00".
+     * @param micros		Epoch microseconds.
+     * @return the timestamp, or null for NO_TIME.
+     */
+    public static String formatUtc(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(32);
+        appendDateTime(text, Math.floorDiv(micros, MICROS_PER_SECOND), ' ');
+        text.append('.');
+        appendPadded(text, (int) Math.floorMod(micros, MICROS_PER_SECOND), 6);
+        return text.append("+00:00").toString();
+    }
+
+    /**
+     * Appends "yyyy-MM-dd", the separator and "HH:mm:ss" of local epoch seconds.
+     */
+    static void appendDateTime(StringBuilder text, long localSeconds, char separator) {
+        long epochDay = Math.floorDiv(localSeconds, SECONDS_PER_DAY);
+        int secondOfDay = Math.floorMod(localSeconds, SECONDS_PER_DAY);
+        int[] date = civilFromDays(epochDay);
+        appendPadded(text, date[0], 4);
+        text.append('-');
+        appendPadded(text, date[1], 2);
+        text.append('-');
+        appendPadded(text, date[2], 2);
+        text.append(separator);
+        appendPadded(text, secondOfDay / 3600, 2);
+        text.append(':');
+        appendPadded(text, secondOfDay / 60 % 60, 2);
+        text.append(':');
+        appendPadded(text, secondOfDay % 60, 2);
+    }
+
+    static void appendPadded(StringBuilder text, int value, int width) {
+        for (int limit = 10, digits = 1; digits < width; digits++, limit *= 10) {
+            if (value < limit) {
+                text.append('0');
+            }
+        }
+        text.append(value);
+    }
+
+    /**
+     * Returns year, month and day of an epoch day (proleptic Gregorian calendar).
+     */
+    static int[] civilFromDays(long epochDay) {
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return new int[] {year, month, day};
+    }
+
+    /**
+     * Returns the epoch day of a date (proleptic Gregorian calendar).
+     */
+    static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    /**
+     * Parses "yyyy-MM-ddTHH:mm:ss[.f...](Z|+HH:MM|-HH:MM)", returning NO_TIME for anything else.
+     */
+    private static long parseFixedLayout(CharSequence text) {
+        int length = text.length();
+        if (length < 20
+                || !isDigits(text, 0, 4) || text.charAt(4) != '-' || !isDigits(text, 5, 7) || text.charAt(7) != '-'
+                || !isDigits(text, 8, 10) || text.charAt(10) != 'T'
+                || !isDigits(text, 11, 13) || text.charAt(13) != ':' || !isDigits(text, 14, 16) || text.charAt(16) != ':'
+                || !isDigits(text, 17, 19)) {
+            return NO_TIME;
+        }
+        int year = number(text, 0, 4);
+        int month = number(text, 5, 7);
+        int day = number(text, 8, 10);
+        int hour = number(text, 11, 13);
+        int minute = number(text, 14, 16);
+        int second = number(text, 17, 19);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month) || hour > 23 || minute > 59 || second > 59) {
+            return NO_TIME;
+        }
+
+        int at = 19;
+        long fraction = 0;
+        if (text.charAt(at) == '.') {
+            int digits = 0;
+            for (at++; at < length && Character.isDigit(text.charAt(at)); at++, digits++) {
+                if (digits < 6) {
+                    fraction = fraction * 10 + (text.charAt(at) - '0');
+                }
+            }
+            if (digits == 0) {
+                return NO_TIME;
+            }
+            for (; digits < 6; digits++) {
+                fraction *= 10;
+            }
+        }
+
+        int offsetSeconds;
+        if (at == length - 1 && text.charAt(at) == 'Z') {
+            offsetSeconds = 0;
+        } else if (at == length - 6 && (text.charAt(at) == '+' || text.charAt(at) == '-')
+                && isDigits(text, at + 1, at + 3) && text.charAt(at + 3) == ':' && isDigits(text, at + 4, at + 6)) {
+            offsetSeconds = offsetSecondsOf(text);
+        } else {
+            return NO_TIME;
+        }
+
+        long epochSecond = daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return epochSecond * MICROS_PER_SECOND + fraction;
+    }
+
+    /**
+     * Rejects texts that cannot be timestamps ("yyyy-MM-ddTHH:mm" at least) without parsing them.
+     */
+    private static boolean looksLikeDate(CharSequence text) {
+        return text != null && text.length() >= 16 && isDigits(text, 0, 4) && text.charAt(4) == '-';
+    }
+
+    private static long parseFallback(CharSequence text) {
+        try {
+            OffsetDateTime parsed = OffsetDateTime.parse(text);
+            return parsed.toEpochSecond() * MICROS_PER_SECOND + parsed.getNano() / 1_000;
+        } catch (DateTimeParseException ex) {
+            return NO_TIME;
+        }
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isDigits(CharSequence text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int number(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Writes a timestamp property as the text it holds, or as an epoch time in CBOR.
+     */
+    public static final class Serializer extends StdSerializer<String> {
+
+        public Serializer() {
+            super(String.class);
+        }
+
+        @Override
+        public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (gen instanceof CBORGenerator cbor) {
+                long micros = parseMicros(value);
+                if (micros != NO_TIME) {
+                    // The seconds as a double, exact to the microsecond
+                    cbor.writeTag(TAG_EPOCH_TIME);
+                    cbor.writeNumber(micros / (double) MICROS_PER_SECOND);
+                    return;
+                }
+            }
+            gen.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package droneApi.Geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class MicroDegreesTest {
+
+    @Test
+    void parseRoundsLikeStringFormat() {
+        String[] texts = {"8.05", "51.05", "-51.0500001", "0.0000005", "0.0000004", "-0.0000005", "12.3456785",
+                "12.34567849", "179.9999995", "-179.9999995", "+8.05", "8", "-8", ".5", "8.", "0.000001", "-0.000001"};
+        for (String text : texts) {
+            String expected = String.format(Locale.ROOT, "%.6f", Double.parseDouble(text));
+            assertEquals(expected, MicroDegrees.format(MicroDegrees.parse(text)), text);
+        }
+    }
+
+    @Test
+    void smallestNegativeValueKeepsItsSign() {
+        assertEquals(-1, MicroDegrees.parse("-0.000001"));
+        assertEquals("-0.000001", MicroDegrees.format(-1));
+        assertEquals("0.000000", MicroDegrees.format(MicroDegrees.parse("-0.0000001")));	// No negative zero
+    }
+
+    @Test
+    void writeMatchesStringFormat() {
+        Random random = new Random(42);
+        char[] buffer = new char[12];
+        for (int i = 0; i < 100_000; i++) {
+            int microDegrees = random.nextInt(360_000_001) - 180_000_000;
+            String expected = String.format(Locale.ROOT, "%.6f", microDegrees / 1e6);
+
+            assertEquals(expected, new String(buffer, 0, MicroDegrees.write(microDegrees, buffer)));
+            assertEquals(microDegrees, MicroDegrees.parse(expected), expected);
+        }
+    }
+
+    @Test
+    void extremesFitTheBuffer() {
+        char[] buffer = new char[12];
+        assertEquals("2147.483647", new String(buffer, 0, MicroDegrees.write(Integer.MAX_VALUE, buffer)));
+        assertEquals("-2147.483647", new String(buffer, 0, MicroDegrees.write(-Integer.MAX_VALUE, buffer)));
+        assertEquals(Integer.MAX_VALUE, MicroDegrees.parse("2147.483647"));
+        assertEquals(-Integer.MAX_VALUE, MicroDegrees.parse("-2147.483647"));
+    }
+
+    @Test
+    void valuesOutOfRangeFallBackToNone() {
+        String[] texts = {"2147.4836475", "-2147.483648", "12345", "99999999999", "1e10"};
+        for (String text : texts) {
+            assertEquals(MicroDegrees.NONE, MicroDegrees.parse(text), text);
+        }
+    }
+
+    @Test
+    void otherNumberLayoutsFallBackToDouble() {
+        assertEquals(1_000_000_000, MicroDegrees.parse("1e3"));
+        assertEquals(8_050_000, MicroDegrees.parse("8.05E0"));
+    }
+
+    @Test
+    void textThatIsNotANumberIsNone() {
+        String[] texts = {"", "-", ".", "NaN", "abc", "8.05.1", "8,05"};
+        for (String text : texts) {
+            assertEquals(MicroDegrees.NONE, MicroDegrees.parse(text), text);
+        }
+        assertEquals(MicroDegrees.NONE, MicroDegrees.parse(null));
+        assertNull(MicroDegrees.format(MicroDegrees.NONE));
+    }
+}
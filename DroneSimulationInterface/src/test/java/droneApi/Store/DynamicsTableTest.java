@@ -0,0 +1,75 @@
+package droneApi.Store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import droneApi.Entities.DroneDynamics;
+import droneApi.Geo.MicroDegrees;
+
+class DynamicsTableTest {
+
+    private static final String DRONE = "http://dronesim.facets-labs.com/api/drones/71/";
+    private static final String TIME = "2024-12-11T07:53:20.112000+01:00";
+
+    @Test
+    void attitudesRenderAsTheUpstreamWroteThem() {
+        String[] attitudes = {"-7.00", "4.00", "-54.00", "123.456789", "12.5", "0", "0.000000001", "-0.5",
+                "2147483647", "-2147483647.0", "12"};
+        DynamicsTable table = new DynamicsTable();
+        append(table, attitudes);
+
+        List<DroneDynamics> page = table.page(attitudes.length, 0);
+        for (int i = 0; i < attitudes.length; i++) {
+            assertEquals(attitudes[i], page.get(i).getAlignRoll());
+        }
+    }
+
+    @Test
+    void servedRowsDoNotChangeWhenLaterRowsHaveMoreDecimals() {
+        DynamicsTable table = new DynamicsTable();
+        append(table, "12.5");
+        String before = table.page(1, 0).get(0).getAlignRoll();
+        append(table, "1.123456");
+
+        assertEquals("12.5", before);
+        assertEquals("12.5", table.page(1, 0).get(0).getAlignRoll());
+        assertEquals("1.123456", table.page(1, 1).get(0).getAlignRoll());
+    }
+
+    @Test
+    void textThatIsNotAPlainDecimalIsKeptVerbatim() {
+        String[] attitudes = {"-0.00", "+1.5", "007", "1e3", "12.", ".5", "", "-", "level", "2147483648",
+                "0.0000000001", "NaN"};
+        DynamicsTable table = new DynamicsTable();
+        append(table, attitudes);
+
+        List<DroneDynamics> page = table.page(attitudes.length, 0);
+        for (int i = 0; i < attitudes.length; i++) {
+            assertEquals(attitudes[i], page.get(i).getAlignRoll());
+        }
+    }
+
+    @Test
+    void missingAttitudesStayMissing() {
+        DynamicsTable table = new DynamicsTable();
+        append(table, (String) null);
+
+        assertEquals(null, table.page(1, 0).get(0).getAlignRoll());
+    }
+
+    private static void append(DynamicsTable table, String... rolls) {
+        List<DroneDynamics> records = new ArrayList<>();
+        int[] offsets = new int[rolls.length];
+        int first = table.nextOffset();
+        for (int i = 0; i < rolls.length; i++) {
+            records.add(new DroneDynamics(DRONE, TIME, 10, rolls[i], "4.00", "-54.00",
+                    MicroDegrees.parse("8.05"), MicroDegrees.parse("51.05"), 90, TIME, "ON"));
+            offsets[i] = first + i;
+        }
+        table.append(records, offsets, first + rolls.length);
+    }
+}
@@ -0,0 +1,98 @@
+package droneApi.Store;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import droneApi.Entities.Drone;
+import droneApi.Entities.DroneDynamics;
+import droneApi.Entities.DroneType;
+import droneApi.Geo.MicroDegrees;
+
+class FleetSnapshotCodecTest {
+
+    private static final String DRONE = "http://dronesim.facets-labs.com/api/drones/71/";
+    private static final String OTHER_DRONE = "http://dronesim.facets-labs.com/api/drones/72/";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void dynamicsAreRestoredAsTheUpstreamWroteThem() throws IOException {
+        List<DroneDynamics> records = List.of(
+                dynamics(DRONE, "2024-12-11T07:53:20.112000+01:00", "-7.00", "2024-12-11T07:53:21+01:00", "ON"),
+                dynamics(OTHER_DRONE, "2024-12-11T06:53:20.000001Z", "level", "1969-12-31T23:59:59.999999-05:30", "OFF"),
+                dynamics(DRONE, null, null, "not a time", "ON"));
+        DynamicsTable table = new DynamicsTable();
+        table.append(records, new int[] {0, 2, 5}, 7);
+
+        FleetSnapshot restored = roundTrip(table);
+
+        DynamicsTable dynamics = restored.getDynamics();
+        assertEquals(table.size(), dynamics.size());
+        assertArrayEquals(table.skippedOffsets(), dynamics.skippedOffsets());
+        assertEquals(table.nextOffset(), dynamics.nextOffset());
+        for (int row = 0; row < table.size(); row++) {
+            DroneDynamics expected = table.asList().get(row);
+            DroneDynamics actual = dynamics.asList().get(row);
+            assertEquals(expected.getDrone(), actual.getDrone());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getAlignRoll(), actual.getAlignRoll());
+            assertEquals(expected.getLongitude(), actual.getLongitude());
+            assertEquals(expected.getLastSeen(), actual.getLastSeen());
+            assertEquals(expected.getStatus(), actual.getStatus());
+        }
+        assertEquals("2024-12-11T07:53:20.112000+01:00", dynamics.asList().get(0).getTimestamp());
+        assertEquals("1969-12-31T23:59:59.999999-05:30", dynamics.asList().get(1).getLastSeen());
+    }
+
+    @Test
+    void dronesAndTypesAreRestored() throws IOException {
+        FleetSnapshot restored = roundTrip(new DynamicsTable());
+
+        assertEquals(1, restored.getDrones().size());
+        assertEquals("SN-1", restored.getDrones().get(0).getSerialNumber());
+        assertEquals(null, restored.getDroneTypes().get(0).getMaxCarriage());
+        assertEquals(2, restored.getItemCount());
+    }
+
+    @Test
+    void corruptDynamicsCountIsRejected() throws IOException {
+        Path file = directory.resolve("fleet.bin");
+        FleetSnapshotCodec.write(snapshot(new DynamicsTable()), file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        // Count field of the empty dynamics section: after header (24), drones (12 + 24), types (12 + 32) and syncedAt
+        ByteBuffer.wrap(bytes).putInt(24 + 36 + 44 + 8, Integer.MAX_VALUE / 8);
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> FleetSnapshotCodec.read(file));
+    }
+
+    private FleetSnapshot roundTrip(DynamicsTable table) throws IOException {
+        Path file = directory.resolve("fleet.bin");
+        FleetSnapshotCodec.write(snapshot(table), file);
+        return FleetSnapshotCodec.read(file);
+    }
+
+    private static FleetSnapshot snapshot(DynamicsTable table) {
+        return new FleetSnapshot(System.currentTimeMillis(),
+                List.of(new Drone(71, "http://dronesim.facets-labs.com/api/dronetypes/3/", "2024-12-01T10:00:00+01:00", "SN-1", 200, "ACT")), 1,
+                List.of(new DroneType(3, "Maker", "Model", 1000, 50, 4000, 300, null)), 1,
+                table.view(), 1);
+    }
+
+    private static DroneDynamics dynamics(String drone, String timestamp, String roll, String lastSeen, String status) {
+        return new DroneDynamics(drone, timestamp, 10, roll, "4.00", "-54.00",
+                MicroDegrees.parse("8.05"), MicroDegrees.parse("51.05"), 90, lastSeen, status);
+    }
+}
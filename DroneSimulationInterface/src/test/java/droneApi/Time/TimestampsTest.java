@@ -0,0 +1,145 @@
+package droneApi.Time;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimestampsTest {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+
+    @Test
+    void parseMatchesOffsetDateTime() {
+        String[] texts = {
+                "2024-12-10T16:13:53.640843+01:00",
+                "2024-12-10T16:13:53+01:00",
+                "2024-12-10T15:13:53.6Z",
+                "2024-02-29T23:59:59.999999-05:30",
+                "2000-02-29T00:00:00+14:00",
+                "1970-01-01T00:00:00Z",
+                "1970-01-01T00:59:59.999999+01:00",
+                "1969-12-31T23:59:59.999999Z",
+                "1969-12-31T23:59:59.5-00:30",
+                "1900-03-01T12:00:00.000001+09:45",
+                "1601-01-01T00:00:00-12:00",
+                "2400-02-29T12:34:56.789+00:00",
+        };
+        for (String text : texts) {
+            assertEquals(micros(OffsetDateTime.parse(text)), Timestamps.parseMicros(text), text);
+        }
+    }
+
+    @Test
+    void digitsBeyondMicrosecondsAreDroppedLikeOffsetDateTime() {
+        String[] texts = {
+                "2024-12-10T16:13:53.1234569+01:00",
+                "2024-12-10T16:13:53.123456999Z",
+                "1969-12-31T23:59:59.9999999Z",
+                "1969-12-31T23:59:59.0000005-01:00",
+        };
+        for (String text : texts) {
+            assertEquals(micros(OffsetDateTime.parse(text)), Timestamps.parseMicros(text), text);
+        }
+        assertEquals(Timestamps.parseMicros("2024-12-10T16:13:53.123456+01:00"),
+                Timestamps.parseMicros("2024-12-10T16:13:53.1234569+01:00"));
+    }
+
+    @Test
+    void invalidDatesAndOtherTextAreNoTime() {
+        String[] texts = {null, "", "ON", "2023-02-29T00:00:00Z", "1900-02-29T00:00:00Z", "2024-13-01T00:00:00Z",
+                "2024-12-10T24:00:00Z", "2024-12-10T16:13:53+1:00", "2024-12-10"};
+        for (String text : texts) {
+            assertEquals(Timestamps.NO_TIME, Timestamps.parseMicros(text), text);
+        }
+    }
+
+    @Test
+    void otherIsoLayoutsFallBackToOffsetDateTime() {
+        for (String text : new String[] {"2024-12-10T16:13+01:00", "2024-12-10T16:13:53.+01:00"}) {
+            assertEquals(micros(OffsetDateTime.parse(text)), Timestamps.parseMicros(text), text);
+        }
+    }
+
+    @Test
+    void offsetsAreReadWithTheirSign() {
+        assertEquals(3600, Timestamps.offsetSecondsOf("2024-12-10T16:13:53+01:00"));
+        assertEquals(-(5 * 3600 + 30 * 60), Timestamps.offsetSecondsOf("2024-12-10T16:13:53-05:30"));
+        assertEquals(14 * 3600, Timestamps.offsetSecondsOf("+14:00"));
+        assertEquals(0, Timestamps.offsetSecondsOf("2024-12-10T16:13:53Z"));
+        assertEquals(0, Timestamps.offsetSecondsOf(null));
+    }
+
+    @Test
+    void civilDaysMatchLocalDate() {
+        long first = LocalDate.of(1500, 1, 1).toEpochDay();
+        long last = LocalDate.of(2500, 12, 31).toEpochDay();
+        for (long day = first; day <= last; day++) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            assertArrayEquals(new int[] {date.getYear(), date.getMonthValue(), date.getDayOfMonth()},
+                    Timestamps.civilFromDays(day), date.toString());
+            assertEquals(day, Timestamps.daysFromCivil(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+        }
+    }
+
+    @Test
+    void leapDaysAreCivilDays() {
+        assertArrayEquals(new int[] {2024, 2, 29}, Timestamps.civilFromDays(LocalDate.of(2024, 2, 29).toEpochDay()));
+        assertArrayEquals(new int[] {2000, 2, 29}, Timestamps.civilFromDays(LocalDate.of(2000, 2, 29).toEpochDay()));
+        assertArrayEquals(new int[] {1900, 3, 1}, Timestamps.civilFromDays(LocalDate.of(1900, 2, 28).toEpochDay() + 1));
+        assertArrayEquals(new int[] {1969, 12, 31}, Timestamps.civilFromDays(-1));
+    }
+
+    @Test
+    void formatRoundTripsThroughOffsetDateTime() {
+        Random random = new Random(42);
+        long from = micros(OffsetDateTime.parse("1800-01-01T00:00:00Z"));
+        long to = micros(OffsetDateTime.parse("2200-01-01T00:00:00Z"));
+        String[] suffixes = {"Z", "+01:00", "-05:30", "+14:00", "-12:00", "+00:00"};
+        for (int i = 0; i < 20_000; i++) {
+            long micros = from + (long) (random.nextDouble() * (to - from));
+            if (i % 4 == 0) {
+                micros -= Math.floorMod(micros, 1_000_000L);	// Whole seconds are written without a fraction
+            }
+            String suffix = suffixes[i % suffixes.length];
+            int offsetSeconds = Timestamps.offsetSecondsOf(suffix);
+
+            String text = Timestamps.formatIso(micros, offsetSeconds, suffix);
+
+            assertEquals(expectedIso(micros, offsetSeconds, suffix), text);
+            assertEquals(micros, Timestamps.parseMicros(text), text);
+            assertEquals(micros, micros(OffsetDateTime.parse(text)), text);
+        }
+    }
+
+    @Test
+    void formatKeepsTheUpstreamLayout() {
+        long micros = Timestamps.parseMicros("2024-12-10T16:13:53.640843+01:00");
+        assertEquals("2024-12-10T16:13:53.640843+01:00", Timestamps.formatIso(micros, 3600, "+01:00"));
+        assertEquals("2024-12-10T15:13:53.640843Z", Timestamps.formatIso(micros, 0, "Z"));
+        assertEquals("2024-12-10T15:13:53.640843+00:00", Timestamps.formatUtc(micros).replace(' ', 'T'));
+        assertEquals("1969-12-31T23:59:59.999999Z", Timestamps.formatIso(-1, 0, "Z"));
+        assertEquals("1970-01-01 00:00:00.000000+00:00", Timestamps.formatUtc(0));
+        assertNull(Timestamps.formatIso(Timestamps.NO_TIME, 0, "Z"));
+        assertNull(Timestamps.formatUtc(Timestamps.NO_TIME));
+    }
+
+    private static long micros(OffsetDateTime time) {
+        return time.toEpochSecond() * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static String expectedIso(long micros, int offsetSeconds, String suffix) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000);
+        OffsetDateTime local = instant.atOffset(ZoneOffset.ofTotalSeconds(offsetSeconds));
+        String fraction = local.getNano() == 0 ? "" : String.format(".%06d", local.getNano() / 1_000);
+        return local.format(DATE_TIME) + fraction + suffix;
+    }
+}